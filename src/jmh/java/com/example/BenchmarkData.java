@@ -0,0 +1,111 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+
+/**
+ * Builds the benchmark inputs by scaling the bundled data up to a given number of rows.
+ * The rows of the bundled CSV files (and of the recorded universities payload) are repeated
+ * in order until the target size is reached, so the value distribution stays the same as in
+ * the real data at every size.
+ */
+final class BenchmarkData {
+
+    private static final String UNIVERSITIES_SAMPLE = "/universities-sample.json";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Writes a CSV file with the header of a bundled CSV file and the given number of data rows.
+     * @param bundledCsv The bundled CSV file in the project directory, e.g. "udemy.csv".
+     * @param rows The number of data rows to write.
+     * @return The temporary file, deleted when the JVM exits.
+     * @throws IOException if the bundled file cannot be read or the file cannot be written.
+     */
+    static Path scaledCsv(final String bundledCsv, final int rows) throws IOException {
+        final List<String> records = csvRecords(Paths.get(bundledCsv));
+        final Path file = Files.createTempFile("benchmark-", "-" + rows + ".csv");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(records.get(0)); // Header
+            for (int i = 0; i < rows; i++) {
+                writer.write(records.get(1 + i % (records.size() - 1)));
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Writes a universities API response with the given number of records.
+     * @param universities The number of university records to write.
+     * @return The temporary file, deleted when the JVM exits.
+     * @throws IOException if the file cannot be written.
+     */
+    static Path scaledUniversitiesPayload(final int universities) throws IOException {
+        final JSONArray sample = universitiesSample();
+        final Path file = Files.createTempFile("benchmark-universities-", "-" + universities + ".json");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write('[');
+            for (int i = 0; i < universities; i++) {
+                if (i > 0) {
+                    writer.write(", ");
+                }
+                writer.write(sample.getJSONObject(i % sample.length()).toString());
+            }
+            writer.write(']');
+        }
+        return file;
+    }
+
+    private static JSONArray universitiesSample() throws IOException {
+        try (InputStream input = BenchmarkData.class.getResourceAsStream(UNIVERSITIES_SAMPLE)) {
+            if (input == null) {
+                throw new IOException("Missing benchmark resource: " + UNIVERSITIES_SAMPLE);
+            }
+            return new JSONArray(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Splits a CSV file into records, keeping line breaks inside quoted fields, so that
+     * repeating a record never breaks a multi-line value apart.
+     */
+    private static List<String> csvRecords(final Path csvFile) throws IOException {
+        final List<String> records = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(csvFile), StandardCharsets.UTF_8))) {
+            final StringBuilder record = new StringBuilder();
+            boolean quoted = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                record.append(line).append('\n');
+                for (int i = 0; i < line.length(); i++) {
+                    if (line.charAt(i) == '"') {
+                        quoted = !quoted;
+                    }
+                }
+                if (!quoted) {
+                    if (record.length() > 1) { // Skip blank lines
+                        records.add(record.toString());
+                    }
+                    record.setLength(0);
+                }
+            }
+        }
+        if (records.size() < 2) {
+            throw new IOException("No data rows in " + csvFile);
+        }
+        return records;
+    }
+}
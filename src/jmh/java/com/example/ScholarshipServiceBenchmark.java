@@ -0,0 +1,72 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the scholarship search path: parsing the CSV file, filtering by degree and
+ * location, and sorting by amount, over the bundled scholarships scaled to each size.
+ * Run with "-prof gc" to also report the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ScholarshipServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private Path csvFile;
+    private MainClient.ScholarshipService service;
+    private List<MainClient.Scholarship> scholarships;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = BenchmarkData.scaledCsv("Universities_Schoolarships_All_Around_the_World.csv", rows);
+        service = new MainClient.ScholarshipService(csvFile);
+        scholarships = service.readScholarshipsFromCSV();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public List<MainClient.Scholarship> readScholarshipsFromCSV() {
+        return service.readScholarshipsFromCSV();
+    }
+
+    @Benchmark
+    public List<MainClient.Scholarship> filterScholarships() {
+        return service.filterScholarships(scholarships, "master", "united");
+    }
+
+    @Benchmark
+    public List<MainClient.Scholarship> sortScholarshipsByAmount() {
+        // Sorting is in place, so each invocation sorts a fresh copy of the unsorted list
+        final List<MainClient.Scholarship> copy = new ArrayList<>(scholarships);
+        service.sortScholarshipsByAmount(copy);
+        return copy;
+    }
+}
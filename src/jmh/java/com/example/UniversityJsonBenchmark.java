@@ -0,0 +1,62 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the university search path after the HTTP call: streaming the API response
+ * into universities and formatting them as HTML. The response is a recorded sample of the
+ * universities API scaled to each size and read from a file, so no network is involved.
+ * Run with "-prof gc" to also report the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class UniversityJsonBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private Path payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        payload = BenchmarkData.scaledUniversitiesPayload(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(payload);
+    }
+
+    @Benchmark
+    public String parseAndFormat() throws IOException {
+        final List<University> universities = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(payload, StandardCharsets.UTF_8)) {
+            UniversityJsonStream.parse(reader, universities::add);
+        }
+        return MainClient.UniversityService.toHTML("Switzerland", universities);
+    }
+}
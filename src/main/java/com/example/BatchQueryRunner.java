@@ -0,0 +1,348 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import org.json.JSONStringer;
+import com.example.MainClient.ScholarshipService;
+import com.example.MainClient.UdemyCourseService;
+import com.example.MainClient.UniversityService;
+
+/**
+ * BatchQueryRunner answers a file of searches without the GUI, e.g. to precompute the
+ * recommendation lists of thousands of students overnight. Each line of the query file is a
+ * CSV record "id,type,arguments...":
+ * <pre>
+ *     # Lines starting with # are comments
+ *     s1,scholarships,Master,united-kingdom    (degree, location; "all" or empty for any)
+ *     c1,courses,Web Development,Beginner Level (subject, level; "all" or empty for any)
+ *     u1,universities,Germany                  (country)
+ * </pre>
+ * The queries run concurrently over one shared set of services, so the scholarship catalog and
+ * course store are loaded once, not per query. The query file is read as the queries run, and
+ * results are written in query order as soon as they are ready, so memory use does not grow
+ * with the number of queries. A failing query produces an error record and does not stop the
+ * batch.
+ */
+final class BatchQueryRunner {
+
+    /**
+     * Output formats.
+     */
+    enum Format {
+        /** One JSON object per query: id, type, query arguments, and results or error. */
+        JSONL,
+        /** One row per result: query_id, type, rank, name, up to four details, error. */
+        CSV
+    }
+
+    private static final int DEFAULT_LIMIT = UdemyCourseQuery.DEFAULT_LIMIT;
+    private static final int QUEUED_PER_THREAD = 4; // Queries read ahead of the oldest unwritten one, per thread
+    private static final int CSV_DETAILS = 4;
+    private static final String[] CSV_HEADER = {"query_id", "type", "rank", "name", "detail_1", "detail_2", "detail_3",
+            "detail_4", "error"};
+
+    private final ScholarshipService scholarshipService;
+    private final UdemyCourseService udemyCourseService;
+    private final UniversityService universityService;
+    private final int threads;
+    private final int limit;
+
+    /**
+     * One line of the query file.
+     */
+    static final class Query {
+        private final String id;
+        private final String type;
+        private final String[] arguments;
+
+        Query(final String id, final String type, final String... arguments) {
+            this.id = id;
+            this.type = type.trim().toLowerCase(Locale.ROOT);
+            this.arguments = arguments;
+        }
+
+        String getId() { return id; }
+        String getType() { return type; }
+
+        /**
+         * @param index The argument position.
+         * @return The trimmed argument, or null if it is missing, empty or "all".
+         */
+        String argument(final int index) {
+            if (index >= arguments.length) {
+                return null;
+            }
+            final String value = arguments[index].trim();
+            return value.isEmpty() || value.equalsIgnoreCase("all") ? null : value;
+        }
+    }
+
+    /**
+     * The outcome of one query: its results, or the reason it failed.
+     */
+    static final class Result {
+        private final Query query;
+        private final SearchResults results;
+        private final String error;
+
+        Result(final Query query, final SearchResults results, final String error) {
+            this.query = query;
+            this.results = results;
+            this.error = error;
+        }
+
+        Query getQuery() { return query; }
+        SearchResults getResults() { return results; }
+        String getError() { return error; }
+    }
+
+    /**
+     * Constructor for BatchQueryRunner.
+     * @param scholarshipService Answers scholarship queries.
+     * @param udemyCourseService Answers course queries.
+     * @param universityService Answers university queries.
+     * @param threads The number of queries run at the same time.
+     * @param limit The maximum number of results per query.
+     */
+    BatchQueryRunner(final ScholarshipService scholarshipService, final UdemyCourseService udemyCourseService,
+                     final UniversityService universityService, final int threads, final int limit) {
+        this.scholarshipService = scholarshipService;
+        this.udemyCourseService = udemyCourseService;
+        this.universityService = universityService;
+        this.threads = Math.max(1, threads);
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * Runs every query of a query file and writes the results in query order.
+     * @param queries The query file contents.
+     * @param output Receives the results. It is flushed but not closed.
+     * @param format The output format.
+     * @return The number of queries that failed.
+     * @throws IOException if the query file cannot be read or the output cannot be written.
+     */
+    int run(final Reader queries, final Writer output, final Format format) throws IOException {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "batch-query-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+        final CSVWriter csvWriter = new CSVWriter(output);
+        if (format == Format.CSV) {
+            csvWriter.writeNext(CSV_HEADER, false);
+        }
+        int failed = 0;
+        try (final CSVReader reader = new CSVReader(queries)) {
+            final Deque<Future<Result>> pending = new ArrayDeque<>();
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                if (record.length == 0 || record[0].trim().isEmpty() || record[0].trim().startsWith("#")) {
+                    continue; // Blank line or comment
+                }
+                final Query query = new Query(record[0].trim(), record.length > 1 ? record[1] : "",
+                        Arrays.copyOfRange(record, Math.min(2, record.length), record.length));
+                pending.add(executor.submit(() -> execute(query)));
+                if (pending.size() >= threads * QUEUED_PER_THREAD) {
+                    failed += write(await(pending.poll()), csvWriter, output, format);
+                }
+            }
+            while (!pending.isEmpty()) {
+                failed += write(await(pending.poll()), csvWriter, output, format);
+            }
+        } catch (final CsvValidationException e) {
+            throw new IOException("Malformed query file: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+        csvWriter.flush();
+        if (csvWriter.checkError()) {
+            throw new IOException("Failed to write the query results");
+        }
+        return failed;
+    }
+
+    /**
+     * Runs one query, turning any failure into an error result.
+     * @param query The query.
+     * @return The results or the error.
+     */
+    Result execute(final Query query) {
+        try {
+            switch (query.getType()) {
+                case "scholarships": {
+                    final List<MainClient.Scholarship> scholarships = scholarshipService.searchScholarships(
+                            orAll(query.argument(0)), orAll(query.argument(1)));
+                    return new Result(query, SearchResults.ofScholarships(scholarships.subList(0, Math.min(limit, scholarships.size()))), null);
+                }
+                case "courses": {
+                    final UdemyCourseQuery courseQuery = new UdemyCourseQuery().subject(query.argument(0))
+                            .level(query.argument(1)).limit(limit);
+                    return new Result(query, SearchResults.ofCourses(udemyCourseService.getStore(),
+                            udemyCourseService.queryCourses(courseQuery)), null);
+                }
+                case "universities": {
+                    if (query.argument(0) == null) {
+                        return new Result(query, null, "A country is required");
+                    }
+                    final List<University> universities = universityService.fetchUniversities(query.argument(0));
+                    return new Result(query, SearchResults.ofUniversities(universities.subList(0, Math.min(limit, universities.size()))), null);
+                }
+                default:
+                    return new Result(query, null, "Unknown query type: " + query.getType());
+            }
+        } catch (final Exception e) {
+            return new Result(query, null, e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+    }
+
+    private static String orAll(final String argument) {
+        return argument == null ? "all" : argument;
+    }
+
+    private static Result await(final Future<Result> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running queries");
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Query failed unexpectedly", e.getCause()); // execute catches everything
+        }
+    }
+
+    /**
+     * Writes the record(s) of one query result.
+     * @return 1 if the query failed, otherwise 0.
+     */
+    private static int write(final Result result, final CSVWriter csvWriter, final Writer output, final Format format) throws IOException {
+        final Query query = result.getQuery();
+        final SearchResults results = result.getResults();
+        if (format == Format.JSONL) {
+            final JSONStringer json = new JSONStringer();
+            json.object().key("id").value(query.getId()).key("type").value(query.getType()).key("query").array();
+            for (final String argument : query.arguments) {
+                json.value(argument.trim());
+            }
+            json.endArray();
+            if (results == null) {
+                json.key("error").value(result.getError());
+            } else {
+                final String[] columns = results.columns();
+                json.key("results").array();
+                for (int i = 0; i < results.size(); i++) {
+                    final String[] row = results.row(i);
+                    json.object();
+                    for (int column = 0; column < columns.length; column++) {
+                        json.key(columns[column]).value(row[column]);
+                    }
+                    json.endObject();
+                }
+                json.endArray();
+            }
+            output.write(json.endObject().toString());
+            output.write('\n');
+        } else if (results == null) {
+            csvWriter.writeNext(new String[]{query.getId(), query.getType(), "", "", "", "", "", "", result.getError()}, false);
+        } else {
+            for (int i = 0; i < results.size(); i++) {
+                final String[] row = results.row(i);
+                final String[] cells = new String[CSV_HEADER.length];
+                Arrays.fill(cells, "");
+                cells[0] = query.getId();
+                cells[1] = query.getType();
+                cells[2] = String.valueOf(i + 1);
+                System.arraycopy(row, 0, cells, 3, Math.min(row.length, 1 + CSV_DETAILS)); // Name, then details
+                csvWriter.writeNext(cells, false);
+            }
+        }
+        return results == null ? 1 : 0;
+    }
+
+    /**
+     * Runs a query file from the command line, e.g.
+     * {@code BatchQueryRunner --format csv --output results.csv --threads 8 queries.csv}.
+     * Data files are read from the working directory, like the GUI does.
+     * @param args Options --format (jsonl or csv, default jsonl), --output (default standard
+     *             output), --threads (default the number of processors), --limit (results per
+     *             query, default 50), then the query file, or "-" for standard input.
+     *             Exits with status 1 if any query failed.
+     */
+    public static void main(final String[] args) throws IOException {
+        Format format = Format.JSONL;
+        Path outputFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int limit = DEFAULT_LIMIT;
+        String queryFile = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--format":
+                        format = Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+                    case "--output":
+                        outputFile = Paths.get(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--limit":
+                        limit = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        queryFile = args[i];
+                        break;
+                }
+            }
+        } catch (final ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            queryFile = null; // Missing or invalid option value
+        }
+        if (queryFile == null) {
+            System.err.println("Usage: BatchQueryRunner [--format jsonl|csv] [--output file] [--threads n] [--limit n] <query file or ->");
+            System.exit(2);
+        }
+
+        final UniversityService universityService = new UniversityService();
+        try {
+            universityService.loadSnapshot(); // Answer from the offline copy instead of the API
+        } catch (final NoSuchFileException e) {
+            // No offline copy yet: university queries go to the API
+        }
+        final BatchQueryRunner runner = new BatchQueryRunner(new ScholarshipService(), new UdemyCourseService(),
+                universityService, threads, limit);
+        final long start = System.nanoTime();
+        final int failed;
+        try (final Reader queries = queryFile.equals("-") ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Paths.get(queryFile), StandardCharsets.UTF_8);
+             final Writer output = outputFile == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            failed = runner.run(queries, output, format);
+        }
+        System.err.println("Finished in " + (System.nanoTime() - start) / 1_000_000 + " ms, " + failed + " queries failed");
+        System.exit(failed == 0 ? 0 : 1); // Also stops idle HTTP client threads from keeping the JVM alive
+    }
+}
@@ -0,0 +1,503 @@
+package com.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * CourseAnalyticsStore is an immutable, column-oriented copy of the HarvardX/MITx course
+ * statistics (appendix.csv), built for grouped aggregates. The grouping columns are
+ * dictionary-encoded into one byte per course and the measures are primitive arrays.
+ * A group-by maps every course to a dense group number and accumulates its measures into
+ * primitive arrays indexed by group; large stores are split into chunks that are aggregated
+ * in parallel and then merged, so no objects are allocated per course.
+ * The store is loaded once with a real CSV parser and is safe to share between threads.
+ */
+final class CourseAnalyticsStore {
+
+    // Upper bounds of the median-hours bands; courses above the last bound fall in the last band
+    private static final float[] HOURS_BAND_LIMITS = {10f, 25f, 50f, 100f};
+    private static final String[] HOURS_BAND_LABELS = {"Under 10 h", "10-25 h", "25-50 h", "50-100 h", "100 h or more"};
+    // Below this many courses a group-by runs on the calling thread
+    private static final int MIN_PARALLEL_ROWS = 1 << 16;
+    private static final int CHUNK_ROWS = 1 << 15;
+    private static final DateTimeFormatter LAUNCH_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy", Locale.ROOT);
+
+    /**
+     * A column courses can be grouped by.
+     */
+    enum Dimension {
+        INSTITUTION("Institution"),
+        SUBJECT("Subject"),
+        LAUNCH_YEAR("Launch Year"),
+        HOURS_BAND("Median Hours for Certification");
+
+        private final String label;
+
+        Dimension(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final int size;
+    private final byte[] institutionCodes;
+    private final String[] institutions; // Dictionary for institutionCodes
+    private final byte[] subjectCodes;
+    private final String[] subjects; // Dictionary for subjectCodes
+    private final short[] launchYears;
+    private final int firstLaunchYear;
+    private final int lastLaunchYear;
+    private final int[] participants;
+    private final int[] certified;
+    private final float[] medianHours; // Median hours for certification, 0 if nobody certified
+    private final byte[] hoursBands; // Precomputed band of medianHours
+
+    private CourseAnalyticsStore(final Builder builder) {
+        this.size = builder.size;
+        this.institutionCodes = Arrays.copyOf(builder.institutionCodes, size);
+        this.institutions = builder.institutions.toArray(new String[0]);
+        this.subjectCodes = Arrays.copyOf(builder.subjectCodes, size);
+        this.subjects = builder.subjects.toArray(new String[0]);
+        this.launchYears = Arrays.copyOf(builder.launchYears, size);
+        this.participants = Arrays.copyOf(builder.participants, size);
+        this.certified = Arrays.copyOf(builder.certified, size);
+        this.medianHours = Arrays.copyOf(builder.medianHours, size);
+        this.hoursBands = new byte[size];
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (int row = 0; row < size; row++) {
+            first = Math.min(first, launchYears[row]);
+            last = Math.max(last, launchYears[row]);
+            hoursBands[row] = hoursBand(medianHours[row]);
+        }
+        this.firstLaunchYear = size == 0 ? 0 : first;
+        this.lastLaunchYear = size == 0 ? -1 : last;
+    }
+
+    /**
+     * Loads the store from a CSV file on disk.
+     * @param csvFile The course statistics CSV file.
+     * @return The loaded store.
+     * @throws IOException if the file cannot be read.
+     * @throws CsvException if the CSV is malformed.
+     */
+    static CourseAnalyticsStore load(final Path csvFile) throws IOException, CsvException {
+        try (final Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses course statistics rows into a new store. Columns are located by their header names.
+     * @param reader The CSV source. It is not closed by this method.
+     * @return The parsed store.
+     * @throws IOException if reading fails.
+     * @throws CsvException if the CSV is malformed or required columns are missing.
+     */
+    static CourseAnalyticsStore parse(final Reader reader) throws IOException, CsvException {
+        final CSVReader csvReader = new CSVReader(reader);
+        final String[] header = csvReader.readNext();
+        if (header == null) {
+            return new Builder().build();
+        }
+        final Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        final int institution = column(columns, "institution");
+        final int launchDate = column(columns, "launch date");
+        final int subject = column(columns, "course subject");
+        final int participantCount = column(columns, "participants (course content accessed)");
+        final int certifiedCount = column(columns, "certified");
+        final int hours = column(columns, "median hours for certification");
+
+        final Builder builder = new Builder();
+        String[] record;
+        while ((record = csvReader.readNext()) != null) {
+            if (record.length < header.length) {
+                System.err.println("Skipping malformed course statistics record (too few columns): " + String.join(",", record));
+                continue;
+            }
+            try {
+                builder.add(record[institution], record[subject], LocalDate.parse(record[launchDate].trim(), LAUNCH_DATE).getYear(),
+                        parseInt(record[participantCount]), parseInt(record[certifiedCount]), parseFloat(record[hours]));
+            } catch (final DateTimeParseException e) {
+                System.err.println("Skipping course statistics record with invalid launch date: " + record[launchDate]);
+            }
+        }
+        return builder.build();
+    }
+
+    private static int column(final Map<String, Integer> columns, final String name) throws CsvException {
+        final Integer index = columns.get(name);
+        if (index == null) {
+            throw new CsvException("Course statistics CSV is missing column: " + name);
+        }
+        return index;
+    }
+
+    private static int parseInt(final String value) {
+        try {
+            return (int) Double.parseDouble(value.trim());
+        } catch (final NumberFormatException e) {
+            return 0; // e.g. "---"
+        }
+    }
+
+    private static float parseFloat(final String value) {
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (final NumberFormatException e) {
+            return 0f;
+        }
+    }
+
+    private static byte hoursBand(final float hours) {
+        int band = 0;
+        while (band < HOURS_BAND_LIMITS.length && hours >= HOURS_BAND_LIMITS[band]) {
+            band++;
+        }
+        return (byte) band;
+    }
+
+    /**
+     * @return The number of courses in the store.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Aggregates the courses grouped by the given dimensions.
+     * @param dimensions The grouping columns, outermost first; none for a single total.
+     * @return One group per combination of values that has courses, in dictionary and year order.
+     */
+    List<Group> groupBy(final Dimension... dimensions) {
+        final int[] cardinalities = new int[dimensions.length];
+        int groupCount = 1;
+        for (int i = 0; i < dimensions.length; i++) {
+            cardinalities[i] = Math.max(cardinality(dimensions[i]), 1);
+            groupCount *= cardinalities[i];
+        }
+        final int groups = groupCount;
+        final Accumulator totals;
+        if (size < MIN_PARALLEL_ROWS) {
+            totals = accumulate(dimensions, cardinalities, groups, 0, size);
+        } else {
+            // Each chunk fills its own accumulator, so workers never share mutable state
+            totals = IntStream.range(0, (size + CHUNK_ROWS - 1) / CHUNK_ROWS)
+                    .parallel()
+                    .mapToObj(chunk -> accumulate(dimensions, cardinalities, groups, chunk * CHUNK_ROWS,
+                            Math.min(size, (chunk + 1) * CHUNK_ROWS)))
+                    .reduce(Accumulator::merge)
+                    .orElseGet(() -> new Accumulator(groups));
+        }
+
+        final List<Group> result = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (totals.courses[group] > 0) {
+                result.add(totals.toGroup(group, labels(dimensions, cardinalities, group)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Accumulates the measures of rows [from, to) by group. Group numbers are computed one
+     * dimension at a time over the whole range, so each pass is a tight loop over one column.
+     */
+    private Accumulator accumulate(final Dimension[] dimensions, final int[] cardinalities, final int groups,
+                                   final int from, final int to) {
+        final Accumulator accumulator = new Accumulator(groups);
+        final int[] groupOf = new int[Math.min(to - from, CHUNK_ROWS)];
+        for (int start = from; start < to; start += CHUNK_ROWS) {
+            final int end = Math.min(to, start + CHUNK_ROWS);
+            Arrays.fill(groupOf, 0);
+            for (int i = 0; i < dimensions.length; i++) {
+                addCodes(dimensions[i], cardinalities[i], groupOf, start, end);
+            }
+            for (int row = start; row < end; row++) {
+                accumulator.add(groupOf[row - start], participants[row], certified[row], medianHours[row]);
+            }
+        }
+        return accumulator;
+    }
+
+    // groupOf[row - start] = groupOf[row - start] * cardinality + code of the row
+    private void addCodes(final Dimension dimension, final int cardinality, final int[] groupOf, final int start, final int end) {
+        switch (dimension) {
+            case INSTITUTION:
+                for (int row = start; row < end; row++) {
+                    groupOf[row - start] = groupOf[row - start] * cardinality + (institutionCodes[row] & 0xFF);
+                }
+                break;
+            case SUBJECT:
+                for (int row = start; row < end; row++) {
+                    groupOf[row - start] = groupOf[row - start] * cardinality + (subjectCodes[row] & 0xFF);
+                }
+                break;
+            case LAUNCH_YEAR:
+                for (int row = start; row < end; row++) {
+                    groupOf[row - start] = groupOf[row - start] * cardinality + launchYears[row] - firstLaunchYear;
+                }
+                break;
+            case HOURS_BAND:
+            default:
+                for (int row = start; row < end; row++) {
+                    groupOf[row - start] = groupOf[row - start] * cardinality + hoursBands[row];
+                }
+                break;
+        }
+    }
+
+    private int cardinality(final Dimension dimension) {
+        switch (dimension) {
+            case INSTITUTION:
+                return institutions.length;
+            case SUBJECT:
+                return subjects.length;
+            case LAUNCH_YEAR:
+                return lastLaunchYear - firstLaunchYear + 1;
+            case HOURS_BAND:
+            default:
+                return HOURS_BAND_LABELS.length;
+        }
+    }
+
+    private String label(final Dimension dimension, final int code) {
+        switch (dimension) {
+            case INSTITUTION:
+                return institutions[code];
+            case SUBJECT:
+                return subjects[code];
+            case LAUNCH_YEAR:
+                return String.valueOf(firstLaunchYear + code);
+            case HOURS_BAND:
+            default:
+                return HOURS_BAND_LABELS[code];
+        }
+    }
+
+    // Decodes a group number back into one label per dimension
+    private String[] labels(final Dimension[] dimensions, final int[] cardinalities, final int group) {
+        final String[] labels = new String[dimensions.length];
+        int remainder = group;
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            labels[i] = label(dimensions[i], remainder % cardinalities[i]);
+            remainder /= cardinalities[i];
+        }
+        return labels;
+    }
+
+    // Per-row accessors. Codes are returned as unsigned values.
+    String institution(final int row) { return institutions[institutionCodes[row] & 0xFF]; }
+    String subject(final int row) { return subjects[subjectCodes[row] & 0xFF]; }
+    int launchYear(final int row) { return launchYears[row]; }
+    int participants(final int row) { return participants[row]; }
+    int certified(final int row) { return certified[row]; }
+    float medianHours(final int row) { return medianHours[row]; }
+
+    /**
+     * Aggregated measures of one group of courses.
+     */
+    static final class Group {
+        private final String[] labels;
+        private final int courses;
+        private final long participants;
+        private final long certified;
+        private final double meanMedianHours;
+        private final double hoursCertificationCorrelation;
+
+        Group(final String[] labels, final int courses, final long participants, final long certified,
+              final double meanMedianHours, final double hoursCertificationCorrelation) {
+            this.labels = labels;
+            this.courses = courses;
+            this.participants = participants;
+            this.certified = certified;
+            this.meanMedianHours = meanMedianHours;
+            this.hoursCertificationCorrelation = hoursCertificationCorrelation;
+        }
+
+        /**
+         * @return The value of each grouping dimension, in the order they were given.
+         */
+        String[] getLabels() { return labels.clone(); }
+        int getCourses() { return courses; }
+        long getParticipants() { return participants; }
+        long getCertified() { return certified; }
+
+        /**
+         * @return Certified participants as a percentage of all participants.
+         */
+        double getCertificationRate() {
+            return participants == 0 ? 0.0 : 100.0 * certified / participants;
+        }
+
+        /**
+         * @return The mean of the courses' median hours for certification, over courses that certified anyone.
+         */
+        double getMeanMedianHours() { return meanMedianHours; }
+
+        /**
+         * @return Pearson correlation between a course's median hours and its certification rate,
+         *         or NaN with fewer than two such courses or no variation.
+         */
+        double getHoursCertificationCorrelation() { return hoursCertificationCorrelation; }
+    }
+
+    /**
+     * Sums of the measures per group. Chunks fill separate accumulators that are merged afterwards.
+     */
+    private static final class Accumulator {
+        private final int[] courses;
+        private final long[] participants;
+        private final long[] certified;
+        // Moments over courses with a median time, x = median hours, y = certification rate in %
+        private final int[] timed;
+        private final double[] sumX;
+        private final double[] sumY;
+        private final double[] sumXX;
+        private final double[] sumYY;
+        private final double[] sumXY;
+
+        Accumulator(final int groups) {
+            courses = new int[groups];
+            participants = new long[groups];
+            certified = new long[groups];
+            timed = new int[groups];
+            sumX = new double[groups];
+            sumY = new double[groups];
+            sumXX = new double[groups];
+            sumYY = new double[groups];
+            sumXY = new double[groups];
+        }
+
+        void add(final int group, final int participantCount, final int certifiedCount, final float hours) {
+            courses[group]++;
+            participants[group] += participantCount;
+            certified[group] += certifiedCount;
+            if (hours > 0f && participantCount > 0) {
+                final double rate = 100.0 * certifiedCount / participantCount;
+                timed[group]++;
+                sumX[group] += hours;
+                sumY[group] += rate;
+                sumXX[group] += (double) hours * hours;
+                sumYY[group] += rate * rate;
+                sumXY[group] += hours * rate;
+            }
+        }
+
+        Accumulator merge(final Accumulator other) {
+            for (int group = 0; group < courses.length; group++) {
+                courses[group] += other.courses[group];
+                participants[group] += other.participants[group];
+                certified[group] += other.certified[group];
+                timed[group] += other.timed[group];
+                sumX[group] += other.sumX[group];
+                sumY[group] += other.sumY[group];
+                sumXX[group] += other.sumXX[group];
+                sumYY[group] += other.sumYY[group];
+                sumXY[group] += other.sumXY[group];
+            }
+            return this;
+        }
+
+        Group toGroup(final int group, final String[] labels) {
+            final int n = timed[group];
+            final double meanHours = n == 0 ? 0.0 : sumX[group] / n;
+            final double covariance = n * sumXY[group] - sumX[group] * sumY[group];
+            final double varianceX = n * sumXX[group] - sumX[group] * sumX[group];
+            final double varianceY = n * sumYY[group] - sumY[group] * sumY[group];
+            final double correlation = n < 2 || varianceX <= 0 || varianceY <= 0
+                    ? Double.NaN : covariance / Math.sqrt(varianceX * varianceY);
+            return new Group(labels, courses[group], participants[group], certified[group], meanHours, correlation);
+        }
+    }
+
+    /**
+     * Accumulates course rows into growable column arrays before freezing them into a store.
+     * Also used by tests and generators to build stores without a CSV file.
+     */
+    static final class Builder {
+        private int size;
+        private byte[] institutionCodes = new byte[1024];
+        private byte[] subjectCodes = new byte[1024];
+        private short[] launchYears = new short[1024];
+        private int[] participants = new int[1024];
+        private int[] certified = new int[1024];
+        private float[] medianHours = new float[1024];
+        private final List<String> institutions = new ArrayList<>();
+        private final List<String> subjects = new ArrayList<>();
+        private final Map<String, Integer> institutionLookup = new HashMap<>();
+        private final Map<String, Integer> subjectLookup = new HashMap<>();
+
+        /**
+         * Appends one course.
+         * @return This builder.
+         * @throws IllegalStateException if more than 256 distinct institutions or subjects are added.
+         */
+        Builder add(final String institution, final String subject, final int launchYear, final int participantCount,
+                    final int certifiedCount, final float medianHoursForCertification) {
+            ensureCapacity(size + 1);
+            institutionCodes[size] = encode(institution.trim(), institutions, institutionLookup);
+            subjectCodes[size] = encode(subject.trim(), subjects, subjectLookup);
+            launchYears[size] = (short) launchYear;
+            participants[size] = participantCount;
+            certified[size] = certifiedCount;
+            medianHours[size] = medianHoursForCertification;
+            size++;
+            return this;
+        }
+
+        private static byte encode(final String value, final List<String> dictionary, final Map<String, Integer> lookup) {
+            Integer code = lookup.get(value);
+            if (code == null) {
+                if (dictionary.size() == 256) {
+                    throw new IllegalStateException("Too many distinct values for a byte-coded column: " + value);
+                }
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+            return (byte) code.intValue();
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= institutionCodes.length) {
+                return;
+            }
+            final int newLength = Math.max(capacity, institutionCodes.length * 2);
+            institutionCodes = Arrays.copyOf(institutionCodes, newLength);
+            subjectCodes = Arrays.copyOf(subjectCodes, newLength);
+            launchYears = Arrays.copyOf(launchYears, newLength);
+            participants = Arrays.copyOf(participants, newLength);
+            certified = Arrays.copyOf(certified, newLength);
+            medianHours = Arrays.copyOf(medianHours, newLength);
+        }
+
+        /**
+         * @return An immutable store holding the rows added so far.
+         */
+        CourseAnalyticsStore build() {
+            return new CourseAnalyticsStore(this);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONStringer;
+import com.example.MainClient.Scholarship;
+import com.example.MainClient.ScholarshipService;
+import com.example.MainClient.UdemyCourseService;
+import com.example.MainClient.UniversityService;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * EducationApiServer serves the education datasets as a read-only JSON API, so many clients
+ * can query one warm in-memory copy of the data. It runs on the JDK's built-in HTTP server and
+ * handles every request on its own virtual thread, so a request waiting on the universities
+ * API does not hold up the others. Endpoints (GET or HEAD):
+ * <pre>
+ *     /scholarships?degree=Master&amp;location=canada&amp;sort=amount
+ *     /courses?subject=Web+Development&amp;level=Beginner+Level&amp;paid=false&amp;minPrice=0&amp;maxPrice=50
+ *             &amp;minHours=1&amp;maxHours=10&amp;publishedFrom=2016-01-01&amp;publishedTo=2017-12-31
+ *             &amp;sort=subscribers|reviews|price|recency
+ *     /universities?country=Germany
+ *     /profiles?currentCountry=Germany&amp;originCountry=Uganda&amp;email=...
+ * </pre>
+ * Every endpoint pages with offset (default 0) and limit (default 50, at most 1000) and answers
+ * {"offset", "limit", "hasMore", "items"}, plus "total" where the number of matches is known.
+ * Responses carry an ETag derived from their content; a request whose If-None-Match lists it
+ * gets 304 Not Modified without a body. Invalid parameters give 400, unknown paths 404, other
+ * methods 405, a failing universities API 502, each with a JSON {"error"} body.
+ */
+final class EducationApiServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    // Instrumentation, published by Metrics
+    private static final Metrics.Timer REQUEST_TIMER = Metrics.timer("http.requests");
+    private static final Metrics.Counter ERRORS = Metrics.counter("http.errors");
+    private static final Metrics.CacheStats ETAGS = Metrics.cache("http.etags"); // A hit is a 304
+
+    private final ScholarshipService scholarshipService;
+    private final UdemyCourseService udemyCourseService;
+    private final UniversityService universityService;
+    private final ProfileStore profileStore;
+    private HttpServer server; // Created by start
+    private ExecutorService executor;
+
+    /**
+     * A request that cannot be answered, with the HTTP status to report.
+     */
+    private static final class ApiException extends Exception {
+        private final int status;
+
+        ApiException(final int status, final String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Produces the JSON body of one endpoint from the request parameters.
+     */
+    private interface Endpoint {
+        String handle(Map<String, String> parameters) throws ApiException;
+    }
+
+    /**
+     * Constructor for EducationApiServer.
+     * @param scholarshipService Answers /scholarships.
+     * @param udemyCourseService Answers /courses.
+     * @param universityService Answers /universities.
+     * @param profileStore Answers /profiles.
+     */
+    EducationApiServer(final ScholarshipService scholarshipService, final UdemyCourseService udemyCourseService,
+                       final UniversityService universityService, final ProfileStore profileStore) {
+        this.scholarshipService = scholarshipService;
+        this.udemyCourseService = udemyCourseService;
+        this.universityService = universityService;
+        this.profileStore = profileStore;
+    }
+
+    /**
+     * Starts serving requests.
+     * @param address The address to listen on; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    synchronized void start(final InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        server = HttpServer.create(address, 0);
+        server.createContext("/scholarships", exchange -> serve(exchange, "/scholarships", this::scholarships));
+        server.createContext("/courses", exchange -> serve(exchange, "/courses", this::courses));
+        server.createContext("/universities", exchange -> serve(exchange, "/universities", this::universities));
+        server.createContext("/profiles", exchange -> serve(exchange, "/profiles", this::profiles));
+        server.createContext("/", exchange -> serve(exchange, null, null));
+        executor = Executors.newVirtualThreadPerTaskExecutor(); // One cheap thread per request
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return The address the server listens on.
+     */
+    synchronized InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting requests and waits up to a second for the running ones.
+     */
+    synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void serve(final HttpExchange exchange, final String path, final Endpoint endpoint) throws IOException {
+        final long start = Metrics.start();
+        try (exchange) {
+            final String method = exchange.getRequestMethod();
+            final boolean head = method.equals("HEAD");
+            int status = 200;
+            String body;
+            try {
+                // Contexts match by prefix, so /scholarships/x ends up here too
+                if (endpoint == null || !exchange.getRequestURI().getPath().equals(path)) {
+                    throw new ApiException(404, "No such endpoint: " + exchange.getRequestURI().getPath());
+                }
+                if (!head && !method.equals("GET")) {
+                    exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                    throw new ApiException(405, "Method not allowed: " + method);
+                }
+                body = endpoint.handle(parameters(exchange.getRequestURI().getRawQuery()));
+            } catch (final ApiException e) {
+                status = e.status;
+                body = new JSONStringer().object().key("error").value(e.getMessage()).endObject().toString();
+                ERRORS.increment();
+            } catch (final RuntimeException e) {
+                status = 500;
+                body = new JSONStringer().object().key("error").value("Internal error: " + e.getMessage()).endObject().toString();
+                System.err.println("Error serving " + exchange.getRequestURI() + ": " + e);
+                ERRORS.increment();
+            }
+
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (status == 200) {
+                final String etag = etag(bytes);
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                    ETAGS.hit();
+                    exchange.sendResponseHeaders(304, -1); // The client's copy is current
+                    return;
+                }
+                ETAGS.miss();
+            }
+            if (head) {
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(bytes.length));
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (final OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            REQUEST_TIMER.stop(start);
+        }
+    }
+
+    private String scholarships(final Map<String, String> parameters) throws ApiException {
+        final String degree = parameters.getOrDefault("degree", "all");
+        final String location = parameters.getOrDefault("location", "all");
+        final String sort = parameters.getOrDefault("sort", "");
+        final List<Scholarship> scholarships;
+        if (sort.isEmpty()) {
+            scholarships = scholarshipService.searchScholarships(degree, location);
+        } else if (sort.equalsIgnoreCase("amount")) {
+            scholarships = scholarshipService.searchScholarshipsByAmount(degree, location);
+        } else {
+            throw new ApiException(400, "Unknown sort: " + sort + " (expected amount)");
+        }
+        final int offset = offset(parameters);
+        final int limit = limit(parameters);
+        final JSONStringer json = page(offset, limit, scholarships.size());
+        for (int i = offset; i < Math.min(scholarships.size(), offset + limit); i++) {
+            final Scholarship scholarship = scholarships.get(i);
+            json.object().key("name").value(scholarship.getName()).key("degree").value(scholarship.getDegree())
+                    .key("amount").value(scholarship.getAmount()).key("location").value(scholarship.getLocation()).endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String courses(final Map<String, String> parameters) throws ApiException {
+        final UdemyCourseQuery query = new UdemyCourseQuery()
+                .subject(parameters.get("subject"))
+                .level(parameters.get("level"))
+                .priceBetween(intParameter(parameters, "minPrice", 0), intParameter(parameters, "maxPrice", Integer.MAX_VALUE))
+                .durationBetween(floatParameter(parameters, "minHours", 0f), floatParameter(parameters, "maxHours", Float.MAX_VALUE))
+                .publishedBetween(dateParameter(parameters, "publishedFrom", false), dateParameter(parameters, "publishedTo", true));
+        final String paid = parameters.get("paid");
+        if (paid != null) {
+            if (!paid.equalsIgnoreCase("true") && !paid.equalsIgnoreCase("false")) {
+                throw new ApiException(400, "paid must be true or false: " + paid);
+            }
+            query.paid(Boolean.parseBoolean(paid));
+        }
+        final String sort = parameters.get("sort");
+        if (sort != null) {
+            try {
+                query.sortBy(UdemyCourseQuery.SortOrder.valueOf(sort.toUpperCase(Locale.ROOT)));
+            } catch (final IllegalArgumentException e) {
+                throw new ApiException(400, "Unknown sort: " + sort + " (expected subscribers, reviews, price or recency)");
+            }
+        }
+
+        final UdemyCourseStore courses = udemyCourseService.getStore();
+        final int offset = Math.min(offset(parameters), courses.size()); // Keeps the ranking heap below the store size
+        final int limit = limit(parameters);
+        // Rank one more than the page to tell whether another page follows
+        final int[] rows = udemyCourseService.queryCourses(query.limit(offset + limit + 1));
+        final JSONStringer json = page(offset, limit, -1);
+        for (int i = offset; i < Math.min(rows.length, offset + limit); i++) {
+            final int row = rows[i];
+            json.object().key("id").value(courses.courseId(row)).key("title").value(courses.title(row))
+                    .key("url").value(courses.url(row)).key("subject").value(courses.subject(row))
+                    .key("level").value(courses.level(row)).key("paid").value(courses.isPaid(row))
+                    .key("price").value(courses.price(row)).key("hours").value(courses.duration(row))
+                    .key("lectures").value(courses.lectures(row)).key("subscribers").value(courses.subscribers(row))
+                    .key("reviews").value(courses.reviews(row))
+                    .key("published").value(Instant.ofEpochSecond(courses.published(row)).toString()).endObject();
+        }
+        json.endArray().key("hasMore").value(rows.length > offset + limit);
+        return json.endObject().toString();
+    }
+
+    private String universities(final Map<String, String> parameters) throws ApiException {
+        final String country = parameters.get("country");
+        if (country == null || country.isBlank()) {
+            throw new ApiException(400, "country is required");
+        }
+        final List<University> universities;
+        try {
+            universities = universityService.fetchUniversities(country);
+        } catch (final IOException e) {
+            throw new ApiException(502, "Universities API failed: " + e.getMessage());
+        }
+        final int offset = offset(parameters);
+        final int limit = limit(parameters);
+        final JSONStringer json = page(offset, limit, universities.size());
+        for (int i = offset; i < Math.min(universities.size(), offset + limit); i++) {
+            final University university = universities.get(i);
+            json.object().key("name").value(university.getName()).key("website").value(university.getWebsite())
+                    .key("domains").value(university.getDomains()).key("stateProvince").value(university.getStateProvince())
+                    .endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String profiles(final Map<String, String> parameters) throws ApiException {
+        if (profileStore == null) {
+            throw new ApiException(404, "Student profiles are not available");
+        }
+        final String email = parameters.get("email");
+        final String currentCountry = parameters.get("currentCountry");
+        final String originCountry = parameters.get("originCountry");
+        List<StudentProfile> profiles;
+        if (email != null) {
+            final StudentProfile profile = profileStore.findByEmail(email);
+            profiles = profile == null ? new ArrayList<>() : new ArrayList<>(List.of(profile));
+        } else if (currentCountry != null) {
+            profiles = profileStore.findByCurrentCountry(currentCountry);
+        } else if (originCountry != null) {
+            profiles = profileStore.findByOriginCountry(originCountry);
+        } else {
+            profiles = profileStore.getProfiles();
+        }
+        // Apply the filters the lookup above did not use
+        if (currentCountry != null) {
+            profiles.removeIf(profile -> !profile.getCurrentCountry().equalsIgnoreCase(currentCountry));
+        }
+        if (originCountry != null) {
+            profiles.removeIf(profile -> !profile.getOriginCountry().equalsIgnoreCase(originCountry));
+        }
+
+        final int offset = offset(parameters);
+        final int limit = limit(parameters);
+        final JSONStringer json = page(offset, limit, profiles.size());
+        for (int i = offset; i < Math.min(profiles.size(), offset + limit); i++) {
+            final StudentProfile profile = profiles.get(i);
+            json.object().key("name").value(profile.getName()).key("email").value(profile.getEmail())
+                    .key("originCountry").value(profile.getOriginCountry())
+                    .key("currentCountry").value(profile.getCurrentCountry()).endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    /**
+     * Starts a page object and its items array.
+     * @param total The number of matches, or -1 if unknown; the caller then adds "hasMore".
+     */
+    private static JSONStringer page(final int offset, final int limit, final int total) {
+        final JSONStringer json = new JSONStringer();
+        json.object().key("offset").value(offset).key("limit").value(limit);
+        if (total >= 0) {
+            json.key("total").value(total).key("hasMore").value(offset + limit < total);
+        }
+        json.key("items").array();
+        return json;
+    }
+
+    private static int offset(final Map<String, String> parameters) throws ApiException {
+        final int offset = intParameter(parameters, "offset", 0);
+        if (offset < 0) {
+            throw new ApiException(400, "offset must not be negative: " + offset);
+        }
+        return offset;
+    }
+
+    private static int limit(final Map<String, String> parameters) throws ApiException {
+        final int limit = intParameter(parameters, "limit", DEFAULT_PAGE_SIZE);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        return limit;
+    }
+
+    private static int intParameter(final Map<String, String> parameters, final String name, final int defaultValue) throws ApiException {
+        final String value = parameters.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new ApiException(400, name + " must be a whole number: " + value);
+        }
+    }
+
+    private static float floatParameter(final Map<String, String> parameters, final String name, final float defaultValue) throws ApiException {
+        final String value = parameters.get(name);
+        try {
+            return value == null ? defaultValue : Float.parseFloat(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new ApiException(400, name + " must be a number: " + value);
+        }
+    }
+
+    /**
+     * Parses a yyyy-MM-dd date parameter as the first (or, for an upper bound, the last) second of that day in UTC.
+     */
+    private static Instant dateParameter(final Map<String, String> parameters, final String name, final boolean endOfDay) throws ApiException {
+        final String value = parameters.get(name);
+        try {
+            if (value == null) {
+                return null;
+            }
+            final LocalDate day = LocalDate.parse(value.trim());
+            return endOfDay ? day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusSeconds(1)
+                    : day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (final DateTimeParseException e) {
+            throw new ApiException(400, name + " must be a date like 2017-01-31: " + value);
+        }
+    }
+
+    /**
+     * Decodes a query string. Empty values count as absent; the last of repeated names wins.
+     */
+    private static Map<String, String> parameters(final String rawQuery) throws ApiException {
+        final Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (final String pair : rawQuery.split("&")) {
+            final int equals = pair.indexOf('=');
+            try {
+                final String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+                final String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+                if (!value.isBlank()) {
+                    parameters.put(name, value);
+                }
+            } catch (final IllegalArgumentException e) {
+                throw new ApiException(400, "Malformed query string: " + rawQuery);
+            }
+        }
+        return parameters;
+    }
+
+    private static String etag(final byte[] body) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    /**
+     * Checks an If-None-Match header, which lists ETags (possibly weak) or is "*".
+     */
+    private static boolean matches(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Serves the datasets in the working directory over HTTP on the loopback interface, e.g.
+     * {@code EducationApiServer 8080}, then {@code curl "http://localhost:8080/courses?subject=Graphic+Design&limit=5"}.
+     * @param args The port (default 8080), then optionally the address to listen on, e.g. 0.0.0.0.
+     */
+    public static void main(final String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final InetAddress address = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+
+        final ScholarshipService scholarshipService = new ScholarshipService();
+        final UdemyCourseService udemyCourseService = new UdemyCourseService();
+        final UniversityService universityService = new UniversityService();
+        ProfileStore profileStore = null;
+        try {
+            profileStore = StudentCommunity.sharedProfileStore();
+        } catch (final IOException e) {
+            System.err.println("Serving without student profiles: " + e.getMessage());
+        }
+        // Warm the catalogs before the first request
+        scholarshipService.getCatalog();
+        udemyCourseService.getStore();
+        universityService.startSnapshotRefresh();
+        Metrics.startReporting();
+
+        final EducationApiServer server = new EducationApiServer(scholarshipService, udemyCourseService, universityService, profileStore);
+        server.start(new InetSocketAddress(address, port));
+        System.out.println("Serving the education API on http://" + address.getHostAddress() + ":" + server.getAddress().getPort() + "/");
+    }
+}
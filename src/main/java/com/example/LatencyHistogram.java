@@ -0,0 +1,102 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram records durations in nanoseconds into log-linear buckets, like an
+ * HdrHistogram with two significant digits: values below 128 are counted exactly, and every
+ * power-of-two range above that is split into 64 equal buckets, so a reported percentile is
+ * never off by more than about 1.6%. The bucket array has a fixed size (about 30 KB) covering
+ * every long value. Recording is lock-free and safe from any number of threads; reads may see
+ * a recording that is still in progress, which only matters for exact cross-field consistency.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6; // 64 buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = 2 * SUB_BUCKETS; // Values below this have their own bucket
+    private static final int BUCKETS = EXACT_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration.
+     * @param nanos The duration in nanoseconds; negative values are counted as zero.
+     */
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return The number of recorded durations.
+     */
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return The mean duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    double getMean() {
+        final long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * @return The longest recorded duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the duration below which the given percentage of the recordings fall.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The upper bound of the bucket holding that percentile, in nanoseconds,
+     *         never more than the maximum; 0 if nothing was recorded.
+     */
+    long getPercentile(final double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucket(final long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS + 1 bits: the shift picks the power of two, the rest the bucket in it
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return EXACT_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long highestValueIn(final int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        final int shift = (bucket - EXACT_LIMIT) / SUB_BUCKETS + 1;
+        final long lowest = (long) ((bucket - EXACT_LIMIT) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
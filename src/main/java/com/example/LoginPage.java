@@ -2,14 +2,24 @@ package com.example;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import java.io.IOException;
 
 public class LoginPage {
 
     private JPanel loginPanel;
 
-    @SuppressWarnings("unused")
-    public LoginPage(List<StudentCommunity.StudentProfile> profiles) {
+    /**
+     * Creates the login page over the shared profile store of the profiles CSV.
+     */
+    public LoginPage() {
+        this(openSharedProfileStore());
+    }
+
+    /**
+     * Creates the login page over a given profile store.
+     * @param profiles The store emails are checked against, or null if profile storage is unavailable.
+     */
+    LoginPage(ProfileStore profiles) {
         loginPanel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(10, 10, 10, 10);
@@ -46,18 +56,20 @@ public class LoginPage {
                 return;
             }
 
-            // Validate email against profiles
-            boolean valid = false;
-            for (StudentCommunity.StudentProfile profile : profiles) {
-                
+            if (profiles == null) {
+                JOptionPane.showMessageDialog(loginPanel, "Profile storage is unavailable.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
 
+            // Validate email against the live email index; no lock, no scan
+            boolean valid = profiles.findByEmail(email) != null;
+
             if (valid) {
                 JOptionPane.showMessageDialog(loginPanel, "Login successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
                 // Navigate to the community page
                 JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(loginPanel);
                 frame.getContentPane().removeAll();
-                frame.getContentPane().add(new StudentCommunity().getCommunityPanel());
+                frame.getContentPane().add(new StudentCommunity(profiles).getCommunityPanel());
                 frame.revalidate();
                 frame.repaint();
             } else {
@@ -79,7 +91,7 @@ public class LoginPage {
             // Navigate to the profile creation page
             JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(loginPanel);
             frame.getContentPane().removeAll();
-            frame.getContentPane().add(new StudentCommunity().getCommunityPanel());
+            frame.getContentPane().add(new StudentCommunity(profiles).getCommunityPanel());
             frame.revalidate();
             frame.repaint();
         });
@@ -89,4 +101,13 @@ public class LoginPage {
     public JPanel getLoginPanel() {
         return loginPanel;
     }
+
+    private static ProfileStore openSharedProfileStore() {
+        try {
+            return StudentCommunity.sharedProfileStore();
+        } catch (IOException e) {
+            System.err.println("Error loading profiles: " + e.getMessage());
+            return null; // Logging in reports that storage is unavailable
+        }
+    }
 }
\ No newline at end of file
@@ -5,17 +5,40 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.*;
 import java.net.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import javax.swing.*;
-import com.opencsv.CSVReader;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvException;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import com.formdev.flatlaf.FlatLightLaf;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 
 /**
  * MainClient class represents the primary window for the Matrob Education Finder application.
@@ -25,15 +48,28 @@ import com.formdev.flatlaf.FlatLightLaf;
  */
 public class MainClient extends JFrame {
 
-    // Component to display search results, capable of rendering HTML
+    // Pause in typing after which the scholarship live search runs
+    private static final int LIVE_SEARCH_DELAY_MILLIS = 150;
+    // Latency budgets of the "search everything" sources: local sources must answer quickly,
+    // the remote university API may take longer but never delays the others
+    private static final long LOCAL_SOURCE_BUDGET_MILLIS = 250;
+    private static final long REMOTE_SOURCE_BUDGET_MILLIS = 3000;
+    // Hits taken from each source for the merged "search everything" results
+    private static final int UNIFIED_HITS_PER_SOURCE = 50;
+
+    // Component to display messages and the details of the selected result, capable of rendering HTML
     private final JEditorPane resultPane;
     // Scroll pane to allow scrolling of the resultPane if content is long
     private final JScrollPane resultScrollPane;
+    // Table listing search results; only visible rows are materialized and laid out
+    private final ResultTableModel resultTableModel;
+    private final JTable resultTable;
 
     // Service layer instances to handle business logic and data operations
     private final ScholarshipService scholarshipService;
     private final UniversityService universityService;
     private final UdemyCourseService udemyCourseService;
+    private final CourseAnalyticsService courseAnalyticsService;
 
     /**
      * Constructor for the MainClient.
@@ -50,7 +86,7 @@ public class MainClient extends JFrame {
 
         // Set basic JFrame properties
         setTitle("Matrob Education Finder");
-        setSize(800, 600);
+        setSize(900, 750);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // Close application on window close
         setLocationRelativeTo(null); // Center the window on screen
 
@@ -65,6 +101,12 @@ public class MainClient extends JFrame {
         scholarshipService = new ScholarshipService();
         universityService = new UniversityService();
         udemyCourseService = new UdemyCourseService();
+        courseAnalyticsService = new CourseAnalyticsService();
+        scholarshipService.preloadInBackground(); // Parse the scholarship catalog before the first search
+        udemyCourseService.preloadInBackground(); // Load the Udemy course store before the first search
+        courseAnalyticsService.preloadInBackground(); // Load the course statistics before the first analysis
+        universityService.startSnapshotRefresh(); // Serve university searches offline once the snapshot is ready
+        Metrics.startReporting(); // Print where time goes periodically; also published over JMX
 
         // Setup the result display area at the bottom of the main window
         resultPane = new JEditorPane();
@@ -72,24 +114,47 @@ public class MainClient extends JFrame {
         resultPane.setEditable(false); // Make it read-only
         resultPane.setText("<html><center><h2>Welcome to Matrob Education Finder</h2></center></html>"); // Initial welcome message
         resultScrollPane = new JScrollPane(resultPane); // Add scrollability
-        resultScrollPane.setPreferredSize(new Dimension(780, 200)); // Set its preferred size
+        resultScrollPane.setPreferredSize(new Dimension(880, 120)); // Set its preferred size
+
+        // Setup the results table above the detail pane
+        resultTableModel = new ResultTableModel();
+        resultTable = new JTable(resultTableModel);
+        resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultTable.setFillsViewportHeight(true);
+        resultTable.getSelectionModel().addListSelectionListener(e -> {
+            // Show the selected result in the HTML pane
+            final int selectedRow = resultTable.getSelectedRow();
+            if (!e.getValueIsAdjusting() && selectedRow >= 0 && resultTableModel.getResults() != null) {
+                resultPane.setText(resultTableModel.getResults().detailHTML(resultTable.convertRowIndexToModel(selectedRow)));
+                resultPane.setCaretPosition(0);
+            }
+        });
+        final JScrollPane resultTableScrollPane = new JScrollPane(resultTable);
+        resultTableScrollPane.setPreferredSize(new Dimension(880, 200));
+        final JSplitPane resultSplitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, resultTableScrollPane, resultScrollPane);
+        resultSplitPane.setResizeWeight(0.7); // Give extra space to the results table
 
         // Create a tabbed interface to organize different features
         final JTabbedPane tabbedPane = new JTabbedPane();
 
         // Add each functional panel to a new tab, passing an ActionListener to handle user interactions
-        tabbedPane.addTab("Scholarships", new ScholarshipPanel(new ScholarshipActionListener()));
+        final ScholarshipActionListener scholarshipActionListener = new ScholarshipActionListener();
+        final ScholarshipPanel scholarshipPanel = new ScholarshipPanel(scholarshipActionListener);
+        scholarshipActionListener.enableLiveSearch(scholarshipPanel);
+        tabbedPane.addTab("Scholarships", scholarshipPanel);
         tabbedPane.addTab("Universities", new UniversityPanel(new UniversityActionListener()));
         tabbedPane.addTab("Udemy Courses", new UdemyCoursesPanel(new UdemyCourseActionListener()));
+        tabbedPane.addTab("Course Analytics", new CourseAnalyticsPanel(new CourseAnalyticsActionListener()));
 
         // Add the community panel (assuming it's implemented in StudentCommunity class)
         final StudentCommunity studentCommunity = new StudentCommunity();
         tabbedPane.addTab("Community", studentCommunity.getCommunityPanel());
 
-        // Set the main window's layout and add the tabbed pane and result display
+        // Set the main window's layout and add the search box, the tabbed pane and result display
         setLayout(new BorderLayout());
+        add(new UnifiedSearchPanel(new UnifiedSearchActionListener()), BorderLayout.NORTH);
         add(tabbedPane, BorderLayout.CENTER);
-        add(resultScrollPane, BorderLayout.SOUTH);
+        add(resultSplitPane, BorderLayout.SOUTH);
     }
 
     /**
@@ -98,6 +163,41 @@ public class MainClient extends JFrame {
      * executing long-running tasks in a background thread to maintain UI responsiveness.
      */
     private class ScholarshipActionListener implements ActionListener {
+        // Latest-wins searches for this tab
+        private final SearchCoordinator searches = new SearchCoordinator();
+        // Debounces keystrokes: the live search runs once typing pauses
+        private final Timer liveSearchTimer = new Timer(LIVE_SEARCH_DELAY_MILLIS, e -> runLiveSearch());
+        private ScholarshipPanel livePanel;
+        private ScholarshipIndex.Match lastMatch; // Result of the last live search; only touched on the EDT
+
+        /**
+         * Searches as the user types in the panel's degree and location fields.
+         * @param panel The panel whose fields are watched.
+         */
+        void enableLiveSearch(final ScholarshipPanel panel) {
+            livePanel = panel;
+            liveSearchTimer.setRepeats(false);
+            panel.addInputChangeListener(liveSearchTimer::restart);
+        }
+
+        /**
+         * Runs the debounced live search. When the terms extend the previous ones, the previous
+         * match is narrowed instead of searching the whole catalog again.
+         */
+        private void runLiveSearch() {
+            // An empty field matches everything while typing
+            final String degree = livePanel.getDegreeInput().isEmpty() ? ScholarshipIndex.WILDCARD : livePanel.getDegreeInput();
+            final String location = livePanel.getLocationInput().isEmpty() ? ScholarshipIndex.WILDCARD : livePanel.getLocationInput();
+            final ScholarshipIndex.Match previous = lastMatch;
+            searches.submit(context -> {
+                final ScholarshipCatalog catalog = scholarshipService.getCatalog();
+                final ScholarshipIndex.Match match = catalog.match(degree, location, previous);
+                context.updateUi(() -> lastMatch = match); // Runs before the results are shown
+                return catalog.getScholarships(match.getIds());
+            }, scholarships -> displayScholarships(scholarships, "No scholarships match the current degree and location."),
+                    ex -> updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>"));
+        }
+
         @Override
         public void actionPerformed(final ActionEvent e) {
             final String command = e.getActionCommand(); // Get the text of the button clicked
@@ -115,41 +215,33 @@ public class MainClient extends JFrame {
                 updateResultPane("<html><font color='red'>Please enter a location.</font></html>");
                 return;
             }
+            if ("Save as Favorite".equals(command)) {
+                saveCurrentResultsToFile(); // Save the currently displayed results to a file
+                return;
+            }
 
             // Display a loading message immediately
             updateResultPane("<html><center>Loading scholarships...</center></html>");
 
-            // Use SwingWorker to run data operations in a separate thread
-            new SwingWorker<List<Scholarship>, Void>() {
-                @Override
-                protected List<Scholarship> doInBackground() throws Exception {
-                    // This code runs off the Event Dispatch Thread (EDT)
-                    List<Scholarship> allScholarships = scholarshipService.readScholarshipsFromCSV();
-                    return scholarshipService.filterScholarships(allScholarships, degree, location);
+            final boolean byAmount = "Sort by Amount (High to Low)".equals(command);
+            // Run the lookup off the EDT; a newer click supersedes this one
+            searches.submit(context -> {
+                // Indexed lookup on the shared catalog; sorting walks the presorted amount order
+                if (byAmount) {
+                    return scholarshipService.searchScholarshipsByAmount(degree, location);
                 }
-
-                @Override
-                protected void done() {
-                    // This code runs back on the EDT after doInBackground completes
-                    try {
-                        List<Scholarship> filteredScholarships = get(); // Retrieve result from background task
-
-                        // Perform action based on which button was clicked
-                        if ("Search Scholarships".equals(command)) {
-                            displayScholarships(filteredScholarships, "No scholarships found for the selected degree and location.");
-                        } else if ("Sort by Amount (High to Low)".equals(command)) {
-                            scholarshipService.sortScholarshipsByAmount(filteredScholarships); // Sort the filtered list
-                            displayScholarships(filteredScholarships, "No scholarships found to sort for the selected criteria.");
-                        } else if ("Save as Favorite".equals(command)) {
-                            saveCurrentResultsToFile(); // Save the currently displayed results to a file
-                        }
-                    } catch (final Exception ex) {
-                        // Display any errors that occurred during the background operation
-                        updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>");
-                        ex.printStackTrace();
-                    }
+                return scholarshipService.searchScholarships(degree, location);
+            }, filteredScholarships -> {
+                if (byAmount) {
+                    displayScholarships(filteredScholarships, "No scholarships found to sort for the selected criteria.");
+                } else {
+                    displayScholarships(filteredScholarships, "No scholarships found for the selected degree and location.");
                 }
-            }.execute(); // Start the SwingWorker
+            }, ex -> {
+                // Display any errors that occurred during the background operation
+                updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>");
+                ex.printStackTrace();
+            });
         }
     }
 
@@ -159,6 +251,9 @@ public class MainClient extends JFrame {
      * executed in a background thread.
      */
     private class UniversityActionListener implements ActionListener {
+        // Latest-wins searches for this tab; cancelling one aborts its HTTP call
+        private final SearchCoordinator searches = new SearchCoordinator();
+
         @Override
         public void actionPerformed(final ActionEvent e) {
             // Retrieve country input from the UniversityPanel
@@ -170,34 +265,28 @@ public class MainClient extends JFrame {
                 updateResultPane("<html><font color='red'>Please enter a country.</font></html>");
                 return;
             }
+            if ("Save as Favorite".equals(e.getActionCommand())) {
+                saveCurrentResultsToFile(); // Saving only needs the results already on screen
+                return;
+            }
 
             // Display a loading message
             updateResultPane("<html><center>Searching universities in " + country + "...</center></html>");
 
-            // Use SwingWorker for the network operation
-            new SwingWorker<String, Void>() {
-                @Override
-                protected String doInBackground() throws Exception {
-                    // This runs in a background thread to avoid freezing the UI
-                    return universityService.searchUniversities(country);
+            // Results shown so far; only touched on the EDT
+            final List<University> streamed = new ArrayList<>();
+            // Run the network operation off the EDT; universities are shown in chunks as they are parsed
+            searches.submit(context -> universityService.streamUniversities(country, context.<University>publisher(chunk -> {
+                if (streamed.isEmpty()) {
+                    resultTableModel.setResults(SearchResults.ofUniversities(streamed));
                 }
-
-                @Override
-                protected void done() {
-                    // This runs on the EDT after the background task is complete
-                    try {
-                        final String resultHtml = get(); // Get HTML results from background task
-                        if ("Save as Favorite".equals(e.getActionCommand())) {
-                            saveCurrentResultsToFile(); // Save current results if the save button was clicked
-                        } else {
-                            updateResultPane(resultHtml); // Display university search results
-                        }
-                    } catch (final Exception ex) {
-                        updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>");
-                        ex.printStackTrace();
-                    }
-                }
-            }.execute();
+                streamed.addAll(chunk);
+                resultTableModel.resultsGrew(); // One ranged insert per chunk
+                resultPane.setText("<html>Loading universities in <b>" + country + "</b>... " + streamed.size() + " so far.</html>");
+            })), universities -> displayResults(SearchResults.ofUniversities(universities),
+                    "<html>No universities found for the country: <b>" + country + "</b></html>",
+                    "Universities in " + country),
+                    ex -> updateResultPane(UniversityService.errorHTML(ex)));
         }
     }
 
@@ -207,39 +296,129 @@ public class MainClient extends JFrame {
      * in a background thread.
      */
     private class UdemyCourseActionListener implements ActionListener {
+        // Latest-wins searches for this tab
+        private final SearchCoordinator searches = new SearchCoordinator();
+
         @Override
         public void actionPerformed(final ActionEvent e) {
-            // Retrieve selected subject from the UdemyCoursesPanel
+            // Retrieve the search criteria from the UdemyCoursesPanel
             final UdemyCoursesPanel sourcePanel = (UdemyCoursesPanel) ((JButton) e.getSource()).getParent();
             final String selectedSubject = sourcePanel.getSelectedSubject();
+            final String maxHoursInput = sourcePanel.getMaxHoursInput();
+
+            // Validate the optional duration limit
+            final float maxHours;
+            try {
+                maxHours = maxHoursInput.isEmpty() ? Float.MAX_VALUE : Float.parseFloat(maxHoursInput);
+            } catch (final NumberFormatException ex) {
+                updateResultPane("<html><font color='red'>Please enter the maximum hours as a number.</font></html>");
+                return;
+            }
+            if ("Save as Favorite".equals(e.getActionCommand())) {
+                saveCurrentResultsToFile(); // Save current results if the save button was clicked
+                return;
+            }
+
+            // Build a multi-criteria query evaluated over the in-memory course store
+            final UdemyCourseQuery query = new UdemyCourseQuery()
+                    .subject(selectedSubject)
+                    .level(sourcePanel.getSelectedLevel())
+                    .paid(sourcePanel.getPaidFilter())
+                    .durationBetween(0f, maxHours)
+                    .sortBy(sourcePanel.getSelectedSortOrder());
 
             // Display a loading message
             updateResultPane("<html><center>Searching Udemy courses for " + selectedSubject + "...</center></html>");
 
-            // Use SwingWorker for the file reading operation
-            new SwingWorker<String, Void>() {
-                @Override
-                protected String doInBackground() throws Exception {
-                    // This runs in a background thread
-                    return udemyCourseService.filterCoursesBySubject(selectedSubject);
-                }
+            // Run the query against the in-memory course store off the EDT
+            searches.submit(context -> SearchResults.ofCourses(udemyCourseService.getStore(), udemyCourseService.queryCourses(query)),
+                    courses -> displayResults(courses, "No courses found for the selected criteria.", "Udemy courses in " + selectedSubject),
+                    ex -> {
+                        updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>");
+                        ex.printStackTrace();
+                    });
+        }
+    }
 
-                @Override
-                protected void done() {
-                    // This runs on the EDT
-                    try {
-                        final String resultHtml = get(); // Get HTML results from background task
-                        if ("Save as Favorite".equals(e.getActionCommand())) {
-                            saveCurrentResultsToFile(); // Save current results if the save button was clicked
-                        } else {
-                            updateResultPane(resultHtml); // Display Udemy course search results
-                        }
-                    } catch (final Exception ex) {
+    /**
+     * Handles the Analyze button of the Course Analytics panel.
+     * It aggregates the HarvardX/MITx course statistics by the selected dimensions
+     * in a background thread and shows one result row per group.
+     */
+    private class CourseAnalyticsActionListener implements ActionListener {
+        // Latest-wins analyses for this tab
+        private final SearchCoordinator searches = new SearchCoordinator();
+
+        @Override
+        public void actionPerformed(final ActionEvent e) {
+            final CourseAnalyticsPanel sourcePanel = (CourseAnalyticsPanel) ((JButton) e.getSource()).getParent();
+            final CourseAnalyticsStore.Dimension[] dimensions = sourcePanel.getSelectedDimensions();
+            final String title = dimensions.length == 0 ? "All courses" : "Courses by " + Arrays.toString(dimensions);
+
+            updateResultPane("<html><center>Analyzing course statistics...</center></html>");
+
+            // Group-bys run over the in-memory columns off the EDT
+            searches.submit(context -> SearchResults.ofCourseGroups(dimensions, courseAnalyticsService.groupBy(dimensions)),
+                    groups -> displayResults(groups, "No course statistics available.", title),
+                    ex -> {
                         updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>");
                         ex.printStackTrace();
-                    }
-                }
-            }.execute();
+                    });
+        }
+    }
+
+    /**
+     * Handles the "search everything" box above the tabs.
+     * It searches scholarships, courses and universities in parallel, each within its
+     * latency budget, and shows the merged results as each source answers.
+     */
+    private class UnifiedSearchActionListener implements ActionListener {
+        // Latest-wins searches; a superseded search cancels all of its sources
+        private final SearchCoordinator searches = new SearchCoordinator();
+        private final UnifiedSearch unifiedSearch = new UnifiedSearch(List.of(
+                new UnifiedSearch.Source("Scholarships", LOCAL_SOURCE_BUDGET_MILLIS,
+                        query -> scholarshipService.findHits(query, UNIFIED_HITS_PER_SOURCE)),
+                new UnifiedSearch.Source("Courses", LOCAL_SOURCE_BUDGET_MILLIS,
+                        query -> udemyCourseService.findHits(query, UNIFIED_HITS_PER_SOURCE)),
+                new UnifiedSearch.Source("Universities", REMOTE_SOURCE_BUDGET_MILLIS,
+                        query -> universityService.findHits(query, UNIFIED_HITS_PER_SOURCE))), UNIFIED_HITS_PER_SOURCE);
+
+        @Override
+        public void actionPerformed(final ActionEvent e) {
+            final UnifiedSearchPanel sourcePanel = (UnifiedSearchPanel) ((JComponent) e.getSource()).getParent();
+            final String query = sourcePanel.getQueryInput();
+            if (query.isEmpty()) {
+                updateResultPane("<html><font color='red'>Please enter something to search for.</font></html>");
+                return;
+            }
+
+            updateResultPane("<html><center>Searching everything for " + query + "...</center></html>");
+
+            // Each source's hits are merged in and shown as soon as it answers
+            searches.submit(context -> unifiedSearch.search(query, progress -> context.updateUi(() -> showUnifiedProgress(query, progress))),
+                    progress -> showUnifiedProgress(query, progress),
+                    ex -> updateResultPane("<html><font color='red'>An error occurred: " + ex.getMessage() + "</font></html>"));
+        }
+
+        /**
+         * Shows the merged hits so far and which sources are still pending, timed out or failed.
+         * Must be called on the EDT.
+         */
+        private void showUnifiedProgress(final String query, final UnifiedSearch.Progress progress) {
+            resultTableModel.setResults(SearchResults.ofHits(progress.getHits()));
+            final StringBuilder html = new StringBuilder("<html><b>Everything matching " + query + "</b>: "
+                    + progress.getHits().size() + " results.");
+            if (!progress.getPending().isEmpty()) {
+                html.append(" Still searching ").append(String.join(", ", progress.getPending())).append("...");
+            }
+            if (!progress.getTimedOut().isEmpty()) {
+                html.append(" <font color='#b36b00'>").append(String.join(", ", progress.getTimedOut()))
+                        .append(" took too long and was skipped.</font>");
+            }
+            if (!progress.getFailed().isEmpty()) {
+                html.append(" <font color='red'>").append(String.join(", ", progress.getFailed())).append(" failed.</font>");
+            }
+            resultPane.setText(html.append("</html>").toString());
         }
     }
 
@@ -253,21 +432,30 @@ public class MainClient extends JFrame {
     }
 
     /**
-     * Formats and displays a list of Scholarship objects in the resultPane.
+     * Displays a list of Scholarship objects in the results table.
      * @param scholarships The list of scholarships to be displayed.
      * @param noResultsMessage The message to show if the list is empty.
      */
     private void displayScholarships(final List<Scholarship> scholarships, final String noResultsMessage) {
-        if (!scholarships.isEmpty()) {
-            final StringBuilder results = new StringBuilder("<html>");
-            for (final Scholarship scholarship : scholarships) {
-                results.append(scholarship.toHTML()).append("<br>");
+        displayResults(SearchResults.ofScholarships(scholarships), noResultsMessage, "Scholarships");
+    }
+
+    /**
+     * Shows a result set in the results table, or a message if it is empty.
+     * The table renders only the visible rows, so this costs the same for any number of results.
+     * @param results The results to display.
+     * @param noResultsMessage The message to show if there are no results.
+     * @param title A short description of the results for the status message.
+     */
+    private void displayResults(final SearchResults results, final String noResultsMessage, final String title) {
+        SwingUtilities.invokeLater(() -> {
+            resultTableModel.setResults(results);
+            if (results.size() == 0) {
+                resultPane.setText(noResultsMessage);
+            } else {
+                resultPane.setText("<html><b>" + title + "</b>: " + results.size() + " results. Select a row to see its details.</html>");
             }
-            results.append("</html>");
-            updateResultPane(results.toString());
-        } else {
-            updateResultPane(noResultsMessage);
-        }
+        });
     }
 
     /**
@@ -280,9 +468,19 @@ public class MainClient extends JFrame {
         final int userSelection = fileChooser.showSaveDialog(this); // Show save dialog
         if (userSelection == JFileChooser.APPROVE_OPTION) { // If user confirms save
             final File fileToSave = fileChooser.getSelectedFile();
+            final SearchResults results = resultTableModel.getResults();
             try (final BufferedWriter writer = new BufferedWriter(new FileWriter(fileToSave))) {
-                final String content = resultPane.getText(); // Get content from the result display area
-                writer.write(content); // Write content to file
+                if (results != null && results.size() > 0) {
+                    // Save every result of the table as CSV, not only the visible rows
+                    final CSVWriter csvWriter = new CSVWriter(writer);
+                    csvWriter.writeNext(results.columns());
+                    for (int i = 0; i < results.size(); i++) {
+                        csvWriter.writeNext(results.row(i));
+                    }
+                    csvWriter.flush();
+                } else {
+                    writer.write(resultPane.getText()); // Nothing in the table: save the displayed message
+                }
                 updateResultPane("<html><font color='green'>Results saved successfully to: " + fileToSave.getAbsolutePath() + "</font></html>");
             } catch (final IOException e) {
                 e.printStackTrace();
@@ -309,6 +507,39 @@ public class MainClient extends JFrame {
     // values to the main application logic.
     // ====================================================================
 
+    /**
+     * JPanel holding the "search everything" box shown above the tabs.
+     * Pressing Enter in the field or clicking the button starts the search.
+     */
+    private static class UnifiedSearchPanel extends JPanel {
+        private final JTextField queryField;
+
+        /**
+         * Constructor for UnifiedSearchPanel.
+         * Sets up UI components and attaches the provided action listener.
+         * @param actionListener The ActionListener (from MainClient) to handle searches.
+         */
+        public UnifiedSearchPanel(final ActionListener actionListener) {
+            super(new FlowLayout(FlowLayout.CENTER, 10, 5));
+            add(new JLabel("Search everything:"));
+            queryField = new JTextField(30);
+            queryField.setToolTipText("Scholarships, Udemy courses and universities (by country)");
+            queryField.addActionListener(actionListener); // Enter searches
+            add(queryField);
+            final JButton searchButton = new JButton("Search All");
+            searchButton.addActionListener(actionListener);
+            add(searchButton);
+        }
+
+        /**
+         * Retrieves the trimmed text from the search field.
+         * @return The search text.
+         */
+        public String getQueryInput() {
+            return queryField.getText().trim();
+        }
+    }
+
     /**
      * JPanel for the Scholarship search functionality.
      * Contains input fields for degree and location, and buttons for search, sort, and save.
@@ -412,6 +643,31 @@ public class MainClient extends JFrame {
         public String getLocationInput() {
             return locationField.getText().trim();
         }
+
+        /**
+         * Registers a callback that runs whenever the degree or location text changes.
+         * @param onChange The callback, run on the EDT.
+         */
+        public void addInputChangeListener(final Runnable onChange) {
+            final DocumentListener listener = new DocumentListener() {
+                @Override
+                public void insertUpdate(final DocumentEvent e) {
+                    onChange.run();
+                }
+
+                @Override
+                public void removeUpdate(final DocumentEvent e) {
+                    onChange.run();
+                }
+
+                @Override
+                public void changedUpdate(final DocumentEvent e) {
+                    onChange.run(); // Attribute changes only; plain text fields do not fire it
+                }
+            };
+            degreeField.getDocument().addDocumentListener(listener);
+            locationField.getDocument().addDocumentListener(listener);
+        }
     }
 
     /**
@@ -487,10 +743,20 @@ public class MainClient extends JFrame {
 
     /**
      * JPanel for the Udemy Courses search functionality.
-     * Contains a dropdown for selecting subjects and a search button.
+     * Contains dropdowns for subject, level, price and ranking, a duration limit, and a search button.
      */
     private static class UdemyCoursesPanel extends JPanel {
+        // Dropdown entries meaning "no restriction"
+        private static final String ANY_LEVEL = "Any Level";
+        private static final String ANY_PRICE = "Any Price";
+        private static final String FREE_ONLY = "Free Only";
+        private static final String PAID_ONLY = "Paid Only";
+
         private final JComboBox<String> subjectComboBox;
+        private final JComboBox<String> levelComboBox;
+        private final JComboBox<String> priceComboBox;
+        private final JComboBox<UdemyCourseQuery.SortOrder> sortComboBox;
+        private final JTextField maxHoursField;
         private final Map<Integer, String> subjects; // Map to hold subject IDs and names
 
         /**
@@ -520,9 +786,41 @@ public class MainClient extends JFrame {
             subjectComboBox = new JComboBox<>(subjects.values().toArray(new String[0]));
             add(subjectComboBox, gbc);
 
-            // Search button for courses
+            // Level dropdown
             gbc.gridx = 0;
             gbc.gridy = 1;
+            add(new JLabel("Level:"), gbc);
+            gbc.gridx = 1;
+            levelComboBox = new JComboBox<>(new String[]{ANY_LEVEL, "Beginner Level", "Intermediate Level", "Expert Level", "All Levels"});
+            add(levelComboBox, gbc);
+
+            // Paid/free dropdown
+            gbc.gridx = 0;
+            gbc.gridy = 2;
+            add(new JLabel("Price:"), gbc);
+            gbc.gridx = 1;
+            priceComboBox = new JComboBox<>(new String[]{ANY_PRICE, FREE_ONLY, PAID_ONLY});
+            add(priceComboBox, gbc);
+
+            // Maximum duration input (empty means any length)
+            gbc.gridx = 0;
+            gbc.gridy = 3;
+            add(new JLabel("Max Hours:"), gbc);
+            gbc.gridx = 1;
+            maxHoursField = new JTextField(8);
+            add(maxHoursField, gbc);
+
+            // Ranking dropdown
+            gbc.gridx = 0;
+            gbc.gridy = 4;
+            add(new JLabel("Sort By:"), gbc);
+            gbc.gridx = 1;
+            sortComboBox = new JComboBox<>(UdemyCourseQuery.SortOrder.values());
+            add(sortComboBox, gbc);
+
+            // Search button for courses
+            gbc.gridx = 0;
+            gbc.gridy = 5;
             gbc.gridwidth = 2;
             final JButton searchButton = new JButton("Search Courses");
             searchButton.addActionListener(actionListener); // Attach the listener
@@ -538,6 +836,100 @@ public class MainClient extends JFrame {
         public String getSelectedSubject() {
             return (String) subjectComboBox.getSelectedItem();
         }
+
+        /**
+         * Retrieves the selected level.
+         * @return The level, or null if any level is accepted.
+         */
+        public String getSelectedLevel() {
+            final String level = (String) levelComboBox.getSelectedItem();
+            return ANY_LEVEL.equals(level) ? null : level;
+        }
+
+        /**
+         * Retrieves the paid/free restriction.
+         * @return true for paid only, false for free only, or null for any price.
+         */
+        public Boolean getPaidFilter() {
+            final Object price = priceComboBox.getSelectedItem();
+            if (FREE_ONLY.equals(price)) {
+                return Boolean.FALSE;
+            }
+            return PAID_ONLY.equals(price) ? Boolean.TRUE : null;
+        }
+
+        /**
+         * Retrieves the trimmed text from the maximum hours field.
+         * @return The duration limit as entered, empty if no limit.
+         */
+        public String getMaxHoursInput() {
+            return maxHoursField.getText().trim();
+        }
+
+        /**
+         * Retrieves the selected ranking.
+         * @return The sort order.
+         */
+        public UdemyCourseQuery.SortOrder getSelectedSortOrder() {
+            return (UdemyCourseQuery.SortOrder) sortComboBox.getSelectedItem();
+        }
+    }
+
+    /**
+     * JPanel for the course analytics over the HarvardX/MITx course statistics.
+     * Contains one checkbox per grouping dimension and an analyze button.
+     */
+    private static class CourseAnalyticsPanel extends JPanel {
+        private final Map<CourseAnalyticsStore.Dimension, JCheckBox> dimensionCheckBoxes = new EnumMap<>(CourseAnalyticsStore.Dimension.class);
+
+        /**
+         * Constructor for CourseAnalyticsPanel.
+         * Sets up UI components and attaches the provided action listener.
+         * @param actionListener The ActionListener (from MainClient) to handle button clicks.
+         */
+        public CourseAnalyticsPanel(final ActionListener actionListener) {
+            super(new GridBagLayout());
+            final GridBagConstraints gbc = new GridBagConstraints();
+            gbc.insets = new Insets(10, 10, 10, 10);
+            gbc.anchor = GridBagConstraints.WEST;
+
+            gbc.gridx = 0;
+            gbc.gridy = 0;
+            add(new JLabel("Group By:"), gbc);
+
+            // One checkbox per dimension; groups are nested in this order
+            gbc.gridx = 1;
+            for (final CourseAnalyticsStore.Dimension dimension : CourseAnalyticsStore.Dimension.values()) {
+                final JCheckBox checkBox = new JCheckBox(dimension.toString(), dimension == CourseAnalyticsStore.Dimension.INSTITUTION);
+                dimensionCheckBoxes.put(dimension, checkBox);
+                add(checkBox, gbc);
+                gbc.gridy++;
+            }
+
+            // Analyze button
+            gbc.gridx = 0;
+            gbc.gridwidth = 2;
+            gbc.anchor = GridBagConstraints.CENTER;
+            final JButton analyzeButton = new JButton("Analyze Courses");
+            analyzeButton.addActionListener(actionListener); // Attach the listener
+            add(analyzeButton, gbc);
+
+            setBorder(BorderFactory.createTitledBorder("HarvardX/MITx Course Analytics"));
+        }
+
+        /**
+         * Retrieves the checked grouping dimensions.
+         * @return The dimensions in display order; empty for one overall total.
+         */
+        public CourseAnalyticsStore.Dimension[] getSelectedDimensions() {
+            final List<CourseAnalyticsStore.Dimension> selected = new ArrayList<>();
+            for (final Map.Entry<CourseAnalyticsStore.Dimension, JCheckBox> entry : dimensionCheckBoxes.entrySet()) {
+                if (entry.getValue().isSelected()) {
+                    selected.add(entry.getKey());
+                }
+            }
+            return selected.toArray(new CourseAnalyticsStore.Dimension[0]);
+        }
     }
 
     // ====================================================================
@@ -557,7 +949,8 @@ public class MainClient extends JFrame {
     static class Scholarship implements Comparable<Scholarship> {
         private final String name;
         private final String degree;
-        private final String amount; // Stored as String from CSV, parsed to double when needed
+        private final String amount; // Stored as String from CSV for display
+        private final double amountValue; // Parsed once at construction, used for sorting
         private final String location;
 
         /**
@@ -571,6 +964,7 @@ public class MainClient extends JFrame {
             this.name = name;
             this.degree = degree;
             this.amount = amount;
+            this.amountValue = ScholarshipAmount.parse(amount);
             this.location = location;
         }
 
@@ -579,6 +973,10 @@ public class MainClient extends JFrame {
             return name;
         }
 
+        public String getAmount() {
+            return amount;
+        }
+
         public String getDegree() {
             return degree;
         }
@@ -588,18 +986,13 @@ public class MainClient extends JFrame {
         }
 
         /**
-         * Converts the scholarship amount string to a double for numerical operations.
-         * Handles potential parsing errors by returning 0.0 and logging a warning.
+         * Returns the scholarship amount as a number, parsed once when the scholarship was created.
+         * Amounts are approximate US dollars; full funding is Double.POSITIVE_INFINITY and
+         * unrecognised amounts are 0.0.
          * @return The scholarship amount as a double.
          */
         public double getAmountAsDouble() {
-            try {
-                // Remove non-numeric characters (except dot) before parsing
-                return Double.parseDouble(amount.replaceAll("[^0-9.]", ""));
-            } catch (final NumberFormatException e) {
-                System.err.println("Warning: Could not parse amount '" + amount + "'. Defaulting to 0.0. Error: " + e.getMessage());
-                return 0.0;
-            }
+            return amountValue;
         }
 
         /**
@@ -628,58 +1021,203 @@ public class MainClient extends JFrame {
          */
         @Override
         public int compareTo(final Scholarship other) {
-            return Double.compare(other.getAmountAsDouble(), this.getAmountAsDouble());
+            return Double.compare(other.amountValue, this.amountValue);
         }
     }
 
     /**
      * Service class dedicated to handling scholarship data operations.
-     * This includes reading scholarship data from a CSV file, filtering, and sorting.
+     * This includes loading the scholarship catalog, filtering, and sorting.
+     * The catalog is parsed once and shared by all searches; it is reloaded only
+     * when the backing CSV file's modification time changes.
      */
-    private static class ScholarshipService {
-        // Path to the scholarships CSV file within the application's resources
+    static class ScholarshipService {
+        // Scholarships CSV in the working directory, preferred so edits are picked up without a rebuild
+        private static final String SCHOLARSHIPS_CSV_FILE = "Universities_Schoolarships_All_Around_the_World.csv";
+        // Fallback path to the scholarships CSV file within the application's resources
         private static final String SCHOLARSHIPS_CSV_PATH = "/scholarships.csv";
+        // Minimum time between two modification-time checks of the CSV file
+        private static final long STALE_CHECK_INTERVAL_MILLIS = 2000;
+        // Instrumentation, published by Metrics
+        private static final Metrics.Timer LOAD_TIMER = Metrics.timer("scholarships.load");
+        private static final Metrics.Timer SEARCH_TIMER = Metrics.timer("scholarships.search");
+        private static final Metrics.Timer FILTER_TIMER = Metrics.timer("scholarships.filter");
+        private static final Metrics.Timer SORT_TIMER = Metrics.timer("scholarships.sort");
+        private static final Metrics.Counter RESULTS = Metrics.counter("scholarships.results");
+        private static final Metrics.Counter ERRORS = Metrics.counter("scholarships.errors");
+        private static final Metrics.CacheStats CATALOG_CACHE = Metrics.cache("scholarships.catalog");
+
+        private final Path csvFile;
+        private volatile ScholarshipCatalog catalog; // Current snapshot, replaced atomically on reload
+        private volatile long lastStaleCheckMillis;
+
+        /**
+         * Constructor for ScholarshipService using the default scholarships CSV file.
+         */
+        public ScholarshipService() {
+            this(Paths.get(SCHOLARSHIPS_CSV_FILE));
+        }
+
+        /**
+         * Constructor for ScholarshipService.
+         * @param csvFile The scholarships CSV file backing the catalog.
+         */
+        public ScholarshipService(final Path csvFile) {
+            this.csvFile = csvFile;
+        }
 
         /**
-         * Reads scholarship data from the specified CSV file.
-         * It expects the CSV to be located in the application's classpath resources.
+         * Starts loading the catalog on a background thread so the first search does not pay for it.
+         */
+        public void preloadInBackground() {
+            CompletableFuture.runAsync(this::getCatalog).exceptionally(e -> {
+                System.err.println("Error preloading scholarships: " + e.getMessage());
+                return null;
+            });
+        }
+
+        /**
+         * Returns the shared scholarship catalog, loading it on first use and reloading it
+         * when the backing file has been modified since the last load.
+         * @return The current catalog snapshot.
+         * @throws RuntimeException if the catalog has never been loaded and loading fails.
+         */
+        public ScholarshipCatalog getCatalog() {
+            final ScholarshipCatalog current = catalog;
+            final long now = System.currentTimeMillis();
+            if (current != null && now - lastStaleCheckMillis < STALE_CHECK_INTERVAL_MILLIS) {
+                CATALOG_CACHE.hit();
+                return current; // Hot path: no I/O at all
+            }
+            synchronized (this) {
+                ScholarshipCatalog latest = catalog;
+                if (latest == null) {
+                    CATALOG_CACHE.miss();
+                    latest = loadCatalog();
+                    catalog = latest;
+                } else if (now - lastStaleCheckMillis >= STALE_CHECK_INTERVAL_MILLIS && latest.isStale(csvFile)) {
+                    CATALOG_CACHE.miss();
+                    try {
+                        latest = loadCatalog();
+                        catalog = latest;
+                    } catch (final RuntimeException e) {
+                        // Keep serving the previous snapshot rather than failing every search
+                        System.err.println("Error reloading scholarships CSV: " + e.getMessage());
+                    }
+                } else {
+                    CATALOG_CACHE.hit();
+                }
+                lastStaleCheckMillis = now;
+                return latest;
+            }
+        }
+
+        /**
+         * Returns all scholarships from the shared catalog without re-reading the CSV.
+         * @return An unmodifiable list of all scholarships.
+         */
+        public List<Scholarship> getScholarships() {
+            return getCatalog().getScholarships();
+        }
+
+        /**
+         * Reads scholarship data from the CSV file, bypassing the shared catalog.
+         * The working-directory file is used when present, otherwise the classpath resource.
          * @return A list of Scholarship objects parsed from the CSV.
          * @throws RuntimeException if the CSV file cannot be found or read, or if parsing fails.
          */
         public List<Scholarship> readScholarshipsFromCSV() {
-            final List<Scholarship> scholarships = new ArrayList<>();
-            // Use try-with-resources for automatic closing of streams
-            try (final InputStream is = getClass().getResourceAsStream(SCHOLARSHIPS_CSV_PATH);
-                 final InputStreamReader isr = new InputStreamReader(is);
-                 final CSVReader reader = new CSVReader(isr)) {
-
-                final List<String[]> records = reader.readAll();
-                if (!records.isEmpty()) {
-                    records.remove(0); // Skip the header row if present
-                }
+            return loadCatalog().getScholarships();
+        }
 
-                for (final String[] record : records) {
-                    // Check if the record has enough columns before accessing specific indices
-                    // (Assuming columns: [0], Name[1], Degree[2], Amount[3], [4], Location[5])
-                    if (record.length >= 6) {
-                        final String name = record[1];
-                        final String degree = record[2];
-                        final String amount = record[3];
-                        final String location = record[5];
-                        scholarships.add(new Scholarship(name, degree, amount, location));
-                    } else {
-                        System.err.println("Skipping malformed scholarship record (too few columns): " + String.join(",", record));
-                    }
+        /**
+         * Parses a fresh catalog snapshot from the CSV file or the bundled resource.
+         * @return The newly loaded catalog.
+         * @throws RuntimeException if the CSV file cannot be found or read, or if parsing fails.
+         */
+        private ScholarshipCatalog loadCatalog() {
+            final long start = Metrics.start();
+            try {
+                if (Files.isRegularFile(csvFile)) {
+                    return ScholarshipCatalog.load(csvFile);
                 }
+                return ScholarshipCatalog.loadResource(SCHOLARSHIPS_CSV_PATH);
+            } catch (final FileNotFoundException e) {
+                ERRORS.increment();
+                throw new RuntimeException("Scholarships CSV file not found: " + csvFile + " or " + SCHOLARSHIPS_CSV_PATH, e);
             } catch (final IOException | CsvException e) {
+                ERRORS.increment();
                 System.err.println("Error reading scholarships CSV: " + e.getMessage());
                 // Wrap checked exceptions in RuntimeException for SwingWorker to handle
-                throw new RuntimeException("Failed to load scholarships data from " + SCHOLARSHIPS_CSV_PATH, e);
-            } catch (final NullPointerException e) {
-                // Catches if getResourceAsStream returns null (file not found in classpath)
-                throw new RuntimeException("Scholarships CSV file not found in resources: " + SCHOLARSHIPS_CSV_PATH, e);
+                throw new RuntimeException("Failed to load scholarships data from " + csvFile, e);
+            } finally {
+                LOAD_TIMER.stop(start);
             }
-            return scholarships;
+        }
+
+        /**
+         * Searches the shared catalog for scholarships matching degree and location.
+         * Uses the catalog's inverted index instead of scanning every record.
+         * The search is case-insensitive, and "all" can be used as a wildcard for either field.
+         * @param degree The degree search term.
+         * @param location The location search term.
+         * @return A new list containing only the scholarships that match the criteria, in CSV order.
+         */
+        public List<Scholarship> searchScholarships(final String degree, final String location) {
+            final long start = Metrics.start();
+            final List<Scholarship> results = getCatalog().search(degree, location);
+            SEARCH_TIMER.stop(start);
+            RESULTS.add(results.size());
+            return results;
+        }
+
+        /**
+         * Searches the shared catalog like searchScholarships, returning the matches ordered by
+         * amount (highest first). Walks the catalog's precomputed amount order instead of sorting.
+         * @param degree The degree search term.
+         * @param location The location search term.
+         * @return A new list of matching scholarships, highest amount first.
+         */
+        public List<Scholarship> searchScholarshipsByAmount(final String degree, final String location) {
+            final long start = Metrics.start();
+            final List<Scholarship> results = getCatalog().searchByAmount(degree, location);
+            SEARCH_TIMER.stop(start);
+            RESULTS.add(results.size());
+            return results;
+        }
+
+        /**
+         * Finds the scholarships whose name, degree or location contains the query, for the
+         * "search everything" box. Name matches rank by how closely the name matches; degree and
+         * location matches come from the catalog's inverted index.
+         * @param query The search text.
+         * @param limit The maximum number of hits.
+         * @return The best hits, best first; ties keep CSV order.
+         */
+        public List<UnifiedSearch.Hit> findHits(final String query, final int limit) {
+            final ScholarshipCatalog catalog = getCatalog();
+            final BitSet fieldMatches = catalog.match(query, ScholarshipIndex.WILDCARD, null).getIds();
+            fieldMatches.or(catalog.match(ScholarshipIndex.WILDCARD, query, null).getIds());
+            final List<Scholarship> scholarships = catalog.getScholarships();
+            final TopK topK = new TopK(Math.max(limit, 1));
+            for (int id = 0; id < scholarships.size(); id++) {
+                final double score = scholarshipScore(query, scholarships.get(id), fieldMatches.get(id));
+                if (score > 0) {
+                    topK.offer(Math.round(score * 1000), id);
+                }
+            }
+            final List<UnifiedSearch.Hit> hits = new ArrayList<>();
+            for (final int id : topK.drain()) {
+                final Scholarship scholarship = scholarships.get(id);
+                hits.add(new UnifiedSearch.Hit("Scholarship", scholarship.getName(),
+                        scholarship.getDegree() + ", " + scholarship.getAmount() + ", " + scholarship.getLocation(),
+                        "<html>" + scholarship.toHTML() + "</html>", scholarshipScore(query, scholarship, fieldMatches.get(id))));
+            }
+            return hits;
+        }
+
+        private static double scholarshipScore(final String query, final Scholarship scholarship, final boolean fieldMatch) {
+            return Math.max(UnifiedSearch.textScore(query, scholarship.getName()), fieldMatch ? 0.5 : 0.0);
         }
 
         /**
@@ -691,17 +1229,23 @@ public class MainClient extends JFrame {
          * @return A new list containing only the scholarships that match the criteria.
          */
         public List<Scholarship> filterScholarships(final List<Scholarship> scholarships, final String degree, final String location) {
+            final long start = Metrics.start();
+            final boolean anyDegree = degree.equalsIgnoreCase("all");
+            final boolean anyLocation = location.equalsIgnoreCase("all");
+            // Lowercase the search terms once rather than for every record
+            final String degreeTerm = degree.toLowerCase(Locale.ROOT);
+            final String locationTerm = location.toLowerCase(Locale.ROOT);
             final List<Scholarship> filteredList = new ArrayList<>();
             for (final Scholarship scholarship : scholarships) {
-                // Check if degree matches (case-insensitive, "all" is a wildcard)
-                final boolean matchesDegree = degree.equalsIgnoreCase("all") || scholarship.getDegree().toLowerCase().contains(degree.toLowerCase());
-                // Check if location matches (case-insensitive, "all" is a wildcard)
-                final boolean matchesLocation = location.equalsIgnoreCase("all") || scholarship.getLocation().toLowerCase().contains(location.toLowerCase());
+                final boolean matchesDegree = anyDegree || scholarship.getDegree().toLowerCase(Locale.ROOT).contains(degreeTerm);
+                final boolean matchesLocation = anyLocation || scholarship.getLocation().toLowerCase(Locale.ROOT).contains(locationTerm);
 
                 if (matchesDegree && matchesLocation) {
                     filteredList.add(scholarship);
                 }
             }
+            FILTER_TIMER.stop(start);
+            RESULTS.add(filteredList.size());
             return filteredList;
         }
 
@@ -711,18 +1255,160 @@ public class MainClient extends JFrame {
          * @param scholarships The list of scholarships to sort.
          */
         public void sortScholarshipsByAmount(final List<Scholarship> scholarships) {
+            final long start = Metrics.start();
             // Uses the compareTo method implemented in the Scholarship class
             Collections.sort(scholarships);
+            SORT_TIMER.stop(start);
         }
     }
 
     /**
      * Service class responsible for interacting with the Hipolabs Universities API.
      * It handles constructing API requests, making HTTP calls, and parsing JSON responses.
+     * Searches are answered from an offline UniversitySnapshot when one is available, which is
+     * refreshed from the API in the background. Otherwise requests go through a shared,
+     * connection-pooled OkHttp client with timeouts; responses are parsed as a stream, the
+     * extracted universities are cached per country, and concurrent searches for the same
+     * country share a single in-flight request.
+     * Parsing holds one JSON record at a time, but the extracted universities of a country are
+     * all kept, for the cache, the waiting searches and callers that take the whole list, so peak
+     * memory grows with the number of universities in the country (four fields each), not with
+     * the size of the raw payload.
      */
-    private static class UniversityService {
+    static class UniversityService {
         // Base URL for the Hipolabs Universities API search endpoint
-        private static final String API_BASE_URL = "http://universities.hipolabs.com/search?country=";
+        private static final String API_BASE_URL = "http://universities.hipolabs.com/search";
+        // Number of countries whose responses are kept, and for how long
+        private static final int CACHE_MAX_COUNTRIES = 64;
+        private static final long CACHE_TTL_MINUTES = 30;
+        // Offline copy of the full university list in the working directory
+        private static final String SNAPSHOT_FILE = "universities_snapshot.csv";
+        // How often the offline snapshot is refreshed from the API
+        private static final long SNAPSHOT_REFRESH_HOURS = 24;
+        // Instrumentation, published by Metrics
+        private static final Metrics.Timer FETCH_TIMER = Metrics.timer("universities.httpFetch");
+        private static final Metrics.Timer PARSE_TIMER = Metrics.timer("universities.jsonParse");
+        private static final Metrics.Timer RENDER_TIMER = Metrics.timer("universities.htmlRender");
+        private static final Metrics.Counter RESULTS = Metrics.counter("universities.results");
+        private static final Metrics.Counter ERRORS = Metrics.counter("universities.errors");
+        private static final Metrics.CacheStats SNAPSHOT_CACHE = Metrics.cache("universities.snapshot");
+        private static final Metrics.CacheStats RESPONSE_CACHE = Metrics.cache("universities.responseCache");
+
+        // One client for the whole application so connections and threads are reused
+        private static final OkHttpClient SHARED_CLIENT = new OkHttpClient.Builder()
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(15, TimeUnit.SECONDS)
+                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                .build();
+
+        private final HttpUrl searchUrl;
+        private final OkHttpClient httpClient;
+        private final Path snapshotFile;
+        private volatile UniversitySnapshot snapshot = UniversitySnapshot.empty();
+        private ScheduledExecutorService snapshotRefresher; // Created by startSnapshotRefresh
+        private final TtlLruCache<String, List<University>> responseCache =
+                new TtlLruCache<>(CACHE_MAX_COUNTRIES, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        // Requests currently on the wire, keyed like the cache, so duplicates can wait for them
+        private final ConcurrentHashMap<String, CompletableFuture<List<University>>> inFlight = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor for UniversityService using the public Hipolabs API.
+         */
+        public UniversityService() {
+            this(API_BASE_URL, SHARED_CLIENT, Paths.get(SNAPSHOT_FILE));
+        }
+
+        /**
+         * Constructor for UniversityService without an offline snapshot file.
+         * @param searchUrl The search endpoint, e.g. a local stub server in tests.
+         * @param httpClient The HTTP client used for requests.
+         */
+        public UniversityService(final String searchUrl, final OkHttpClient httpClient) {
+            this(searchUrl, httpClient, null);
+        }
+
+        /**
+         * Constructor for UniversityService.
+         * @param searchUrl The search endpoint, e.g. a local stub server in tests.
+         * @param httpClient The HTTP client used for requests.
+         * @param snapshotFile Where the offline snapshot is stored, or null to always use the API.
+         */
+        public UniversityService(final String searchUrl, final OkHttpClient httpClient, final Path snapshotFile) {
+            this.searchUrl = HttpUrl.get(searchUrl);
+            this.httpClient = httpClient;
+            this.snapshotFile = snapshotFile;
+        }
+
+        /**
+         * Loads the offline snapshot from disk on a background thread, then keeps it fresh by
+         * downloading the full university list periodically. The first download happens right
+         * away if there is no snapshot yet or it is older than the refresh interval.
+         */
+        public synchronized void startSnapshotRefresh() {
+            if (snapshotFile == null || snapshotRefresher != null) {
+                return;
+            }
+            snapshotRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "university-snapshot-refresh");
+                thread.setDaemon(true); // Never keep the application alive
+                return thread;
+            });
+            final long refreshMillis = TimeUnit.HOURS.toMillis(SNAPSHOT_REFRESH_HOURS);
+            snapshotRefresher.execute(() -> {
+                long firstRefreshDelay = 0;
+                try {
+                    if (Files.isRegularFile(snapshotFile)) {
+                        loadSnapshot();
+                        final long age = System.currentTimeMillis() - Files.getLastModifiedTime(snapshotFile).toMillis();
+                        firstRefreshDelay = Math.max(0, refreshMillis - age);
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    System.err.println("Error loading university snapshot: " + e.getMessage());
+                }
+                snapshotRefresher.scheduleAtFixedRate(() -> {
+                    try {
+                        refreshSnapshot();
+                    } catch (final IOException | RuntimeException e) {
+                        // Keep serving the previous snapshot (or the live API) until the next attempt
+                        System.err.println("Error refreshing university snapshot: " + e.getMessage());
+                    }
+                }, firstRefreshDelay, refreshMillis, TimeUnit.MILLISECONDS);
+            });
+        }
+
+        /**
+         * Loads the offline snapshot from its file, replacing the one in memory.
+         * @throws IOException if the snapshot file cannot be read or parsed.
+         */
+        public void loadSnapshot() throws IOException {
+            try {
+                snapshot = UniversitySnapshot.load(snapshotFile);
+            } catch (final CsvException e) {
+                throw new IOException("Malformed university snapshot " + snapshotFile, e);
+            }
+        }
+
+        /**
+         * Downloads the complete university list from the API, writes it to the snapshot file
+         * and swaps the new snapshot in. Searches keep using the old snapshot meanwhile.
+         * @return The number of universities in the new snapshot.
+         * @throws IOException if the download fails or the snapshot cannot be written.
+         */
+        public int refreshSnapshot() throws IOException {
+            final Request request = new Request.Builder()
+                    .url(searchUrl) // Without a country the API returns every university
+                    .header("Accept", "application/json")
+                    .get()
+                    .build();
+            try (final Response response = httpClient.newCall(request).execute()) {
+                if (response.code() != HttpURLConnection.HTTP_OK) {
+                    throw new HttpStatusException(response.code());
+                }
+                UniversitySnapshot.writeFromJson(response.body().charStream(), snapshotFile);
+            }
+            loadSnapshot();
+            return snapshot.size();
+        }
 
         /**
          * Searches for universities in a specified country using the Hipolabs API.
@@ -731,107 +1417,447 @@ public class MainClient extends JFrame {
          */
         public String searchUniversities(final String country) {
             try {
-                // Encode the country name to handle spaces and special characters in the URL
-                final String encodedCountry = URLEncoder.encode(country, "UTF-8");
-                final URL url = URI.create(API_BASE_URL + encodedCountry).toURL();
-                final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET"); // Set HTTP GET request method
-                conn.setRequestProperty("Accept", "application/json"); // Request JSON response format
-
-                final int responseCode = conn.getResponseCode();
-                if (responseCode != HttpURLConnection.HTTP_OK) { // Check for successful HTTP response (200 OK)
-                    return "<html><font color='red'>Failed to fetch universities. HTTP error code: " + responseCode + "</font></html>";
+                return toHTML(country, fetchUniversities(country));
+            } catch (final Exception e) {
+                return errorHTML(e);
+            }
+        }
+
+        /**
+         * Formats a list of universities as the HTML shown in the result pane.
+         * @param country The country that was searched.
+         * @param universities The universities found.
+         * @return An HTML formatted string of university results.
+         */
+        public static String toHTML(final String country, final List<University> universities) {
+            if (universities.isEmpty()) {
+                return "<html>No universities found for the country: <b>" + country + "</b></html>";
+            }
+            final long start = Metrics.start();
+            final StringBuilder results = new StringBuilder("<html>Universities in <b>" + country + "</b>:<br><br>");
+            for (final University university : universities) {
+                results.append(university.toHTML());
+            }
+            results.append("</html>");
+            RENDER_TIMER.stop(start);
+            return results.toString();
+        }
+
+        /**
+         * Formats a failure of a university search as an HTML error message.
+         * @param e The exception thrown by the search.
+         * @return An HTML formatted error message.
+         */
+        public static String errorHTML(final Exception e) {
+            if (e instanceof HttpStatusException) {
+                return "<html><font color='red'>Failed to fetch universities. HTTP error code: " + ((HttpStatusException) e).getStatusCode() + "</font></html>";
+            }
+            if (e instanceof IOException) {
+                // Handle network-related errors (e.g., no internet, API server unreachable, timeouts)
+                return "<html><font color='red'>Network error or API server not reachable: " + e.getMessage() + "</font></html>";
+            }
+            // All other unexpected exceptions (e.g., JSON parsing errors)
+            return "<html><font color='red'>An unexpected error occurred during university search: " + e.getMessage() + "</font></html>";
+        }
+
+        /**
+         * Finds the universities of the country named by the query, for the "search everything"
+         * box. Served from the offline snapshot or cache when possible, otherwise from the API;
+         * interrupting the calling thread aborts the request.
+         * @param query The search text, taken as a country name.
+         * @param limit The maximum number of hits.
+         * @return The first universities of the country; names matching the query rank first.
+         * @throws IOException if the request fails, times out, or returns a non-200 status.
+         */
+        public List<UnifiedSearch.Hit> findHits(final String query, final int limit) throws IOException {
+            final List<UnifiedSearch.Hit> hits = new ArrayList<>();
+            for (final University university : fetchUniversities(query)) {
+                if (hits.size() == limit) {
+                    break;
                 }
+                hits.add(new UnifiedSearch.Hit("University", university.getName(),
+                        university.getWebsite() == null ? query : university.getWebsite(),
+                        "<html>" + university.toHTML() + "</html>",
+                        Math.max(0.5, UnifiedSearch.textScore(query, university.getName()))));
+            }
+            hits.sort((a, b) -> Double.compare(b.getScore(), a.getScore())); // Stable: API order within a score
+            return hits;
+        }
+
+        /**
+         * Returns the universities of a country, from the cache when possible.
+         * @param country The country name to search for.
+         * @return The universities returned by the API.
+         * @throws IOException if the request fails, times out, or returns a non-200 status.
+         */
+        public List<University> fetchUniversities(final String country) throws IOException {
+            return streamUniversities(country, university -> { });
+        }
 
-                final StringBuilder response = new StringBuilder();
-                // Read the API response from the input stream
-                try (final BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-                    String output;
-                    while ((output = br.readLine()) != null) {
-                        response.append(output);
+        /**
+         * Serves the universities of a country from the offline snapshot when one is loaded.
+         * Otherwise streams them to a consumer as they are parsed from the API response,
+         * so callers can render the first results before the download finishes. Cached results are
+         * replayed to the consumer. If another thread is already fetching the same country, this
+         * waits for that request instead of issuing a second one and then replays its result; if that
+         * thread is interrupted, its request is abandoned and the waiters fetch again themselves.
+         * @param country The country name to search for.
+         * @param consumer Receives each university in response order, on the calling thread.
+         * @return All universities of the country.
+         * @throws IOException if the request fails, times out, or returns a non-200 status.
+         */
+        public List<University> streamUniversities(final String country, final Consumer<University> consumer) throws IOException {
+            // Hot path: answer from the in-memory snapshot without touching the network
+            final List<University> offline = snapshot.find(country);
+            if (offline != null) {
+                SNAPSHOT_CACHE.hit();
+                RESULTS.add(offline.size());
+                offline.forEach(consumer);
+                return offline;
+            }
+            SNAPSHOT_CACHE.miss();
+
+            final String key = cacheKey(country);
+            List<University> universities = responseCache.get(key);
+            boolean delivered = false;
+            if (universities == null) {
+                RESPONSE_CACHE.miss();
+            } else {
+                RESPONSE_CACHE.hit();
+            }
+            while (universities == null) {
+                final CompletableFuture<List<University>> request = new CompletableFuture<>();
+                final CompletableFuture<List<University>> existing = inFlight.putIfAbsent(key, request);
+                if (existing != null) {
+                    universities = await(existing); // Coalesce with the request already on the wire; null if abandoned
+                    continue;
+                }
+                try {
+                    // A request may have completed between the cache check and registering ours
+                    universities = responseCache.get(key);
+                    if (universities == null) {
+                        universities = execute(country, consumer);
+                        responseCache.put(key, universities);
+                        delivered = true; // Already delivered to the consumer while parsing
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    // Unregister first, so waiters that retry do not find this request again
+                    inFlight.remove(key, request);
+                    if (Thread.currentThread().isInterrupted()
+                            && (e instanceof InterruptedIOException || e instanceof CancellationException)) {
+                        request.cancel(false); // Only this caller gave up: the waiters fetch again
+                    } else {
+                        request.completeExceptionally(e);
                     }
+                    throw e;
                 }
-                conn.disconnect(); // Close the HTTP connection
+                inFlight.remove(key, request);
+                request.complete(universities);
+            }
+            RESULTS.add(universities.size());
+            if (!delivered) {
+                universities.forEach(consumer);
+            }
+            return universities;
+        }
 
-                final JSONArray universities = new JSONArray(response.toString());
-                if (universities.length() == 0) {
-                    return "<html>No universities found for the country: <b>" + country + "</b></html>";
-                } else {
-                    final StringBuilder results = new StringBuilder("<html>Universities in <b>" + country + "</b>:<br><br>");
-                    for (int i = 0; i < universities.length(); i++) {
-                        final JSONObject uni = universities.getJSONObject(i);
-                        // Safely extract university name and web pages, providing default if not found
-                        final String name = uni.optString("name", "N/A");
-                        final JSONArray webPages = uni.optJSONArray("web_pages");
-
-                        results.append("<b>University:</b> ").append(name).append("<br>");
-                        if (webPages != null && webPages.length() > 0) {
-                            final String website = webPages.getString(0); // Get the first website URL
-                            results.append("<b>Website:</b> <a href=\"").append(website).append("\">").append(website).append("</a><br>");
-                        } else {
-                            results.append("<b>Website:</b> No website available<br>");
-                        }
-                        results.append("---------------------------------<br>");
+        /**
+         * Drops every cached response.
+         */
+        public void clearCache() {
+            responseCache.clear();
+        }
+
+        /**
+         * Performs the HTTP request for a country, parsing the response body as it arrives.
+         * The extracted universities are collected for the response cache and the caller; the
+         * raw payload and its JSON tree are never held.
+         * @param country The country name to search for.
+         * @param consumer Receives each university as soon as it is parsed.
+         * @return The parsed universities.
+         * @throws IOException if the request fails or returns a non-200 status.
+         */
+        private List<University> execute(final String country, final Consumer<University> consumer) throws IOException {
+            // HttpUrl encodes the country name to handle spaces and special characters
+            final HttpUrl url = searchUrl.newBuilder().addQueryParameter("country", country).build();
+            final Request request = new Request.Builder()
+                    .url(url)
+                    .header("Accept", "application/json") // Request JSON response format
+                    .get()
+                    .build();
+            final Call call = httpClient.newCall(request);
+            final long start = Metrics.start();
+            try (final Response response = awaitResponse(call)) {
+                FETCH_TIMER.stop(start); // Until the response headers arrived
+                if (response.code() != HttpURLConnection.HTTP_OK) { // Check for successful HTTP response (200 OK)
+                    throw new HttpStatusException(response.code());
+                }
+                final long parseStart = Metrics.start();
+                final List<University> universities = new ArrayList<>();
+                UniversityJsonStream.parse(response.body().charStream(), university -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        call.cancel(); // The search was superseded: stop downloading
+                        throw new CancellationException("University search cancelled");
+                    }
+                    universities.add(university);
+                    consumer.accept(university);
+                });
+                PARSE_TIMER.stop(parseStart); // Includes reading the body as it arrives
+                return Collections.unmodifiableList(universities);
+            } catch (final InterruptedIOException | CancellationException e) {
+                throw e; // Superseded by a newer search, not a failure
+            } catch (final IOException | RuntimeException e) {
+                ERRORS.increment();
+                throw e;
+            }
+        }
+
+        /**
+         * Waits for the response headers of a call. Unlike Call.execute, the wait can be
+         * interrupted, which cancels the call and releases its connection.
+         * @param call The call to run.
+         * @return The response, whose body has not been read yet.
+         * @throws IOException if the call fails or the waiting thread is interrupted.
+         */
+        private static Response awaitResponse(final Call call) throws IOException {
+            final CompletableFuture<Response> response = new CompletableFuture<>();
+            call.enqueue(new Callback() {
+                @Override
+                public void onResponse(final Call c, final Response r) {
+                    if (!response.complete(r)) {
+                        r.close(); // Nobody is waiting any more
                     }
-                    results.append("</html>");
-                    return results.toString();
                 }
-            } catch (final MalformedURLException e) {
-                // Handle errors related to invalid URL construction
-                return "<html><font color='red'>Invalid URL format for API call: " + e.getMessage() + "</font></html>";
-            } catch (final IOException e) {
-                // Handle network-related errors (e.g., no internet, API server unreachable)
-                return "<html><font color='red'>Network error or API server not reachable: " + e.getMessage() + "</font></html>";
-            } catch (final Exception e) { // Catch all other unexpected exceptions (e.g., JSON parsing errors)
-                return "<html><font color='red'>An unexpected error occurred during university search: " + e.getMessage() + "</font></html>";
+
+                @Override
+                public void onFailure(final Call c, final IOException e) {
+                    response.completeExceptionally(e);
+                }
+            });
+            try {
+                return response.get();
+            } catch (final InterruptedException e) {
+                call.cancel();
+                response.cancel(false);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for university search");
+            } catch (final ExecutionException e) {
+                throw (IOException) e.getCause(); // Callback only fails with IOException
+            }
+        }
+
+        private static String cacheKey(final String country) {
+            return country.trim().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Waits for another thread's request for the same country.
+         * @return Its universities, or null if that thread abandoned the request.
+         */
+        private static List<University> await(final CompletableFuture<List<University>> request) throws IOException {
+            try {
+                return request.get();
+            } catch (final CancellationException e) {
+                return null;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for university search");
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        /**
+         * Signals that the API answered with a status other than 200 OK.
+         */
+        static class HttpStatusException extends IOException {
+            private final int statusCode;
+
+            HttpStatusException(final int statusCode) {
+                super("HTTP error code: " + statusCode);
+                this.statusCode = statusCode;
+            }
+
+            public int getStatusCode() {
+                return statusCode;
             }
         }
     }
 
     /**
      * Service class dedicated to handling Udemy course data operations.
-     * It reads course data from a local CSV file and filters it by subject.
+     * It loads the course CSV once into a columnar UdemyCourseStore and answers
+     * every query from memory.
      */
-    private static class UdemyCourseService {
-        // Path to the Udemy courses CSV file within the application's resources
+    static class UdemyCourseService {
+        // Udemy courses CSV in the working directory, preferred when present
+        private static final String UDEMY_CSV_FILE = "udemy.csv";
+        // Fallback path to the Udemy courses CSV file within the application's resources
         private static final String UDEMY_CSV_PATH = "/udemy.csv";
+        // Instrumentation, published by Metrics
+        private static final Metrics.Timer LOAD_TIMER = Metrics.timer("udemy.load");
+        private static final Metrics.Timer QUERY_TIMER = Metrics.timer("udemy.query");
+        private static final Metrics.Timer FILTER_TIMER = Metrics.timer("udemy.filter");
+        private static final Metrics.Counter RESULTS = Metrics.counter("udemy.results");
+        private static final Metrics.Counter ERRORS = Metrics.counter("udemy.errors");
+
+        private final Path csvFile;
+        private volatile UdemyCourseStore store; // Loaded once on first use
+
+        /**
+         * Constructor for UdemyCourseService using the default Udemy CSV file.
+         */
+        public UdemyCourseService() {
+            this(Paths.get(UDEMY_CSV_FILE));
+        }
+
+        /**
+         * Constructor for UdemyCourseService.
+         * @param csvFile The Udemy courses CSV file backing the store.
+         */
+        public UdemyCourseService(final Path csvFile) {
+            this.csvFile = csvFile;
+        }
+
+        /**
+         * Starts loading the course store on a background thread so the first search does not pay for it.
+         */
+        public void preloadInBackground() {
+            CompletableFuture.runAsync(this::getStore).exceptionally(e -> {
+                System.err.println("Error preloading Udemy courses: " + e.getMessage());
+                return null;
+            });
+        }
+
+        /**
+         * Returns the shared course store, loading it on first use.
+         * @return The course store.
+         * @throws RuntimeException if the CSV file cannot be found or read, or if parsing fails.
+         */
+        public UdemyCourseStore getStore() {
+            UdemyCourseStore current = store;
+            if (current == null) {
+                synchronized (this) {
+                    current = store;
+                    if (current == null) {
+                        current = loadStore();
+                        store = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Parses the Udemy CSV from the working-directory file or the bundled resource.
+         * @return The newly loaded store.
+         * @throws RuntimeException if the CSV file cannot be found or read, or if parsing fails.
+         */
+        private UdemyCourseStore loadStore() {
+            final long start = Metrics.start();
+            try {
+                if (Files.isRegularFile(csvFile)) {
+                    return UdemyCourseStore.load(csvFile);
+                }
+                return UdemyCourseStore.loadResource(UDEMY_CSV_PATH);
+            } catch (final FileNotFoundException e) {
+                ERRORS.increment();
+                throw new RuntimeException("Udemy CSV file not found: " + csvFile + " or " + UDEMY_CSV_PATH, e);
+            } catch (final IOException | CsvException e) {
+                ERRORS.increment();
+                System.err.println("Error reading Udemy CSV: " + e.getMessage());
+                throw new RuntimeException("Failed to load Udemy courses from " + csvFile, e);
+            } finally {
+                LOAD_TIMER.stop(start);
+            }
+        }
+
+        /**
+         * Runs a multi-criteria query against the course store and returns the top-ranked courses.
+         * @param query The query to evaluate.
+         * @return Matching row numbers in the store, best first.
+         * @throws RuntimeException if the course store cannot be loaded.
+         */
+        public int[] queryCourses(final UdemyCourseQuery query) {
+            final UdemyCourseStore courses = getStore();
+            final long start = Metrics.start();
+            final int[] rows = courses.query(query);
+            QUERY_TIMER.stop(start);
+            RESULTS.add(rows.length);
+            return rows;
+        }
 
         /**
-         * Filters Udemy courses from the CSV file based on a specified subject.
+         * Finds the courses whose title or subject contains the query, for the "search everything"
+         * box. Titles rank by how closely they match, subjects count for less, and courses with
+         * more subscribers win ties.
+         * @param query The search text.
+         * @param limit The maximum number of hits.
+         * @return The best hits, best first.
+         */
+        public List<UnifiedSearch.Hit> findHits(final String query, final int limit) {
+            final UdemyCourseStore courses = getStore();
+            final TopK topK = new TopK(Math.max(limit, 1));
+            for (int row = 0; row < courses.size(); row++) {
+                final double score = courseScore(query, courses, row);
+                if (score > 0) {
+                    // Relevance in the high bits, subscribers break ties
+                    topK.offer((Math.round(score * 1000) << 32) | courses.subscribers(row), row);
+                }
+            }
+            final int[] rows = topK.drain();
+            final SearchResults details = SearchResults.ofCourses(courses, rows);
+            final List<UnifiedSearch.Hit> hits = new ArrayList<>(rows.length);
+            for (int i = 0; i < rows.length; i++) {
+                final String[] cells = details.row(i);
+                hits.add(new UnifiedSearch.Hit("Udemy Course", cells[0], courses.subject(rows[i]) + ", " + cells[1] + ", " + cells[2],
+                        details.detailHTML(i), courseScore(query, courses, rows[i])));
+            }
+            return hits;
+        }
+
+        private static double courseScore(final String query, final UdemyCourseStore courses, final int row) {
+            return Math.max(UnifiedSearch.textScore(query, courses.title(row)), 0.6 * UnifiedSearch.textScore(query, courses.subject(row)));
+        }
+
+        /**
+         * Filters Udemy courses based on a specified subject.
          * @param subject The subject to filter courses by.
          * @return An HTML formatted string of matching courses, or a message indicating no courses were found.
          */
         public String filterCoursesBySubject(final String subject) {
+            final UdemyCourseStore courses;
+            try {
+                courses = getStore();
+            } catch (final RuntimeException e) {
+                return "<html><font color='red'>An error occurred while reading the Udemy courses file: " + e.getMessage() + "</font></html>";
+            }
+
+            final long start = Metrics.start();
             final StringBuilder results = new StringBuilder("<html>Courses available in <b>" + subject + "</b>:<br><br>");
-            boolean foundCourse = false;
-
-            // Use try-with-resources for automatic closing of streams
-            try (final InputStream is = getClass().getResourceAsStream(UDEMY_CSV_PATH);
-                 final InputStreamReader isr = new InputStreamReader(is);
-                 final BufferedReader br = new BufferedReader(isr)) {
-
-                String line;
-                while ((line = br.readLine()) != null) {
-                    // Split the CSV line by comma. Note: This is a simple split and might
-                    // not handle commas within quoted fields correctly.
-                    final String[] data = line.split(",");
-                    // Check if the line has enough columns and if the subject matches (case-insensitive)
-                    // (Assuming data[1] is Course Title and data[10] is Subject)
-                    if (data.length > 10 && data[10].trim().equalsIgnoreCase(subject.trim())) {
-                        results.append("- ").append(data[1]).append("<br>"); // Append course title
-                        foundCourse = true;
+            int found = 0;
+            // Compare one byte per course instead of a string per row
+            final int subjectCode = courses.subjectCode(subject);
+            if (subjectCode >= 0) {
+                for (int row = 0; row < courses.size(); row++) {
+                    if (courses.subjectCodeAt(row) == subjectCode) {
+                        results.append("- ").append(courses.title(row)).append("<br>"); // Append course title
+                        found++;
                     }
                 }
-            } catch (final IOException e) {
-                System.err.println("Error reading Udemy CSV: " + e.getMessage());
-                return "<html><font color='red'>An error occurred while reading the Udemy courses file: " + e.getMessage() + "</font></html>";
-            } catch (final NullPointerException e) {
-                // Catches if getResourceAsStream returns null (file not found in classpath)
-                return "<html><font color='red'>Udemy CSV file not found in resources: " + UDEMY_CSV_PATH + "</font></html>";
             }
+            FILTER_TIMER.stop(start); // Includes rendering the HTML
+            RESULTS.add(found);
 
             // If no courses were found for the subject, append a message
-            if (!foundCourse) {
+            if (found == 0) {
                 results.append("No courses found for the selected subject.<br>");
             }
             results.append("</html>");
@@ -839,5 +1865,92 @@ public class MainClient extends JFrame {
         }
     }
 
+    /**
+     * Service class dedicated to the HarvardX/MITx course statistics.
+     * It loads appendix.csv once into a columnar CourseAnalyticsStore and answers
+     * every aggregate from memory.
+     */
+    static class CourseAnalyticsService {
+        // Course statistics CSV in the working directory
+        private static final String APPENDIX_CSV_FILE = "appendix.csv";
+        // Instrumentation, published by Metrics
+        private static final Metrics.Timer LOAD_TIMER = Metrics.timer("courseAnalytics.load");
+        private static final Metrics.Timer GROUP_BY_TIMER = Metrics.timer("courseAnalytics.groupBy");
+        private static final Metrics.Counter ERRORS = Metrics.counter("courseAnalytics.errors");
+
+        private final Path csvFile;
+        private volatile CourseAnalyticsStore store; // Loaded once on first use
+
+        /**
+         * Constructor for CourseAnalyticsService using the default course statistics file.
+         */
+        public CourseAnalyticsService() {
+            this(Paths.get(APPENDIX_CSV_FILE));
+        }
+
+        /**
+         * Constructor for CourseAnalyticsService.
+         * @param csvFile The course statistics CSV file backing the store.
+         */
+        public CourseAnalyticsService(final Path csvFile) {
+            this.csvFile = csvFile;
+        }
+
+        /**
+         * Starts loading the store on a background thread so the first analysis does not pay for it.
+         */
+        public void preloadInBackground() {
+            CompletableFuture.runAsync(this::getStore).exceptionally(e -> {
+                System.err.println("Error preloading course statistics: " + e.getMessage());
+                return null;
+            });
+        }
+
+        /**
+         * Returns the shared course statistics store, loading it on first use.
+         * @return The store.
+         * @throws RuntimeException if the CSV file cannot be found or read, or if parsing fails.
+         */
+        public CourseAnalyticsStore getStore() {
+            CourseAnalyticsStore current = store;
+            if (current == null) {
+                synchronized (this) {
+                    current = store;
+                    if (current == null) {
+                        final long start = Metrics.start();
+                        try {
+                            current = CourseAnalyticsStore.load(csvFile);
+                        } catch (final NoSuchFileException e) {
+                            ERRORS.increment();
+                            throw new RuntimeException("Course statistics file not found: " + csvFile, e);
+                        } catch (final IOException | CsvException e) {
+                            ERRORS.increment();
+                            System.err.println("Error reading course statistics CSV: " + e.getMessage());
+                            throw new RuntimeException("Failed to load course statistics from " + csvFile, e);
+                        } finally {
+                            LOAD_TIMER.stop(start);
+                        }
+                        store = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Aggregates the course statistics by the given dimensions.
+         * @param dimensions The dimensions to group by, in label order; none gives a single total.
+         * @return One group per combination of labels present in the data.
+         * @throws RuntimeException if the store cannot be loaded.
+         */
+        public List<CourseAnalyticsStore.Group> groupBy(final CourseAnalyticsStore.Dimension... dimensions) {
+            final CourseAnalyticsStore courses = getStore();
+            final long start = Metrics.start();
+            final List<CourseAnalyticsStore.Group> groups = courses.groupBy(dimensions);
+            GROUP_BY_TIMER.stop(start);
+            return groups;
+        }
+    }
+
   
 }
\ No newline at end of file
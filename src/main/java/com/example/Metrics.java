@@ -0,0 +1,320 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Metrics is the application's instrumentation registry: latency timers backed by
+ * LatencyHistogram, event counters, and cache hit/miss statistics, each identified by a
+ * dotted name such as "scholarships.filter". Every metric is published as a read-only JMX
+ * MBean under "com.example:type=Metrics" (visible in JConsole or VisualVM), and a daemon
+ * thread can print a snapshot of all metrics periodically.
+ * Metrics are on unless the system property "education.metrics" is "false". The switch is a
+ * static final constant, so when metrics are off the JIT removes the recording calls entirely.
+ * Call sites keep their metrics in static final fields and time an operation with:
+ * <pre>
+ *     final long start = Metrics.start();
+ *     ...
+ *     FILTER_TIMER.stop(start);
+ * </pre>
+ */
+final class Metrics {
+
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("education.metrics"));
+    // Seconds between printed snapshots, from "education.metrics.logSeconds"; 0 turns them off
+    private static final long DEFAULT_LOG_SECONDS = 60;
+    private static final String JMX_DOMAIN = "com.example";
+
+    private static final Map<String, Object> METRICS = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService reporter; // Created by startReporting
+    private static long lastReportedEvents = -1;
+
+    private Metrics() {
+    }
+
+    /**
+     * Times one operation. Record a duration with stop, passing the value returned by Metrics.start.
+     */
+    static final class Timer {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        /**
+         * Records the time elapsed since an operation started.
+         * @param start The value returned by Metrics.start when the operation began.
+         */
+        void stop(final long start) {
+            if (ENABLED) {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+
+        LatencyHistogram getHistogram() { return histogram; }
+    }
+
+    /**
+     * Counts events, e.g. results returned or errors.
+     */
+    static final class Counter {
+        private final LongAdder count = new LongAdder();
+
+        void increment() {
+            if (ENABLED) {
+                count.increment();
+            }
+        }
+
+        void add(final long amount) {
+            if (ENABLED) {
+                count.add(amount);
+            }
+        }
+
+        long getCount() { return count.sum(); }
+    }
+
+    /**
+     * Counts the hits and misses of a cache.
+     */
+    static final class CacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        void hit() {
+            if (ENABLED) {
+                hits.increment();
+            }
+        }
+
+        void miss() {
+            if (ENABLED) {
+                misses.increment();
+            }
+        }
+
+        long getHits() { return hits.sum(); }
+        long getMisses() { return misses.sum(); }
+
+        /**
+         * @return The fraction of lookups that were hits, from 0 to 1, or 0 before the first lookup.
+         */
+        double getHitRatio() {
+            final long hitCount = hits.sum();
+            final long total = hitCount + misses.sum();
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+    }
+
+    /**
+     * @return The start time to pass to Timer.stop, or 0 when metrics are off.
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Returns the timer with the given name, creating and publishing it on first use.
+     * @param name The metric name, e.g. "scholarships.filter".
+     * @return The shared timer.
+     */
+    static Timer timer(final String name) {
+        return register(name, "Timers", Timer.class, new Timer());
+    }
+
+    /**
+     * Returns the counter with the given name, creating and publishing it on first use.
+     * @param name The metric name, e.g. "scholarships.results".
+     * @return The shared counter.
+     */
+    static Counter counter(final String name) {
+        return register(name, "Counters", Counter.class, new Counter());
+    }
+
+    /**
+     * Returns the cache statistics with the given name, creating and publishing them on first use.
+     * @param name The metric name, e.g. "universities.responseCache".
+     * @return The shared cache statistics.
+     */
+    static CacheStats cache(final String name) {
+        return register(name, "Caches", CacheStats.class, new CacheStats());
+    }
+
+    private static <T> T register(final String name, final String group, final Class<T> type, final T created) {
+        final Object existing = METRICS.putIfAbsent(name, created);
+        if (existing != null) {
+            if (!type.isInstance(existing)) {
+                throw new IllegalArgumentException("Metric " + name + " is already registered as another kind");
+            }
+            return type.cast(existing);
+        }
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricMBean(name, attributes(created)),
+                        new ObjectName(JMX_DOMAIN + ":type=Metrics,group=" + group + ",name=" + name));
+            } catch (final JMException e) {
+                System.err.println("Could not publish metric " + name + " over JMX: " + e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Starts printing a snapshot of all metrics to standard output at the interval set by the
+     * "education.metrics.logSeconds" system property (60 seconds by default). Nothing is printed
+     * while no new events were recorded. Does nothing when metrics are off or already reporting.
+     */
+    static synchronized void startReporting() {
+        final long seconds = Long.getLong("education.metrics.logSeconds", DEFAULT_LOG_SECONDS);
+        if (!ENABLED || seconds <= 0 || reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> {
+            final long events = totalEvents();
+            if (events != lastReportedEvents) {
+                lastReportedEvents = events;
+                System.out.print(report());
+            }
+        }, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Formats every metric, one per line and sorted by name, e.g.
+     * "scholarships.filter: count=12 mean=0.41ms p50=0.38ms p90=0.62ms p99=0.98ms max=1.20ms".
+     * @return The snapshot text, ending with a line break.
+     */
+    static String report() {
+        final StringBuilder report = new StringBuilder("Metrics snapshot:\n");
+        for (final Map.Entry<String, Object> metric : new TreeMap<>(METRICS).entrySet()) {
+            report.append("  ").append(metric.getKey()).append(':');
+            for (final Map.Entry<String, Supplier<Object>> attribute : attributes(metric.getValue()).entrySet()) {
+                final Object value = attribute.getValue().get();
+                report.append(' ').append(Character.toLowerCase(attribute.getKey().charAt(0)))
+                        .append(attribute.getKey().substring(1).replace("Millis", "")).append('=')
+                        .append(value instanceof Double ? String.format(Locale.ROOT, "%.2f", (Double) value) : value)
+                        .append(attribute.getKey().endsWith("Millis") ? "ms" : "");
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    private static long totalEvents() {
+        long events = 0;
+        for (final Object metric : METRICS.values()) {
+            if (metric instanceof Timer) {
+                events += ((Timer) metric).getHistogram().getCount();
+            } else if (metric instanceof Counter) {
+                events += ((Counter) metric).getCount();
+            } else {
+                events += ((CacheStats) metric).getHits() + ((CacheStats) metric).getMisses();
+            }
+        }
+        return events;
+    }
+
+    /**
+     * The values published for a metric, by attribute name, in display order.
+     */
+    private static Map<String, Supplier<Object>> attributes(final Object metric) {
+        final Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+        if (metric instanceof Timer) {
+            final LatencyHistogram histogram = ((Timer) metric).getHistogram();
+            attributes.put("Count", histogram::getCount);
+            attributes.put("MeanMillis", () -> histogram.getMean() / 1e6);
+            attributes.put("P50Millis", () -> histogram.getPercentile(50) / 1e6);
+            attributes.put("P90Millis", () -> histogram.getPercentile(90) / 1e6);
+            attributes.put("P99Millis", () -> histogram.getPercentile(99) / 1e6);
+            attributes.put("MaxMillis", () -> histogram.getMax() / 1e6);
+        } else if (metric instanceof Counter) {
+            attributes.put("Count", ((Counter) metric)::getCount);
+        } else {
+            final CacheStats cache = (CacheStats) metric;
+            attributes.put("Hits", cache::getHits);
+            attributes.put("Misses", cache::getMisses);
+            attributes.put("HitRatio", cache::getHitRatio);
+        }
+        return attributes;
+    }
+
+    /**
+     * Read-only MBean exposing one metric's attributes. Values are read when JMX asks for them.
+     */
+    private static final class MetricMBean implements DynamicMBean {
+        private final Map<String, Supplier<Object>> attributes;
+        private final MBeanInfo info;
+
+        MetricMBean(final String name, final Map<String, Supplier<Object>> attributes) {
+            this.attributes = attributes;
+            final MBeanAttributeInfo[] attributeInfos = new MBeanAttributeInfo[attributes.size()];
+            int i = 0;
+            for (final Map.Entry<String, Supplier<Object>> attribute : attributes.entrySet()) {
+                final String type = attribute.getValue().get().getClass().getName();
+                attributeInfos[i++] = new MBeanAttributeInfo(attribute.getKey(), type, attribute.getKey(), true, false, false);
+            }
+            this.info = new MBeanInfo(MetricMBean.class.getName(), "Metric " + name, attributeInfos, null, null, null);
+        }
+
+        @Override
+        public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+            final Supplier<Object> value = attributes.get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value.get();
+        }
+
+        @Override
+        public AttributeList getAttributes(final String[] names) {
+            final AttributeList list = new AttributeList();
+            for (final String name : names) {
+                final Supplier<Object> value = attributes.get(name);
+                if (value != null) {
+                    list.add(new Attribute(name, value.get()));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metric attributes are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(final AttributeList list) {
+            return new AttributeList(); // Read-only: nothing is set
+        }
+
+        @Override
+        public Object invoke(final String action, final Object[] params, final String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(action), "Metrics have no operations"); // None are declared
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return info;
+        }
+    }
+}
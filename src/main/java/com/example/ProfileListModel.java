@@ -0,0 +1,120 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.AbstractListModel;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * ProfileListModel shows a view of a ProfileStore in a JList without copying it into a
+ * DefaultListModel. A view is a filter over the store, e.g. all profiles or those in one country.
+ * It is computed off the EDT, and the result replaces the rows shown with ranged events:
+ * the old and new rows are compared by their common prefix and suffix, so adding, editing or
+ * deleting one profile fires one event for one row, and switching filters fires at most two
+ * events (rows changed, plus rows added or removed), whatever the number of profiles.
+ * Must be used on the EDT.
+ */
+final class ProfileListModel extends AbstractListModel<StudentProfile> {
+
+    // The view showing every profile in display order
+    static final Function<ProfileStore, List<StudentProfile>> ALL_PROFILES = ProfileStore::getProfiles;
+
+    private final SearchCoordinator refreshes = new SearchCoordinator();
+    private ProfileStore store; // Null until the store is open
+    private Function<ProfileStore, List<StudentProfile>> view = ALL_PROFILES;
+    private List<StudentProfile> rows = Collections.emptyList(); // Immutable snapshot of the rows shown
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public StudentProfile getElementAt(final int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Sets the store the views are computed from and shows the current view of it.
+     * @param store The opened profile store.
+     */
+    void setStore(final ProfileStore store) {
+        this.store = store;
+        refresh(null, null);
+    }
+
+    /**
+     * Switches to another view of the store.
+     * @param view Computes the rows from the store; runs on a background thread.
+     * @param onShown Receives the number of rows once they are shown, or null.
+     * @param onError Receives the failure if the view could not be computed, or null.
+     */
+    void setView(final Function<ProfileStore, List<StudentProfile>> view, final Consumer<Integer> onShown,
+                 final Consumer<Exception> onError) {
+        this.view = view;
+        refresh(onShown, onError);
+    }
+
+    /**
+     * Recomputes the current view, e.g. after the store changed. Superseded refreshes are dropped.
+     * @param onShown Receives the number of rows once they are shown, or null.
+     * @param onError Receives the failure if the view could not be computed, or null.
+     */
+    void refresh(final Consumer<Integer> onShown, final Consumer<Exception> onError) {
+        final ProfileStore source = store;
+        if (source == null) {
+            return; // Shown once setStore is called
+        }
+        final Function<ProfileStore, List<StudentProfile>> currentView = view;
+        refreshes.submit(context -> currentView.apply(source), newRows -> {
+            setRows(newRows);
+            if (onShown != null) {
+                onShown.accept(newRows.size());
+            }
+        }, e -> {
+            System.err.println("Error refreshing profiles: " + e.getMessage());
+            if (onError != null) {
+                onError.accept(e);
+            }
+        });
+    }
+
+    /**
+     * Replaces the rows shown, firing events only for the range that differs.
+     * @param newRows The rows to show; the list must not be modified afterwards.
+     */
+    void setRows(final List<StudentProfile> newRows) {
+        final List<StudentProfile> oldRows = rows;
+        final int oldSize = oldRows.size();
+        final int newSize = newRows.size();
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && oldRows.get(prefix) == newRows.get(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+                && oldRows.get(oldSize - 1 - suffix) == newRows.get(newSize - 1 - suffix)) {
+            suffix++;
+        }
+        final int removed = oldSize - prefix - suffix; // Old rows replaced
+        final int added = newSize - prefix - suffix; // New rows in their place
+        rows = newRows;
+        if (removed == 0 && added == 0) {
+            return; // Same profiles in the same order
+        } else if (removed == 0) {
+            fireIntervalAdded(this, prefix, prefix + added - 1);
+        } else if (added == 0) {
+            fireIntervalRemoved(this, prefix, prefix + removed - 1);
+        } else {
+            // Rows replaced one for one, then the surplus; JList only fixes its selection on added/removed events
+            fireContentsChanged(this, prefix, prefix + Math.min(removed, added) - 1);
+            if (removed > added) {
+                fireIntervalRemoved(this, prefix + added, prefix + removed - 1);
+            } else if (added > removed) {
+                fireIntervalAdded(this, prefix + removed, prefix + added - 1);
+            }
+        }
+    }
+}
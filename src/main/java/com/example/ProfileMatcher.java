@@ -0,0 +1,165 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * ProfileMatcher ranks student profiles by how similar they are to a given student.
+ * Each profile is reduced once to a small feature vector: interned ids for its origin and
+ * current country, and a 64-bit signature of its saved scholarships and courses (each item
+ * sets one hashed bit, so the popcount of two signatures ANDed estimates their overlap).
+ * A query then scores every profile with a few integer comparisons and keeps the best ones in
+ * a bounded heap, so ranking 100k profiles takes a few milliseconds.
+ * Instances are immutable snapshots; build a new one when the profiles change.
+ */
+final class ProfileMatcher {
+
+    // Score contributions of each kind of similarity
+    static final int SAME_ORIGIN_WEIGHT = 3;
+    static final int SAME_CURRENT_WEIGHT = 2;
+    static final int IN_DESIRED_COUNTRY_WEIGHT = 4;
+    static final int SHARED_ITEM_WEIGHT = 1;
+
+    private final List<StudentProfile> profiles;
+    private final Map<String, Integer> countryIds = new HashMap<>();
+    private final Map<String, Integer> rowsByEmail = new HashMap<>();
+    private final int[] origins;
+    private final int[] currents;
+    private final long[] itemSignatures;
+
+    /**
+     * Builds the feature vectors of the given profiles.
+     * @param profiles The profiles to rank, in display order.
+     * @param savedItems Returns the saved scholarships and courses of a profile; may return an empty collection.
+     */
+    ProfileMatcher(final List<StudentProfile> profiles, final Function<StudentProfile, Collection<String>> savedItems) {
+        this.profiles = new ArrayList<>(profiles);
+        final int size = this.profiles.size();
+        this.origins = new int[size];
+        this.currents = new int[size];
+        this.itemSignatures = new long[size];
+        for (int row = 0; row < size; row++) {
+            final StudentProfile profile = this.profiles.get(row);
+            origins[row] = internCountry(profile.getOriginCountry());
+            currents[row] = internCountry(profile.getCurrentCountry());
+            itemSignatures[row] = signature(savedItems.apply(profile));
+            rowsByEmail.put(ProfileStore.emailKey(profile.getEmail()), row);
+        }
+    }
+
+    /**
+     * One ranked profile.
+     */
+    static final class Match {
+        private final StudentProfile profile;
+        private final int score;
+
+        Match(final StudentProfile profile, final int score) {
+            this.profile = profile;
+            this.score = score;
+        }
+
+        StudentProfile getProfile() { return profile; }
+        int getScore() { return score; }
+
+        @Override
+        public String toString() {
+            return profile.getName() + " (" + score + ")";
+        }
+    }
+
+    /**
+     * Ranks the profiles by similarity to a student and returns one page of the ranking.
+     * The student's own profile and profiles with nothing in common are left out.
+     * Ties keep display order.
+     * @param student The student to match against.
+     * @param desiredCountry The country the student wants to go to, or null.
+     * @param studentItems The student's saved scholarships and courses.
+     * @param offset How many of the best matches to skip.
+     * @param limit The maximum number of matches to return.
+     * @return The matches of the requested page, best first.
+     */
+    List<Match> rank(final StudentProfile student, final String desiredCountry, final Collection<String> studentItems,
+                     final int offset, final int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Invalid page: offset " + offset + ", limit " + limit);
+        }
+        final int origin = countryId(student.getOriginCountry());
+        final int current = countryId(student.getCurrentCountry());
+        final int desired = desiredCountry == null ? -1 : countryId(desiredCountry);
+        final long items = signature(studentItems);
+        final Integer self = rowsByEmail.get(ProfileStore.emailKey(student.getEmail()));
+        final int selfRow = self == null ? -1 : self;
+
+        final int size = profiles.size();
+        final TopK topK = new TopK((int) Math.min((long) offset + limit, Math.max(size, 1)));
+        for (int row = 0; row < size; row++) {
+            final int score = score(row, origin, current, desired, items);
+            if (score > 0 && row != selfRow) {
+                topK.offer(score, row);
+            }
+        }
+        final int[] ranked = topK.drain();
+        if (offset >= ranked.length) {
+            return Collections.emptyList();
+        }
+        final List<Match> page = new ArrayList<>(ranked.length - offset);
+        for (int i = offset; i < ranked.length; i++) {
+            page.add(new Match(profiles.get(ranked[i]), score(ranked[i], origin, current, desired, items)));
+        }
+        return page;
+    }
+
+    /**
+     * @return The number of profiles in this snapshot.
+     */
+    int size() {
+        return profiles.size();
+    }
+
+    private int score(final int row, final int origin, final int current, final int desired, final long items) {
+        int score = 0;
+        if (origin >= 0 && origins[row] == origin) {
+            score += SAME_ORIGIN_WEIGHT;
+        }
+        if (current >= 0 && currents[row] == current) {
+            score += SAME_CURRENT_WEIGHT;
+        }
+        if (desired >= 0 && currents[row] == desired) {
+            score += IN_DESIRED_COUNTRY_WEIGHT; // They already live where the student wants to go
+        }
+        return score + SHARED_ITEM_WEIGHT * Long.bitCount(itemSignatures[row] & items);
+    }
+
+    private int internCountry(final String country) {
+        return countryIds.computeIfAbsent(normalize(country), k -> countryIds.size());
+    }
+
+    // -1 for a country no profile has; it never matches
+    private int countryId(final String country) {
+        final Integer id = countryIds.get(normalize(country));
+        return id == null ? -1 : id;
+    }
+
+    private static long signature(final Collection<String> items) {
+        long signature = 0L;
+        if (items != null) {
+            for (final String item : items) {
+                final int hash = normalize(item).hashCode() * 0x9E3779B9; // Spread similar strings over the bits
+                signature |= 1L << (hash >>> 26);
+            }
+        }
+        return signature;
+    }
+
+    private static String normalize(final String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
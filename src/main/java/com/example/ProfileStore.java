@@ -0,0 +1,631 @@
+package com.example;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.opencsv.exceptions.CsvException;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * ProfileStore keeps the student profiles durable with a snapshot plus an append-only change log.
+ * The snapshot is the plain profiles CSV. Every add, update or delete appends one small record
+ * to the log instead of rewriting the whole CSV.
+ * Changes are applied in memory at once and written behind: a single writer thread takes the
+ * queued records, writes a burst of them with one write and one fsync (group commit), and
+ * completes the future each change returned. Callers, such as the EDT, never wait for the disk.
+ * When the log grows past a threshold the writer compacts it: the current profiles are written
+ * to a new snapshot, which atomically replaces the old one, and the log is emptied.
+ * On open, the log is replayed over the snapshot. A torn record at the end of the log (from a
+ * crash mid-append) fails its checksum and is cut off, so recovery keeps every committed change.
+ * A failed append is truncated away at once. Because the failed changes are already applied in
+ * memory, the writer then saves a full snapshot instead of appending, retrying with every later
+ * batch until it succeeds, so nothing is ever appended after a torn record and disk catches up.
+ * Log records are keyed by case-folded email and are idempotent, so replaying a log that was
+ * already folded into the snapshot (a crash between the two compaction steps) is harmless.
+ * Profiles are indexed by case-folded email (the primary key) and by case-folded current and
+ * origin country, so lookups cost O(1) and country filters O(k) for k matching profiles.
+ * Every change goes through put and remove, which keep the indexes consistent.
+ * Instances are thread-safe. Email lookups do not take the store's lock: they read a concurrent
+ * map that writers update in place, so a login sees each change immediately.
+ */
+final class ProfileStore {
+
+    // Number of log records after which the log is compacted into the snapshot
+    static final int DEFAULT_COMPACTION_THRESHOLD = 500;
+
+    private static final String[] SNAPSHOT_HEADER = {"Name", "Email", "OriginCountry", "CurrentCountry"};
+    private static final String ADD = "ADD";
+    private static final String UPDATE = "UPDATE";
+    private static final String DELETE = "DELETE";
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final int compactionThreshold;
+    private final Map<String, StudentProfile> profiles = new LinkedHashMap<>(); // By email key, in display order
+    private final ConcurrentMap<String, StudentProfile> byEmail = new ConcurrentHashMap<>(); // Lock-free mirror of profiles
+    private final CountryIndex byCurrentCountry = new CountryIndex(StudentProfile::getCurrentCountry);
+    private final CountryIndex byOriginCountry = new CountryIndex(StudentProfile::getOriginCountry);
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private FileChannel log; // Only written by the writer thread
+    private Thread writerThread;
+    private volatile int logRecords; // Only updated by the writer thread
+    private volatile int commits; // Number of group commits, i.e. fsyncs of the log
+    private boolean snapshotNeeded; // Memory is ahead of the disk after a failed write; only used by the writer thread
+    private boolean closed;
+    private volatile long version; // Bumped on every change, so readers can tell when derived data is stale
+
+    private ProfileStore(final Path snapshotFile, final Path logFile, final int compactionThreshold) {
+        this.snapshotFile = snapshotFile;
+        this.logFile = logFile;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Opens the store, loading the snapshot and replaying the change log.
+     * @param snapshotFile The profiles CSV; it does not need to exist yet.
+     * @param logFile The change log; it does not need to exist yet.
+     * @param compactionThreshold Number of log records that triggers a compaction.
+     * @return The opened store.
+     * @throws IOException if a file cannot be read or the log cannot be opened.
+     */
+    static ProfileStore open(final Path snapshotFile, final Path logFile, final int compactionThreshold) throws IOException {
+        final ProfileStore store = new ProfileStore(snapshotFile, logFile, compactionThreshold);
+        store.loadSnapshot();
+        store.recoverLog();
+        store.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        store.writerThread = new Thread(store::writeBehind, "profile-writer");
+        store.writerThread.setDaemon(true); // close() or the shutdown hook flushes; never keep the JVM alive
+        store.writerThread.start();
+        return store;
+    }
+
+    /**
+     * Normalizes an email into the key profiles are stored under.
+     * @param email The email address.
+     * @return The trimmed, lowercase email.
+     */
+    static String emailKey(final String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return A copy of all profiles, in the order they were added.
+     */
+    synchronized List<StudentProfile> getProfiles() {
+        return new ArrayList<>(profiles.values());
+    }
+
+    /**
+     * Looks a profile up by email, ignoring case and surrounding spaces.
+     * @param email The email address.
+     * @return The profile, or null if there is none.
+     */
+    StudentProfile findByEmail(final String email) {
+        return byEmail.get(emailKey(email));
+    }
+
+    /**
+     * Finds the profiles of students currently living in a country, ignoring case.
+     * @param country The current country.
+     * @return A new list of the matching profiles.
+     */
+    synchronized List<StudentProfile> findByCurrentCountry(final String country) {
+        return byCurrentCountry.find(country);
+    }
+
+    /**
+     * Finds the profiles of students from a country, ignoring case.
+     * @param country The country of origin.
+     * @return A new list of the matching profiles.
+     */
+    synchronized List<StudentProfile> findByOriginCountry(final String country) {
+        return byOriginCountry.find(country);
+    }
+
+    /**
+     * @return A number that changes whenever a profile is added, updated or deleted.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The number of profiles.
+     */
+    synchronized int size() {
+        return profiles.size();
+    }
+
+    /**
+     * @return The number of records in the change log since the last compaction.
+     */
+    int getLogRecordCount() {
+        return logRecords;
+    }
+
+    /**
+     * @return The number of times queued changes were written and forced to disk.
+     */
+    int getCommitCount() {
+        return commits;
+    }
+
+    /**
+     * Adds a profile. It is visible at once; the returned future completes when it is on disk.
+     * @param profile The new profile.
+     * @return Completes when the change is durable, or exceptionally if it could not be written.
+     * @throws IllegalArgumentException if a profile with the same email exists.
+     */
+    synchronized CompletableFuture<Void> add(final StudentProfile profile) {
+        final String key = emailKey(profile.getEmail());
+        if (profiles.containsKey(key)) {
+            throw new IllegalArgumentException("A profile with this email already exists: " + profile.getEmail());
+        }
+        final byte[] record = encode(ADD, key, profile);
+        put(key, profile);
+        return enqueue(PendingWrite.record(record));
+    }
+
+    /**
+     * Replaces the profile with the given email, keeping its position. It is visible at once;
+     * the returned future completes when it is on disk.
+     * @param email The email of the profile to replace.
+     * @param updated The new profile values; the email may change.
+     * @return Completes when the change is durable, or exceptionally if it could not be written.
+     * @throws IllegalArgumentException if no profile has the email, or the new email is taken by another profile.
+     */
+    synchronized CompletableFuture<Void> update(final String email, final StudentProfile updated) {
+        final String key = emailKey(email);
+        final String newKey = emailKey(updated.getEmail());
+        if (!profiles.containsKey(key)) {
+            throw new IllegalArgumentException("No profile with this email: " + email);
+        }
+        if (!newKey.equals(key) && profiles.containsKey(newKey)) {
+            throw new IllegalArgumentException("A profile with this email already exists: " + updated.getEmail());
+        }
+        final byte[] record = encode(UPDATE, key, updated);
+        replace(key, newKey, updated);
+        return enqueue(PendingWrite.record(record));
+    }
+
+    /**
+     * Deletes the profile with the given email. It is gone at once; the returned future
+     * completes when the deletion is on disk.
+     * @param email The email of the profile to delete.
+     * @return Completes when the change is durable, or null if no profile has the email.
+     */
+    synchronized CompletableFuture<Void> delete(final String email) {
+        final String key = emailKey(email);
+        if (!profiles.containsKey(key)) {
+            return null;
+        }
+        final byte[] record = encode(DELETE, key, null);
+        remove(key);
+        return enqueue(PendingWrite.record(record));
+    }
+
+    /**
+     * Asks the writer to fold the log into a new snapshot after the changes queued so far.
+     * @return Completes when the snapshot has replaced the old one.
+     */
+    synchronized CompletableFuture<Void> compact() {
+        return enqueue(PendingWrite.marker(true));
+    }
+
+    /**
+     * @return Completes once every change queued so far is on disk.
+     */
+    synchronized CompletableFuture<Void> flush() {
+        return enqueue(PendingWrite.marker(false));
+    }
+
+    /**
+     * Writes every queued change, stops the writer and closes the log. Safe to call more than once.
+     * @throws IOException if the log cannot be closed.
+     */
+    void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingWrites.add(PendingWrite.STOP);
+        }
+        try {
+            writerThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing profile changes");
+        }
+        log.close();
+    }
+
+    private CompletableFuture<Void> enqueue(final PendingWrite write) {
+        if (closed) {
+            throw new IllegalStateException("Profile store is closed");
+        }
+        pendingWrites.add(write); // Under the store lock, so the log order is the order changes were applied
+        return write.done;
+    }
+
+    /**
+     * The writer thread: takes whatever has queued up, writes it with one write and one fsync,
+     * then completes the waiting futures. Bursts of changes therefore cost a single commit.
+     */
+    private void writeBehind() {
+        final List<PendingWrite> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(pendingWrites.take());
+            } catch (final InterruptedException e) {
+                continue; // Only close() stops the writer
+            }
+            pendingWrites.drainTo(batch);
+            int records = 0;
+            boolean compact = false;
+            for (final PendingWrite write : batch) {
+                records += write.record == null ? 0 : 1;
+                compact |= write.compact;
+            }
+            IOException failure = null;
+            if (records > 0 && !snapshotNeeded) {
+                try {
+                    commit(batch, records);
+                } catch (final IOException e) {
+                    System.err.println("Error appending profile changes, saving a snapshot instead: " + e.getMessage());
+                    failure = e;
+                    snapshotNeeded = true; // The batch is applied in memory but not on disk
+                }
+            }
+            if (snapshotNeeded || compact || logRecords >= compactionThreshold) {
+                try {
+                    writeSnapshot(); // Holds every change applied so far, this batch included
+                    failure = null;
+                } catch (final IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                System.err.println("Error writing profile changes: " + failure.getMessage());
+            }
+            for (final PendingWrite write : batch) {
+                running &= write != PendingWrite.STOP;
+                if (failure == null) {
+                    write.done.complete(null);
+                } else {
+                    write.done.completeExceptionally(failure);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Appends the records of a batch to the log and forces them to disk. On failure the log is
+     * truncated back to its previous length, so no torn record is left for later batches to follow.
+     */
+    private void commit(final List<PendingWrite> batch, final int records) throws IOException {
+        int length = 0;
+        for (final PendingWrite write : batch) {
+            length += write.record == null ? 0 : write.record.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (final PendingWrite write : batch) {
+            if (write.record != null) {
+                buffer.put(write.record);
+            }
+        }
+        buffer.flip();
+        final long committedLength = log.size();
+        try {
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+            log.force(false); // Commit: the changes survive a crash from here on
+        } catch (final IOException e) {
+            try {
+                log.truncate(committedLength);
+            } catch (final IOException truncateFailure) {
+                e.addSuppressed(truncateFailure); // The snapshot written next empties the log anyway
+            }
+            throw e;
+        }
+        logRecords += records;
+        commits++;
+    }
+
+    /**
+     * Writes all profiles to a new snapshot and empties the change log. Runs on the writer thread.
+     */
+    private void writeSnapshot() throws IOException {
+        final List<StudentProfile> current = getProfiles(); // Copy under the lock, write without it
+        final Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (final FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                    StandardCharsets.UTF_8));
+            final CSVWriter csvWriter = new CSVWriter(writer);
+            csvWriter.writeNext(SNAPSHOT_HEADER);
+            for (final StudentProfile profile : current) {
+                csvWriter.writeNext(fields(profile));
+            }
+            csvWriter.flush();
+            channel.force(true); // The snapshot must be on disk before it replaces the old one
+        }
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Changes applied after the copy are still queued and will be replayed idempotently over this snapshot
+        log.truncate(0);
+        log.force(true);
+        logRecords = 0;
+        snapshotNeeded = false;
+    }
+
+    /**
+     * A change record waiting for the writer, or a flush, compaction or stop marker.
+     */
+    private static final class PendingWrite {
+        static final PendingWrite STOP = marker(false);
+
+        private final byte[] record;
+        private final boolean compact;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingWrite(final byte[] record, final boolean compact) {
+            this.record = record;
+            this.compact = compact;
+        }
+
+        static PendingWrite record(final byte[] record) {
+            return new PendingWrite(record, false);
+        }
+
+        static PendingWrite marker(final boolean compact) {
+            return new PendingWrite(null, compact);
+        }
+    }
+
+    /**
+     * Encodes one checksummed log record.
+     */
+    private static byte[] encode(final String operation, final String key, final StudentProfile profile) {
+        final List<String> fields = new ArrayList<>();
+        fields.add(operation);
+        fields.add(key);
+        if (profile != null) {
+            for (final String field : fields(profile)) {
+                if (field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                    throw new IllegalArgumentException("Profile fields cannot contain line breaks");
+                }
+                fields.add(field);
+            }
+        }
+        final StringWriter body = new StringWriter();
+        final CSVWriter csvWriter = new CSVWriter(body, ICSVWriter.DEFAULT_SEPARATOR, ICSVWriter.DEFAULT_QUOTE_CHARACTER,
+                ICSVWriter.DEFAULT_ESCAPE_CHARACTER, "");
+        csvWriter.writeNext(fields.toArray(new String[0])); // In memory, so nothing to close
+        return (body + "," + checksum(body.toString()) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void loadSnapshot() throws IOException {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return; // No profiles saved yet
+        }
+        try (final CSVReader reader = new CSVReader(Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8))) {
+            String[] record;
+            boolean first = true;
+            while ((record = reader.readNext()) != null) {
+                if (first && record.length == 4 && record[0].equalsIgnoreCase("Name")) {
+                    first = false;
+                    continue; // Skip the header row
+                }
+                first = false;
+                if (record.length >= 4) {
+                    final StudentProfile profile = new StudentProfile(record[0], record[1], record[2], record[3]);
+                    if (profiles.containsKey(emailKey(record[1]))) {
+                        System.err.println("Skipping duplicate profile email in " + snapshotFile + ": " + record[1]);
+                    } else {
+                        put(emailKey(record[1]), profile);
+                    }
+                } else {
+                    System.err.println("Skipping malformed record in " + snapshotFile + ": " + String.join(",", record));
+                }
+            }
+        } catch (final CsvException e) {
+            throw new IOException("Malformed profiles snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Replays the log over the snapshot, cutting off a torn or corrupt tail.
+     */
+    private void recoverLog() throws IOException {
+        if (!Files.isRegularFile(logFile)) {
+            return;
+        }
+        final byte[] bytes = Files.readAllBytes(logFile);
+        final CSVParser parser = new CSVParser();
+        int validLength = 0;
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            if (end == bytes.length) {
+                break; // The last record was not completely written
+            }
+            final String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            final int checksumStart = line.lastIndexOf(',');
+            if (checksumStart < 0 || !line.substring(checksumStart + 1).equals(checksum(line.substring(0, checksumStart)))) {
+                break; // Corrupt record: nothing after it can be trusted
+            }
+            final String[] record = parser.parseLine(line.substring(0, checksumStart));
+            replay(record);
+            logRecords++;
+            start = end + 1;
+            validLength = start;
+        }
+        if (validLength < bytes.length) {
+            System.err.println("Discarding " + (bytes.length - validLength) + " bytes of incomplete changes from " + logFile);
+            try (final FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        }
+    }
+
+    private void replay(final String[] record) throws IOException {
+        final String operation = record[0];
+        final String key = record[1];
+        if (DELETE.equals(operation)) {
+            remove(key);
+            return;
+        }
+        if (record.length < 6) {
+            throw new IOException("Malformed record in " + logFile + ": " + String.join(",", record));
+        }
+        final StudentProfile profile = new StudentProfile(record[2], record[3], record[4], record[5]);
+        final String newKey = emailKey(profile.getEmail());
+        if (ADD.equals(operation)) {
+            put(newKey, profile);
+        } else if (UPDATE.equals(operation)) {
+            replace(profiles.containsKey(key) ? key : newKey, newKey, profile);
+        } else {
+            throw new IOException("Unknown operation in " + logFile + ": " + operation);
+        }
+    }
+
+    /**
+     * Replaces the profile under oldKey by one under newKey at the same position. A different
+     * profile already under newKey (possible when replaying a log over a newer snapshot) is removed.
+     */
+    private void replace(final String oldKey, final String newKey, final StudentProfile profile) {
+        if (oldKey.equals(newKey) || !profiles.containsKey(oldKey)) {
+            put(newKey, profile);
+            return;
+        }
+        if (profiles.containsKey(newKey)) {
+            remove(newKey); // Also drops its country postings, which the rebuild below would not
+        }
+        final StudentProfile previous = profiles.get(oldKey);
+        byCurrentCountry.remove(oldKey, previous);
+        byOriginCountry.remove(oldKey, previous);
+        // LinkedHashMap cannot rename a key in place, so rebuild the order around it
+        final List<Map.Entry<String, StudentProfile>> entries = new ArrayList<>(profiles.entrySet());
+        profiles.clear();
+        for (final Map.Entry<String, StudentProfile> entry : entries) {
+            if (entry.getKey().equals(oldKey)) {
+                profiles.put(newKey, profile);
+            } else {
+                profiles.put(entry.getKey(), entry.getValue());
+            }
+        }
+        byEmail.put(newKey, profile); // Briefly both emails resolve, never neither
+        byEmail.remove(oldKey);
+        byCurrentCountry.add(newKey, profile);
+        byOriginCountry.add(newKey, profile);
+        version++;
+    }
+
+    /**
+     * Stores a profile under a key, replacing any previous one, and updates the country indexes.
+     */
+    private void put(final String key, final StudentProfile profile) {
+        final StudentProfile previous = profiles.put(key, profile);
+        byEmail.put(key, profile);
+        if (previous != null) {
+            byCurrentCountry.remove(key, previous);
+            byOriginCountry.remove(key, previous);
+        }
+        byCurrentCountry.add(key, profile);
+        byOriginCountry.add(key, profile);
+        version++;
+    }
+
+    /**
+     * Removes the profile under a key, if any, and updates the country indexes.
+     */
+    private void remove(final String key) {
+        final StudentProfile previous = profiles.remove(key);
+        byEmail.remove(key);
+        if (previous != null) {
+            byCurrentCountry.remove(key, previous);
+            byOriginCountry.remove(key, previous);
+            version++;
+        }
+    }
+
+    /**
+     * Secondary index from a case-folded country to the profiles having it, by email key.
+     */
+    private static final class CountryIndex {
+        private final Function<StudentProfile, String> country;
+        private final Map<String, Map<String, StudentProfile>> profilesByCountry = new HashMap<>();
+
+        CountryIndex(final Function<StudentProfile, String> country) {
+            this.country = country;
+        }
+
+        void add(final String key, final StudentProfile profile) {
+            profilesByCountry.computeIfAbsent(countryKey(country.apply(profile)), k -> new LinkedHashMap<>()).put(key, profile);
+        }
+
+        void remove(final String key, final StudentProfile profile) {
+            final String countryKey = countryKey(country.apply(profile));
+            final Map<String, StudentProfile> profiles = profilesByCountry.get(countryKey);
+            if (profiles != null) {
+                profiles.remove(key);
+                if (profiles.isEmpty()) {
+                    profilesByCountry.remove(countryKey); // Keep the index as small as the data
+                }
+            }
+        }
+
+        List<StudentProfile> find(final String value) {
+            final Map<String, StudentProfile> profiles = profilesByCountry.get(countryKey(value));
+            return profiles == null ? new ArrayList<>() : new ArrayList<>(profiles.values());
+        }
+
+        private static String countryKey(final String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static String[] fields(final StudentProfile profile) {
+        return new String[]{profile.getName(), profile.getEmail(), profile.getOriginCountry(), profile.getCurrentCountry()};
+    }
+
+    private static String checksum(final String body) {
+        final CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * ResultTableModel adapts SearchResults to a JTable. Rows are materialized lazily, one page
+ * at a time, when the table asks for a visible cell, and only a few pages are kept, so showing
+ * a result set costs the same no matter how many results it has. JTable itself only lays out
+ * the rows in the viewport. All methods must be called on the Event Dispatch Thread.
+ */
+class ResultTableModel extends AbstractTableModel {
+
+    // Rows materialized together when any of them becomes visible
+    private static final int PAGE_SIZE = 100;
+    // Number of materialized pages kept around for scrolling back and forth
+    private static final int MAX_CACHED_PAGES = 8;
+
+    private SearchResults results;
+    private String[] columns = new String[0];
+    private int rowCount;
+    private final Map<Integer, String[][]> pages = new LinkedHashMap<Integer, String[][]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, String[][]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    /**
+     * Replaces the displayed results with a new result set. Fires a single structure change.
+     * @param newResults The results to show, or null to show nothing.
+     */
+    public void setResults(final SearchResults newResults) {
+        results = newResults;
+        columns = newResults == null ? new String[0] : newResults.columns();
+        rowCount = newResults == null ? 0 : newResults.size();
+        pages.clear();
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Notifies the table that the current result set has grown (e.g. while streaming).
+     * Fires one ranged insert for all new rows.
+     */
+    public void resultsGrew() {
+        if (results == null) {
+            return;
+        }
+        final int newCount = results.size();
+        if (newCount > rowCount) {
+            final int firstNew = rowCount;
+            pages.remove(firstNew / PAGE_SIZE); // The last page may have been partially filled
+            rowCount = newCount;
+            fireTableRowsInserted(firstNew, newCount - 1);
+        }
+    }
+
+    /**
+     * @return The result set currently shown, or null.
+     */
+    public SearchResults getResults() {
+        return results;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(final int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(final int rowIndex, final int columnIndex) {
+        return page(rowIndex / PAGE_SIZE)[rowIndex % PAGE_SIZE][columnIndex];
+    }
+
+    private String[][] page(final int pageIndex) {
+        String[][] page = pages.get(pageIndex);
+        if (page == null) {
+            final int start = pageIndex * PAGE_SIZE;
+            final int end = Math.min(start + PAGE_SIZE, rowCount);
+            page = new String[end - start][];
+            for (int i = start; i < end; i++) {
+                page[i - start] = results.row(i);
+            }
+            pages.put(pageIndex, page);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example;
+
+import java.util.Locale;
+
+/**
+ * ScholarshipAmount turns the free-text "funds" column of the scholarship dataset into a number
+ * that can be compared across rows. It is called once per scholarship at load time.
+ * <p>
+ * Supported forms include plain amounts ("$1000", "€2,500", "£5,000 p.a.", "15,000 USD"),
+ * European grouping ("€13.000"), ranges and caps ("$100 to $3000", "Up to $2,000", ranked by
+ * their upper bound) and full-funding phrases ("Fully Funded", "100% free"), which rank above
+ * every fixed amount. Amounts in other currencies are converted to approximate US dollars so
+ * that "£5,000" and "$5,000" sort sensibly; the rates are for ranking only.
+ */
+final class ScholarshipAmount {
+
+    // Value used for scholarships that cover the full cost; sorts above every fixed amount
+    static final double FULL_FUNDING = Double.POSITIVE_INFINITY;
+    // Value used when no amount can be recognised (e.g. "Variable", "Partially Funded", "")
+    static final double UNKNOWN = 0.0;
+
+    // Approximate conversion rates to US dollars, used only to rank mixed-currency amounts
+    private static final double USD = 1.0;
+    private static final double GBP = 1.27;
+    private static final double EUR = 1.08;
+    private static final double CAD = 0.73;
+    private static final double AUD = 0.66;
+
+    private ScholarshipAmount() {
+    }
+
+    /**
+     * Parses a funds description into an approximate US dollar value.
+     * @param text The raw "funds" column value.
+     * @return The largest amount mentioned, FULL_FUNDING for full-funding phrases, or UNKNOWN.
+     */
+    static double parse(final String text) {
+        if (text == null || text.isBlank()) {
+            return UNKNOWN;
+        }
+        final String lower = text.toLowerCase(Locale.ROOT);
+        double bestAmount = -1; // Largest amount with an explicit currency
+        double bestBareNumber = -1; // Largest number without currency or percent sign
+        boolean fullPercentage = false;
+
+        int i = 0;
+        while (i < lower.length()) {
+            if (!isDigit(lower.charAt(i))) {
+                i++;
+                continue;
+            }
+            // Consume a number with grouping/decimal separators, e.g. "2,001.00" or "13.000"
+            final int start = i;
+            while (i < lower.length() && (isDigit(lower.charAt(i))
+                    || ((lower.charAt(i) == ',' || lower.charAt(i) == '.')
+                        && i + 1 < lower.length() && isDigit(lower.charAt(i + 1))))) {
+                i++;
+            }
+            final double value = parseNumber(lower.substring(start, i));
+            if (i < lower.length() && lower.charAt(i) == '%') {
+                fullPercentage |= value >= 100;
+                continue; // Percentages of tuition are not amounts
+            }
+            final double rate = currencyRate(lower, start, i);
+            if (rate > 0) {
+                bestAmount = Math.max(bestAmount, value * rate);
+            } else {
+                bestBareNumber = Math.max(bestBareNumber, value);
+            }
+        }
+
+        if (bestAmount >= 0) {
+            return bestAmount;
+        }
+        if (fullPercentage || lower.contains("full") || lower.contains("free of charge")) {
+            return FULL_FUNDING;
+        }
+        return bestBareNumber >= 0 ? bestBareNumber : UNKNOWN;
+    }
+
+    /**
+     * Parses the digits of a single number, deciding whether ',' and '.' are grouping or decimal separators.
+     * @param number The number text, containing only digits, ',' and '.'.
+     * @return The parsed value.
+     */
+    private static double parseNumber(final String number) {
+        final int lastComma = number.lastIndexOf(',');
+        final int lastDot = number.lastIndexOf('.');
+        final int decimalSeparator;
+        if (lastComma >= 0 && lastDot >= 0) {
+            decimalSeparator = Math.max(lastComma, lastDot); // "2,001.00" or "2.001,00"
+        } else if (lastComma >= 0 || lastDot >= 0) {
+            final int separator = Math.max(lastComma, lastDot);
+            final boolean repeated = number.indexOf(number.charAt(separator)) != separator;
+            // A single separator followed by exactly three digits is grouping ("2,500", "13.000")
+            decimalSeparator = repeated || number.length() - separator - 1 == 3 ? -1 : separator;
+        } else {
+            decimalSeparator = -1;
+        }
+        final StringBuilder digits = new StringBuilder(number.length());
+        for (int i = 0; i < number.length(); i++) {
+            final char c = number.charAt(i);
+            if (isDigit(c)) {
+                digits.append(c);
+            } else if (i == decimalSeparator) {
+                digits.append('.');
+            }
+        }
+        return Double.parseDouble(digits.toString());
+    }
+
+    /**
+     * ASCII digits only: Character.isDigit also accepts e.g. Arabic-Indic or full-width digits,
+     * which Double.parseDouble rejects.
+     */
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Detects the currency written directly before or after a number.
+     * @param text The lowercased funds text.
+     * @param start Index of the first character of the number.
+     * @param end Index just after the last character of the number.
+     * @return The conversion rate to US dollars, or 0 if no currency is attached.
+     */
+    private static double currencyRate(final String text, final int start, final int end) {
+        int before = start - 1;
+        while (before >= 0 && text.charAt(before) == ' ') {
+            before--;
+        }
+        if (before >= 0) {
+            switch (text.charAt(before)) {
+                case '£':
+                    return GBP;
+                case '€':
+                    return EUR;
+                case '$':
+                    if (text.startsWith("c$", before - 1)) {
+                        return CAD;
+                    }
+                    return text.startsWith("a$", before - 1) ? AUD : USD;
+                default:
+                    break;
+            }
+        }
+        final String after = text.substring(end).stripLeading();
+        if (after.startsWith("usd") || after.startsWith("dollars")) {
+            return USD;
+        }
+        if (after.startsWith("gbp") || after.startsWith("pounds")) {
+            return GBP;
+        }
+        if (after.startsWith("eur")) {
+            return EUR;
+        }
+        if (after.startsWith("cad")) {
+            return CAD;
+        }
+        if (after.startsWith("aud")) {
+            return AUD;
+        }
+        return 0;
+    }
+}
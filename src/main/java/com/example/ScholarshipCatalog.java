@@ -0,0 +1,204 @@
+package com.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import com.example.MainClient.Scholarship;
+
+/**
+ * ScholarshipCatalog is an immutable snapshot of the scholarship dataset.
+ * The CSV is parsed exactly once per snapshot and the resulting list is shared by every
+ * search, so a search only pays for filtering. Instances are safe to share between threads.
+ */
+final class ScholarshipCatalog {
+
+    // Marker used for catalogs that were not loaded from a file on disk (e.g. classpath resources)
+    static final long NO_MODIFICATION_TIME = -1L;
+
+    private final List<Scholarship> scholarships;
+    private final ScholarshipIndex index;
+    private final int[] amountOrder; // Scholarship ids sorted by amount, highest first
+    private final long sourceModifiedTime;
+
+    /**
+     * Constructor for ScholarshipCatalog.
+     * @param scholarships The parsed scholarships, in CSV order.
+     * @param sourceModifiedTime Modification time of the backing file in millis, or NO_MODIFICATION_TIME.
+     */
+    ScholarshipCatalog(final List<Scholarship> scholarships, final long sourceModifiedTime) {
+        this.scholarships = Collections.unmodifiableList(new ArrayList<>(scholarships));
+        this.index = new ScholarshipIndex(this.scholarships); // Built once, shared by every search
+        this.amountOrder = sortByAmount(this.scholarships);
+        this.sourceModifiedTime = sourceModifiedTime;
+    }
+
+    /**
+     * Loads a catalog from a CSV file on disk, remembering the file's modification time.
+     * @param csvFile The scholarships CSV file.
+     * @return The loaded catalog.
+     * @throws IOException if the file cannot be read.
+     * @throws CsvException if the CSV is malformed.
+     */
+    static ScholarshipCatalog load(final Path csvFile) throws IOException, CsvException {
+        // Read the timestamp first so a concurrent rewrite is picked up by the next staleness check
+        final long modifiedTime = Files.getLastModifiedTime(csvFile).toMillis();
+        try (final Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            return new ScholarshipCatalog(parse(reader), modifiedTime);
+        }
+    }
+
+    /**
+     * Loads a catalog from a CSV bundled on the classpath. Such catalogs never go stale.
+     * @param resourcePath The classpath location of the CSV.
+     * @return The loaded catalog.
+     * @throws IOException if the resource cannot be read.
+     * @throws CsvException if the CSV is malformed.
+     * @throws FileNotFoundException if the resource does not exist.
+     */
+    static ScholarshipCatalog loadResource(final String resourcePath) throws IOException, CsvException {
+        final InputStream is = ScholarshipCatalog.class.getResourceAsStream(resourcePath);
+        if (is == null) {
+            throw new FileNotFoundException("Scholarships CSV file not found in resources: " + resourcePath);
+        }
+        try (final Reader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return new ScholarshipCatalog(parse(reader), NO_MODIFICATION_TIME);
+        }
+    }
+
+    /**
+     * Parses scholarship records from CSV, one row at a time.
+     * (Assuming columns: [0], Name[1], Degree[2], Amount[3], [4], Location[5])
+     * @param reader The CSV source. It is not closed by this method.
+     * @return The parsed scholarships, in CSV order.
+     * @throws IOException if reading fails.
+     * @throws CsvException if the CSV is malformed.
+     */
+    static List<Scholarship> parse(final Reader reader) throws IOException, CsvException {
+        final List<Scholarship> scholarships = new ArrayList<>();
+        final CSVReader csvReader = new CSVReader(reader);
+        csvReader.readNext(); // Skip the header row
+        String[] record;
+        while ((record = csvReader.readNext()) != null) {
+            if (record.length >= 6) {
+                scholarships.add(new Scholarship(record[1], record[2], record[3], record[5]));
+            } else {
+                System.err.println("Skipping malformed scholarship record (too few columns): " + String.join(",", record));
+            }
+        }
+        return scholarships;
+    }
+
+    /**
+     * Checks whether the backing file changed since this catalog was loaded.
+     * @param csvFile The file this catalog was loaded from.
+     * @return true if the file's modification time differs from the one recorded at load time.
+     */
+    boolean isStale(final Path csvFile) {
+        if (sourceModifiedTime == NO_MODIFICATION_TIME) {
+            // Loaded from the classpath: only stale once a real file shows up
+            return Files.isRegularFile(csvFile);
+        }
+        try {
+            return Files.getLastModifiedTime(csvFile).toMillis() != sourceModifiedTime;
+        } catch (final IOException e) {
+            return false; // Keep serving the snapshot we have if the file is temporarily unavailable
+        }
+    }
+
+    /**
+     * @return The unmodifiable list of all scholarships, in CSV order.
+     */
+    List<Scholarship> getScholarships() {
+        return scholarships;
+    }
+
+    /**
+     * Finds the scholarships matching the degree and location terms using the inverted index.
+     * The search is case-insensitive, and "all" can be used as a wildcard for either field.
+     * @param degree The degree search term.
+     * @param location The location search term.
+     * @return A new list of matching scholarships, in CSV order.
+     */
+    List<Scholarship> search(final String degree, final String location) {
+        return getScholarships(index.match(degree, location));
+    }
+
+    /**
+     * Finds the matching scholarships like search, narrowing a previous match when the terms
+     * extend the previous ones. Used by search-as-you-type, where each keystroke refines the last query.
+     * A match from another catalog is ignored.
+     * @param degree The degree search term.
+     * @param location The location search term.
+     * @param previous The previous match, or null.
+     * @return The new match; see getScholarships(BitSet) for its scholarships.
+     */
+    ScholarshipIndex.Match match(final String degree, final String location, final ScholarshipIndex.Match previous) {
+        return index.match(degree, location, previous);
+    }
+
+    /**
+     * Collects the scholarships with the given ids.
+     * @param ids Scholarship ids of this catalog.
+     * @return A new list of the scholarships, in CSV order.
+     */
+    List<Scholarship> getScholarships(final BitSet ids) {
+        final List<Scholarship> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            result.add(scholarships.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the matching scholarships like search, ordered by amount (highest first).
+     * Instead of sorting the matches, this walks the precomputed amount order and keeps
+     * the ids that matched, so ties keep their CSV order just like a stable sort.
+     * @param degree The degree search term.
+     * @param location The location search term.
+     * @return A new list of matching scholarships, highest amount first.
+     */
+    List<Scholarship> searchByAmount(final String degree, final String location) {
+        final BitSet matches = index.match(degree, location);
+        final List<Scholarship> result = new ArrayList<>(matches.cardinality());
+        for (final int id : amountOrder) {
+            if (matches.get(id)) {
+                result.add(scholarships.get(id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the permutation of scholarship ids ordered by amount, highest first.
+     * @param scholarships The catalog's scholarships.
+     * @return The ids in descending amount order, ties in CSV order.
+     */
+    private static int[] sortByAmount(final List<Scholarship> scholarships) {
+        final Integer[] ids = new Integer[scholarships.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        // Arrays.sort on objects is stable, matching Collections.sort on the Scholarship list
+        Arrays.sort(ids, (a, b) -> scholarships.get(a).compareTo(scholarships.get(b)));
+        final int[] order = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            order[i] = ids[i];
+        }
+        return order;
+    }
+
+    /**
+     * @return The number of scholarships in this catalog.
+     */
+    int size() {
+        return scholarships.size();
+    }
+}
@@ -6,9 +6,12 @@ import com.opencsv.CSVReader;
 
 public class ScholarshipClient {
 
+    // Scholarships CSV in the working directory, used when no path is given
+    private static final String DEFAULT_CSV_FILE = "Universities_Schoolarships_All_Around_the_World.csv";
+
     public static void main(String[] args) {
-        // File path to the unzipped CSV file
-        String csvFilePath = "/Users/I750363/Desktop/educationsite/scholarships.csv"; 
+        // File path to the scholarships CSV file
+        String csvFilePath = args.length > 0 ? args[0] : DEFAULT_CSV_FILE;
         List<Scholarship> scholarships = readCSV(csvFilePath); 
 
         // Step 1: Ask user for the degree they are looking for
@@ -0,0 +1,211 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import com.example.MainClient.Scholarship;
+
+/**
+ * ScholarshipIndex is an inverted index over the degree and location columns of a catalog.
+ * Each column is split into tokens ("Master, Bachelor, Phd" and "united-states"), and every
+ * token maps to a bitset of scholarship ids (positions in the catalog). A query is answered by
+ * unioning the postings of matching tokens per column and intersecting the two columns.
+ * Matching keeps the original case-insensitive substring semantics of the linear scan.
+ */
+final class ScholarshipIndex {
+
+    // Wildcard accepted by the search fields to match every scholarship
+    static final String WILDCARD = "all";
+
+    private final int size;
+    private final FieldIndex degreeIndex;
+    private final FieldIndex locationIndex;
+
+    /**
+     * Builds the index for the given scholarships.
+     * @param scholarships The catalog's scholarships; ids are their positions in this list.
+     */
+    ScholarshipIndex(final List<Scholarship> scholarships) {
+        this.size = scholarships.size();
+        this.degreeIndex = new FieldIndex(scholarships, Scholarship::getDegree, ", \t");
+        this.locationIndex = new FieldIndex(scholarships, Scholarship::getLocation, "-");
+    }
+
+    /**
+     * Finds the ids of all scholarships whose degree and location contain the given terms.
+     * The search is case-insensitive, and "all" can be used as a wildcard for either field.
+     * @param degree The degree search term.
+     * @param location The location search term.
+     * @return A new bitset of matching scholarship ids.
+     */
+    BitSet match(final String degree, final String location) {
+        return match(degree, location, null).getIds();
+    }
+
+    /**
+     * Finds the matching scholarships like match(degree, location), reusing a previous match
+     * where possible. When a term extends the previous term of its field (as when typing), every
+     * new match must also have matched before, so only the dictionary entries that matched
+     * last time are re-checked instead of the whole dictionary.
+     * @param degree The degree search term.
+     * @param location The location search term.
+     * @param previous The previous match on this index, or null.
+     * @return The new match, which can be passed to the next call.
+     */
+    Match match(final String degree, final String location, final Match previous) {
+        final boolean reuse = previous != null && previous.index == this;
+        final FieldMatch degrees = degree.equalsIgnoreCase(WILDCARD)
+                ? null : degreeIndex.lookup(degree, reuse ? previous.degrees : null);
+        final FieldMatch locations = location.equalsIgnoreCase(WILDCARD)
+                ? null : locationIndex.lookup(location, reuse ? previous.locations : null);
+        final BitSet ids;
+        if (degrees == null && locations == null) {
+            // Both fields are wildcards: every scholarship matches
+            ids = new BitSet(size);
+            ids.set(0, size);
+        } else if (degrees == null || locations == null) {
+            ids = (BitSet) (degrees == null ? locations : degrees).ids.clone();
+        } else {
+            ids = (BitSet) degrees.ids.clone();
+            ids.and(locations.ids);
+        }
+        return new Match(this, degrees, locations, ids);
+    }
+
+    /**
+     * Result of a search, kept so that the next, narrower search can start from it.
+     */
+    static final class Match {
+        private final ScholarshipIndex index;
+        private final FieldMatch degrees; // Null for the wildcard
+        private final FieldMatch locations; // Null for the wildcard
+        private final BitSet ids;
+
+        private Match(final ScholarshipIndex index, final FieldMatch degrees, final FieldMatch locations, final BitSet ids) {
+            this.index = index;
+            this.degrees = degrees;
+            this.locations = locations;
+            this.ids = ids;
+        }
+
+        /**
+         * @return The bitset of matching scholarship ids; callers must not modify it.
+         */
+        BitSet getIds() {
+            return ids;
+        }
+    }
+
+    /**
+     * Dictionary entries of one column that matched a term, and the ids they cover.
+     */
+    private static final class FieldMatch {
+        private final String term;
+        private final boolean spansTokens;
+        private final int[] keys;
+        private final BitSet ids;
+
+        FieldMatch(final String term, final boolean spansTokens, final int[] keys, final BitSet ids) {
+            this.term = term;
+            this.spansTokens = spansTokens;
+            this.keys = keys;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * Index over a single text column. Holds two dictionaries: the distinct tokens of the column
+     * and the distinct whole values, each with a posting bitset. Both dictionaries are tiny
+     * compared to the number of rows, so scanning them replaces a scan over every record.
+     */
+    private static final class FieldIndex {
+        private final String separators;
+        private final String[] tokens;
+        private final BitSet[] tokenPostings;
+        private final String[] values;
+        private final BitSet[] valuePostings;
+
+        FieldIndex(final List<Scholarship> scholarships, final Function<Scholarship, String> field, final String separators) {
+            this.separators = separators;
+            final Map<String, BitSet> tokenMap = new TreeMap<>(); // Sorted for deterministic lookups
+            final Map<String, BitSet> valueMap = new HashMap<>();
+            for (int id = 0; id < scholarships.size(); id++) {
+                final String value = normalize(field.apply(scholarships.get(id)));
+                valueMap.computeIfAbsent(value, k -> new BitSet()).set(id);
+                for (final String token : tokenize(value)) {
+                    tokenMap.computeIfAbsent(token, k -> new BitSet()).set(id);
+                }
+            }
+            this.tokens = tokenMap.keySet().toArray(new String[0]);
+            this.tokenPostings = tokenMap.values().toArray(new BitSet[0]);
+            this.values = valueMap.keySet().toArray(new String[0]);
+            this.valuePostings = valueMap.values().toArray(new BitSet[0]);
+        }
+
+        /**
+         * Returns the ids of all records whose field contains the query as a substring.
+         * A query without separator characters can only occur inside a single token, so the
+         * token dictionary is enough; a query spanning separators (e.g. "united-st") falls back
+         * to the dictionary of whole values.
+         * @param query The raw search term.
+         * @param previous The previous match on this column, or null.
+         * @return The matching dictionary entries and ids.
+         */
+        FieldMatch lookup(final String query, final FieldMatch previous) {
+            final String term = normalize(query);
+            final boolean spansTokens = term.isEmpty() || containsSeparator(term);
+            final String[] keys = spansTokens ? values : tokens;
+            final BitSet[] postings = spansTokens ? valuePostings : tokenPostings;
+            // A term containing the previous one can only match entries that matched before
+            final boolean narrowing = previous != null && previous.spansTokens == spansTokens && term.contains(previous.term);
+            final int candidates = narrowing ? previous.keys.length : keys.length;
+            final int[] matched = new int[candidates];
+            int count = 0;
+            final BitSet result = new BitSet();
+            for (int i = 0; i < candidates; i++) {
+                final int key = narrowing ? previous.keys[i] : i;
+                if (keys[key].contains(term)) {
+                    matched[count++] = key;
+                    result.or(postings[key]);
+                }
+            }
+            return new FieldMatch(term, spansTokens, Arrays.copyOf(matched, count), result);
+        }
+
+        private List<String> tokenize(final String value) {
+            final List<String> result = new ArrayList<>();
+            int start = -1;
+            for (int i = 0; i <= value.length(); i++) {
+                final boolean boundary = i == value.length() || separators.indexOf(value.charAt(i)) >= 0;
+                if (boundary) {
+                    if (start >= 0) {
+                        result.add(value.substring(start, i));
+                        start = -1;
+                    }
+                } else if (start < 0) {
+                    start = i;
+                }
+            }
+            return result;
+        }
+
+        private boolean containsSeparator(final String term) {
+            for (int i = 0; i < term.length(); i++) {
+                if (separators.indexOf(term.charAt(i)) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String normalize(final String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
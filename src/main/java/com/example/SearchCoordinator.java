@@ -0,0 +1,160 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * SearchCoordinator runs the searches of one tab with "latest wins" semantics. Starting a
+ * search cancels (interrupts) the one still running for the same tab, and results or UI
+ * updates from a superseded search are dropped instead of overwriting newer ones. All tabs
+ * share one small bounded pool of worker threads, so bursts of clicks or keystrokes cannot
+ * pile up background work.
+ */
+final class SearchCoordinator {
+
+    // Worker threads shared by every tab, and how many searches may wait for one
+    private static final int WORKER_THREADS = 3;
+    private static final int MAX_QUEUED_SEARCHES = 16;
+
+    private static final ThreadPoolExecutor SEARCH_EXECUTOR = createExecutor();
+
+    private final AtomicLong latestGeneration = new AtomicLong();
+    private Future<?> running; // Only accessed on the EDT
+
+    /**
+     * A unit of background work. It receives a context to check whether it has been
+     * superseded and to push intermediate updates to the UI.
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    interface SearchTask<T> {
+        T run(Context context) throws Exception;
+    }
+
+    /**
+     * Handle given to a running search.
+     */
+    final class Context {
+        private final long generation;
+
+        private Context(final long generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * @return true while no newer search has been started on this coordinator.
+         */
+        boolean isCurrent() {
+            return generation == latestGeneration.get();
+        }
+
+        /**
+         * Runs an update on the EDT, unless this search has been superseded by then.
+         * @param update The UI update.
+         */
+        void updateUi(final Runnable update) {
+            SwingUtilities.invokeLater(() -> {
+                if (isCurrent()) {
+                    update.run();
+                }
+            });
+        }
+
+        /**
+         * Returns a consumer that hands items to the EDT in chunks, like SwingWorker.publish:
+         * items produced while an update is pending are delivered with it.
+         * @param process Receives each chunk on the EDT.
+         * @param <V> The item type.
+         * @return The consumer to call from the background thread.
+         */
+        <V> Consumer<V> publisher(final Consumer<List<V>> process) {
+            final List<V> pending = new ArrayList<>();
+            return item -> {
+                final boolean schedule;
+                synchronized (pending) {
+                    schedule = pending.isEmpty(); // Only the first item of a chunk posts an update
+                    pending.add(item);
+                }
+                if (schedule) {
+                    updateUi(() -> {
+                        final List<V> chunk;
+                        synchronized (pending) {
+                            chunk = new ArrayList<>(pending);
+                            pending.clear();
+                        }
+                        process.accept(chunk);
+                    });
+                }
+            };
+        }
+    }
+
+    /**
+     * Starts a search, superseding any search this coordinator is still running.
+     * Must be called on the EDT. The callbacks run on the EDT and only if the search is
+     * still the latest one when it finishes.
+     * @param task The background work.
+     * @param onResult Receives the result.
+     * @param onError Receives the failure, unless it was caused by cancellation.
+     * @param <T> The result type.
+     */
+    <T> void submit(final SearchTask<T> task, final Consumer<T> onResult, final Consumer<Exception> onError) {
+        final Context context = new Context(latestGeneration.incrementAndGet());
+        cancel(running);
+        try {
+            running = SEARCH_EXECUTOR.submit(() -> {
+                if (!context.isCurrent()) {
+                    return; // Superseded while waiting in the queue
+                }
+                try {
+                    final T result = task.run(context);
+                    context.updateUi(() -> onResult.accept(result));
+                } catch (final Exception e) {
+                    if (!Thread.currentThread().isInterrupted()) {
+                        context.updateUi(() -> onError.accept(e));
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            running = null;
+            onError.accept(new IllegalStateException("Too many searches are running. Please try again.", e));
+        }
+    }
+
+    /**
+     * Cancels the running search, if any, and drops its pending results. Must be called on the EDT.
+     */
+    void cancel() {
+        latestGeneration.incrementAndGet();
+        cancel(running);
+        running = null;
+    }
+
+    private static void cancel(final Future<?> search) {
+        if (search != null) {
+            search.cancel(true); // Interrupts blocking I/O that honours interruption
+            SEARCH_EXECUTOR.purge(); // Frees the queue slot of a search that never started
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_SEARCHES), runnable -> {
+                    final Thread thread = new Thread(runnable, "search-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true); // Never keep the application alive
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.List;
+import com.example.MainClient.Scholarship;
+
+/**
+ * SearchResults is a read-only, index-addressable view of one search's results, used by
+ * ResultTableModel to render rows on demand. Implementations only produce the cells of a
+ * row when it is asked for, so the cost of showing a result set does not depend on its size.
+ */
+interface SearchResults {
+
+    /**
+     * @return The column headers of the result table.
+     */
+    String[] columns();
+
+    /**
+     * @return The number of results currently available. May grow while results stream in.
+     */
+    int size();
+
+    /**
+     * Produces the table cells of one result.
+     * @param index The result index, from 0 to size() - 1.
+     * @return One value per column.
+     */
+    String[] row(int index);
+
+    /**
+     * Produces the HTML detail view of one result, shown when the row is selected.
+     * @param index The result index, from 0 to size() - 1.
+     * @return An HTML document.
+     */
+    String detailHTML(int index);
+
+    /**
+     * Results view over a list of scholarships.
+     * @param scholarships The scholarships, in display order.
+     * @return The results view.
+     */
+    static SearchResults ofScholarships(final List<Scholarship> scholarships) {
+        return new SearchResults() {
+            @Override
+            public String[] columns() {
+                return new String[]{"Scholarship", "Degree", "Amount", "Location"};
+            }
+
+            @Override
+            public int size() {
+                return scholarships.size();
+            }
+
+            @Override
+            public String[] row(final int index) {
+                final Scholarship scholarship = scholarships.get(index);
+                return new String[]{scholarship.getName(), scholarship.getDegree(), scholarship.getAmount(), scholarship.getLocation()};
+            }
+
+            @Override
+            public String detailHTML(final int index) {
+                return "<html>" + scholarships.get(index).toHTML() + "</html>";
+            }
+        };
+    }
+
+    /**
+     * Results view over a list of universities. The list may keep growing while the view is shown.
+     * @param universities The universities, in display order.
+     * @return The results view.
+     */
+    static SearchResults ofUniversities(final List<University> universities) {
+        return new SearchResults() {
+            @Override
+            public String[] columns() {
+                return new String[]{"University", "Website", "State/Province"};
+            }
+
+            @Override
+            public int size() {
+                return universities.size();
+            }
+
+            @Override
+            public String[] row(final int index) {
+                final University university = universities.get(index);
+                final String website = university.getWebsite();
+                return new String[]{university.getName(), website == null ? "" : website,
+                        university.getStateProvince() == null ? "" : university.getStateProvince()};
+            }
+
+            @Override
+            public String detailHTML(final int index) {
+                return "<html>" + universities.get(index).toHTML() + "</html>";
+            }
+        };
+    }
+
+    /**
+     * Results view over rows of the Udemy course store. Titles are decoded only for visible rows.
+     * @param courses The course store.
+     * @param rows The matching row numbers, in display order.
+     * @return The results view.
+     */
+    static SearchResults ofCourses(final UdemyCourseStore courses, final int[] rows) {
+        return new SearchResults() {
+            @Override
+            public String[] columns() {
+                return new String[]{"Course", "Level", "Price", "Hours", "Subscribers"};
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+
+            @Override
+            public String[] row(final int index) {
+                final int row = rows[index];
+                return new String[]{courses.title(row), courses.level(row),
+                        courses.isPaid(row) ? "$" + courses.price(row) : "Free",
+                        String.valueOf(courses.duration(row)), String.valueOf(courses.subscribers(row))};
+            }
+
+            @Override
+            public String detailHTML(final int index) {
+                final int row = rows[index];
+                final String url = courses.url(row);
+                return "<html><b>" + courses.title(row) + "</b><br>"
+                        + "Subject: " + courses.subject(row) + "<br>"
+                        + "Level: " + courses.level(row) + "<br>"
+                        + "Price: " + (courses.isPaid(row) ? "$" + courses.price(row) : "Free") + "<br>"
+                        + "Duration: " + courses.duration(row) + " hours, " + courses.lectures(row) + " lectures<br>"
+                        + "Subscribers: " + courses.subscribers(row) + ", Reviews: " + courses.reviews(row) + "<br>"
+                        + "Link: <a href=\"" + url + "\">" + url + "</a></html>";
+            }
+        };
+    }
+
+    /**
+     * Results view over the groups of a course analytics group-by.
+     * @param dimensions The grouping dimensions, one leading column each.
+     * @param groups The aggregated groups, in display order.
+     * @return The results view.
+     */
+    static SearchResults ofCourseGroups(final CourseAnalyticsStore.Dimension[] dimensions,
+                                        final List<CourseAnalyticsStore.Group> groups) {
+        return new SearchResults() {
+            @Override
+            public String[] columns() {
+                final String[] columns = new String[dimensions.length + 5];
+                for (int i = 0; i < dimensions.length; i++) {
+                    columns[i] = dimensions[i].toString();
+                }
+                System.arraycopy(new String[]{"Courses", "Participants", "Certified %", "Mean Median Hours", "Hours/Certified r"},
+                        0, columns, dimensions.length, 5);
+                return columns;
+            }
+
+            @Override
+            public int size() {
+                return groups.size();
+            }
+
+            @Override
+            public String[] row(final int index) {
+                final CourseAnalyticsStore.Group group = groups.get(index);
+                final String[] row = Arrays.copyOf(group.getLabels(), dimensions.length + 5);
+                row[dimensions.length] = String.valueOf(group.getCourses());
+                row[dimensions.length + 1] = String.valueOf(group.getParticipants());
+                row[dimensions.length + 2] = String.format("%.2f", group.getCertificationRate());
+                row[dimensions.length + 3] = String.format("%.1f", group.getMeanMedianHours());
+                row[dimensions.length + 4] = Double.isNaN(group.getHoursCertificationCorrelation())
+                        ? "" : String.format("%.2f", group.getHoursCertificationCorrelation());
+                return row;
+            }
+
+            @Override
+            public String detailHTML(final int index) {
+                final CourseAnalyticsStore.Group group = groups.get(index);
+                final String[] labels = group.getLabels();
+                final StringBuilder html = new StringBuilder("<html>");
+                for (int i = 0; i < dimensions.length; i++) {
+                    html.append("<b>").append(dimensions[i]).append(":</b> ").append(labels[i]).append("<br>");
+                }
+                html.append("Courses: ").append(group.getCourses()).append("<br>")
+                        .append("Participants: ").append(group.getParticipants()).append("<br>")
+                        .append("Certified: ").append(group.getCertified())
+                        .append(String.format(" (%.2f%%)", group.getCertificationRate())).append("<br>")
+                        .append(String.format("Mean median hours for certification: %.1f", group.getMeanMedianHours())).append("<br>");
+                if (!Double.isNaN(group.getHoursCertificationCorrelation())) {
+                    html.append(String.format("Correlation of median hours with certification rate: %.2f",
+                            group.getHoursCertificationCorrelation()));
+                }
+                return html.append("</html>").toString();
+            }
+        };
+    }
+
+    /**
+     * Results view over the merged hits of a "search everything" query.
+     * @param hits The hits, best first.
+     * @return The results view.
+     */
+    static SearchResults ofHits(final List<UnifiedSearch.Hit> hits) {
+        return new SearchResults() {
+            @Override
+            public String[] columns() {
+                return new String[]{"Source", "Result", "Details"};
+            }
+
+            @Override
+            public int size() {
+                return hits.size();
+            }
+
+            @Override
+            public String[] row(final int index) {
+                final UnifiedSearch.Hit hit = hits.get(index);
+                return new String[]{hit.getSource(), hit.getTitle(), hit.getSummary()};
+            }
+
+            @Override
+            public String detailHTML(final int index) {
+                return hits.get(index).getDetailHTML();
+            }
+        };
+    }
+}
@@ -3,15 +3,27 @@ package com.example;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.*; // Added for URI and URL
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvException;
+import okhttp3.OkHttpClient;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * The StudentCommunity class manages the student community panel within the Matrob Education Finder.
@@ -23,11 +35,22 @@ import com.opencsv.exceptions.CsvException;
 public class StudentCommunity {
 
     private static final String PROFILES_CSV_FILE = "student_profiles.csv";
+    // Append-only log of profile changes made since the CSV snapshot was last written
+    private static final String PROFILES_LOG_FILE = "student_profiles.log";
+
+    // One store per process: every community panel and the login page share it, so they all see live data
+    private static ProfileStore sharedProfileStore;
+    // Number of matches shown by "Find Students Like Selected"
+    private static final int MATCHES_PAGE_SIZE = 20;
 
     private JPanel communityPanel;
-    private List<StudentProfile> studentProfiles;
+    private ProfileStore profileStore; // Null if the profile files could not be opened
+    // Saved scholarships and courses per email key, used to match students with shared interests
+    private final Map<String, Set<String>> savedItemsByEmail = new ConcurrentHashMap<>();
+    private ProfileMatcher profileMatcher; // Feature vectors of the profiles, rebuilt when they change
+    private long profileMatcherVersion = -1;
     private JList<StudentProfile> profileList;
-    private DefaultListModel<StudentProfile> profileListModel;
+    private ProfileListModel profileListModel; // View of the store, filtered off the EDT
     private JLabel statusLabel;
 
     // Input fields for adding/editing profiles
@@ -42,8 +65,16 @@ public class StudentCommunity {
      * Initializes the UI components, loads existing student profiles, and sets up event listeners.
      */
     public StudentCommunity() {
-        studentProfiles = new ArrayList<>();
-        profileListModel = new DefaultListModel<>();
+        this(null);
+    }
+
+    /**
+     * Constructor for StudentCommunity working on a given profile store.
+     * @param profileStore The store to use, or null for the shared store of the profiles CSV.
+     */
+    StudentCommunity(ProfileStore profileStore) {
+        this.profileStore = profileStore;
+        profileListModel = new ProfileListModel();
 
         // Initialize statusLabel here, before any method calls that might use setStatus
         statusLabel = new JLabel("Ready.");
@@ -53,7 +84,7 @@ public class StudentCommunity {
         communityPanel = new JPanel(new BorderLayout(10, 10)); // Add some padding
         communityPanel.setBackground(new Color(240, 255, 240));
 
-        // Load profiles from CSV on startup. statusLabel is now initialized.
+        // Load profiles from the CSV snapshot and change log on startup. statusLabel is now initialized.
         loadProfilesFromCSV();
 
         // --- Top Section: Useful Tips ---
@@ -82,6 +113,8 @@ public class StudentCommunity {
         profileList.setFont(new Font("SansSerif", Font.PLAIN, 14));
         profileList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION); // Allow only one selection
         profileList.setCellRenderer(new StudentProfileCellRenderer()); // Set custom cell renderer for better display
+        // Measure one prototype row instead of every profile in the list
+        profileList.setPrototypeCellValue(new StudentProfile("Name", "student@example.com", "Origin Country", "Current Country"));
         JScrollPane profileScrollPane = new JScrollPane(profileList);
         profileScrollPane.setBorder(BorderFactory.createTitledBorder("Student Profiles")); // Titled border for list
         mainContentPanel.add(profileScrollPane, BorderLayout.CENTER);
@@ -101,8 +134,6 @@ public class StudentCommunity {
         // NEW: Add the VideoPanel to the east side of the communityPanel
         communityPanel.add(new VideoPanel(), BorderLayout.EAST);
 
-        // Initial update of the profile list after loading
-        updateProfileList();
     }
 
     /**
@@ -189,6 +220,16 @@ public class StudentCommunity {
         clearFilterButton.addActionListener(e -> clearFilter());
         connectStudentsPanel.add(clearFilterButton, gbc);
 
+        // Students Like Me Button: ranks everyone by similarity to the selected profile
+        gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2;
+        JButton likeMeButton = new JButton("Find Students Like Selected");
+        likeMeButton.setFont(buttonFont);
+        likeMeButton.setBackground(new Color(60, 179, 113)); // Medium sea green
+        likeMeButton.setForeground(Color.WHITE);
+        likeMeButton.setFocusPainted(false);
+        likeMeButton.addActionListener(e -> showStudentsLikeSelected());
+        connectStudentsPanel.add(likeMeButton, gbc);
+
         return connectStudentsPanel;
     }
 
@@ -241,44 +282,44 @@ public class StudentCommunity {
             return;
         }
 
+        if (profileStore == null) {
+            setStatus("<html><font color='red'>Error: Profile storage is unavailable.</font></html>");
+            return;
+        }
+
         // Check if editing an existing profile
-        int selectedIndex = profileList.getSelectedIndex();
-        if (selectedIndex != -1 && selectedIndex < studentProfiles.size()) {
-            // Update existing profile
-            StudentProfile existingProfile = studentProfiles.get(selectedIndex);
-            existingProfile.setName(name);
-            existingProfile.setEmail(email);
-            existingProfile.setOriginCountry(originCountry);
-            existingProfile.setCurrentCountry(currentCountry);
-            setStatus("<html><font color='green'>Profile updated successfully!</font></html>");
-        } else {
-            // Add new profile
-            for (StudentProfile p : studentProfiles) {
-                if (p.getEmail().equalsIgnoreCase(email)) {
-                    setStatus("<html><font color='red'>Error: A profile with this email already exists.</font></html>");
-                    return;
-                }
+        StudentProfile existingProfile = profileList.getSelectedValue();
+        try {
+            if (existingProfile != null) {
+                // Update existing profile; the store writes the change to its log in the background
+                reportSaved(profileStore.update(existingProfile.getEmail(), new StudentProfile(name, email, originCountry, currentCountry)),
+                        "Profile updated successfully!");
+            } else {
+                // Add new profile; the store rejects duplicate emails
+                reportSaved(profileStore.add(new StudentProfile(name, email, originCountry, currentCountry)),
+                        "New profile added!");
             }
-            studentProfiles.add(new StudentProfile(name, email, originCountry, currentCountry));
-            setStatus("<html><font color='green'>New profile added!</font></html>");
+        } catch (IllegalArgumentException e) {
+            // E.g. a duplicate email, a profile deleted meanwhile, or a field with a line break
+            setStatus("<html><font color='red'>Error: " + e.getMessage() + "</font></html>");
+            return;
         }
+        setStatus("<html><font color='blue'>Saving profile...</font></html>");
 
         clearProfileInputFields();
         updateProfileList();
-        saveProfilesToCSV(); // Save changes to CSV
     }
 
     /**
      * Loads the selected profile from the JList into the input fields for editing.
      */
     private void editProfile() {
-        int selectedIndex = profileList.getSelectedIndex();
-        if (selectedIndex == -1 || selectedIndex >= studentProfiles.size()) {
+        StudentProfile selectedProfile = profileList.getSelectedValue();
+        if (selectedProfile == null) {
             setStatus("<html><font color='red'>Please select a profile to edit.</font></html>");
             return;
         }
 
-        StudentProfile selectedProfile = studentProfiles.get(selectedIndex);
         nameField.setText(selectedProfile.getName());
         emailField.setText(selectedProfile.getEmail());
         originCountryField.setText(selectedProfile.getOriginCountry());
@@ -290,8 +331,8 @@ public class StudentCommunity {
      * Deletes the selected profile from the JList and updates the list and CSV.
      */
     private void deleteProfile() {
-        int selectedIndex = profileList.getSelectedIndex();
-        if (selectedIndex == -1 || selectedIndex >= studentProfiles.size()) {
+        StudentProfile selectedProfile = profileList.getSelectedValue();
+        if (selectedProfile == null || profileStore == null) {
             setStatus("<html><font color='red'>Please select a profile to delete.</font></html>");
             return;
         }
@@ -301,14 +342,33 @@ public class StudentCommunity {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            studentProfiles.remove(selectedIndex);
+            CompletableFuture<Void> saved = profileStore.delete(selectedProfile.getEmail()); // Queues a delete record for the log
             updateProfileList();
-            saveProfilesToCSV(); // Save changes to CSV
             clearProfileInputFields();
-            setStatus("<html><font color='green'>Profile deleted successfully!</font></html>");
+            if (saved != null) {
+                setStatus("<html><font color='blue'>Deleting profile...</font></html>");
+                reportSaved(saved, "Profile deleted successfully!");
+            }
         }
     }
 
+    /**
+     * Shows on the status label whether a queued profile change reached the disk.
+     * The store writes changes behind on its own thread, so the EDT never waits for the file system.
+     * @param saved Completes when the change is written.
+     * @param message The message to show once it is.
+     */
+    private void reportSaved(CompletableFuture<Void> saved, String message) {
+        saved.whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                setStatus("<html><font color='green'>" + message + "</font></html>");
+            } else {
+                System.err.println("Error saving profile: " + error.getMessage());
+                setStatus("<html><font color='red'>Error saving profile: " + error.getMessage() + "</font></html>");
+            }
+        }));
+    }
+
     /**
      * Filters the displayed student profiles in the JList based on the desired country.
      */
@@ -319,20 +379,91 @@ public class StudentCommunity {
             return;
         }
 
-        profileListModel.clear();
-        boolean found = false;
-        for (StudentProfile profile : studentProfiles) {
-            if (profile.getCurrentCountry().equalsIgnoreCase(desiredCountry)) {
-                profileListModel.addElement(profile);
-                found = true;
+        // The current-country index hands back only the matching profiles
+        profileList.clearSelection();
+        profileListModel.setView(store -> store.findByCurrentCountry(desiredCountry), count -> {
+            if (count == 0) {
+                setStatus("<html><font color='blue'>No students found in " + desiredCountry + ".</font></html>");
+            } else {
+                setStatus("<html><font color='green'>Showing students in " + desiredCountry + ".</font></html>");
+            }
+        }, this::showRefreshError);
+    }
+
+    /**
+     * Shows the profiles most similar to the selected one, best match first.
+     * The filter field, if filled in, is used as the country the student wants to go to.
+     */
+    private void showStudentsLikeSelected() {
+        StudentProfile selectedProfile = profileList.getSelectedValue();
+        if (selectedProfile == null) {
+            setStatus("<html><font color='red'>Please select your profile to find students like you.</font></html>");
+            return;
+        }
+        String desiredCountry = desiredCountryFilterField.getText().trim();
+        profileList.clearSelection();
+        profileListModel.setView(store -> {
+            List<StudentProfile> matches = new ArrayList<>();
+            for (ProfileMatcher.Match match : findStudentsLikeMe(selectedProfile.getEmail(),
+                    desiredCountry.isEmpty() ? null : desiredCountry, 0, MATCHES_PAGE_SIZE)) {
+                matches.add(match.getProfile());
             }
+            return matches;
+        }, count -> {
+            if (count == 0) {
+                setStatus("<html><font color='blue'>No similar students found for " + selectedProfile.getName() + ".</font></html>");
+            } else {
+                setStatus("<html><font color='green'>Students most like " + selectedProfile.getName() + ", best match first.</font></html>");
+            }
+        }, this::showRefreshError);
+    }
+
+    /**
+     * Ranks the other students by similarity to a student: shared origin country, shared current
+     * country, living in the desired country, and saved scholarships or courses in common.
+     * @param email The email of the student to match.
+     * @param desiredCountry The country the student wants to go to, or null.
+     * @param page The zero-based page number.
+     * @param pageSize The number of matches per page.
+     * @return The matches on the requested page, best first; empty if the email is unknown.
+     */
+    public List<ProfileMatcher.Match> findStudentsLikeMe(String email, String desiredCountry, int page, int pageSize) {
+        if (profileStore == null) {
+            return new ArrayList<>();
+        }
+        StudentProfile student = profileStore.findByEmail(email);
+        if (student == null) {
+            return new ArrayList<>();
+        }
+        return currentProfileMatcher().rank(student, desiredCountry, getSavedItems(email), page * pageSize, pageSize);
+    }
+
+    /**
+     * Records the scholarships and courses a student has saved, for "students like me" matching.
+     * @param email The student's email.
+     * @param items Keys identifying the saved items, e.g. scholarship titles or course URLs.
+     */
+    public void setSavedItems(String email, Collection<String> items) {
+        savedItemsByEmail.put(ProfileStore.emailKey(email), new HashSet<>(items));
+        synchronized (this) {
+            profileMatcher = null; // Signatures changed: rebuild on next use
         }
+    }
+
+    private Set<String> getSavedItems(String email) {
+        return savedItemsByEmail.getOrDefault(ProfileStore.emailKey(email), Collections.emptySet());
+    }
 
-        if (!found) {
-            setStatus("<html><font color='blue'>No students found in " + desiredCountry + ".</font></html>");
-        } else {
-            setStatus("<html><font color='green'>Showing students in " + desiredCountry + ".</font></html>");
+    /**
+     * Returns the matcher for the current profiles, rebuilding its feature vectors only after a change.
+     */
+    private synchronized ProfileMatcher currentProfileMatcher() {
+        long version = profileStore.getVersion();
+        if (profileMatcher == null || profileMatcherVersion != version) {
+            profileMatcher = new ProfileMatcher(profileStore.getProfiles(), profile -> getSavedItems(profile.getEmail()));
+            profileMatcherVersion = version;
         }
+        return profileMatcher;
     }
 
     /**
@@ -340,19 +471,23 @@ public class StudentCommunity {
      */
     private void clearFilter() {
         desiredCountryFilterField.setText("");
-        updateProfileList(); // Reload all profiles
-        setStatus("<html><font color='green'>Filter cleared. Showing all profiles.</font></html>");
+        profileList.clearSelection();
+        profileListModel.setView(ProfileListModel.ALL_PROFILES,
+                count -> setStatus("<html><font color='green'>Filter cleared. Showing all profiles.</font></html>"),
+                this::showRefreshError);
     }
 
     /**
-     * Updates the JList model with the current contents of the studentProfiles list.
-     * This method is called after adding, editing, or deleting profiles.
+     * Recomputes the list's current view of the profile store in the background.
+     * This method is called after adding, editing, or deleting profiles; the list model
+     * fires one event for the rows that changed.
      */
     private void updateProfileList() {
-        profileListModel.clear();
-        for (StudentProfile profile : studentProfiles) {
-            profileListModel.addElement(profile);
-        }
+        profileListModel.refresh(null, this::showRefreshError);
+    }
+
+    private void showRefreshError(Exception e) {
+        setStatus("<html><font color='red'>Error showing profiles: " + e.getMessage() + "</font></html>");
     }
 
     /**
@@ -387,63 +522,59 @@ public class StudentCommunity {
     }
 
     /**
-     * Saves the current list of student profiles to a CSV file.
-     * Each profile is written as a row in the CSV.
-     */
-    private void saveProfilesToCSV() {
-        try (CSVWriter writer = new CSVWriter(new FileWriter(PROFILES_CSV_FILE))) {
-            // Write header
-            writer.writeNext(new String[]{"Name", "Email", "OriginCountry", "CurrentCountry"});
-            // Write profile data
-            for (StudentProfile profile : studentProfiles) {
-                writer.writeNext(new String[]{
-                        profile.getName(),
-                        profile.getEmail(),
-                        profile.getOriginCountry(),
-                        profile.getCurrentCountry()
-                });
-            }
-            setStatus("<html><font color='green'>Profiles saved successfully!</font></html>");
-        } catch (IOException e) {
-            System.err.println("Error saving profiles to CSV: " + e.getMessage());
-            setStatus("<html><font color='red'>Error saving profiles: " + e.getMessage() + "</font></html>");
-        }
-    }
-
-    /**
-     * Loads student profiles from the CSV file into the application.
-     * This method is called during initialization.
+     * Opens the profile store, which loads the profiles from the CSV snapshot and replays
+     * the change log written since. This method is called during initialization.
+     * The shared store is opened in the background, so the EDT does not read the profile files.
      */
     private void loadProfilesFromCSV() {
-        File file = new File(PROFILES_CSV_FILE);
-        if (!file.exists()) {
-            System.out.println("Profile CSV file not found. Starting with empty profiles.");
-            return; // No file to load from
+        if (profileStore != null) {
+            profileListModel.setStore(profileStore);
+            setStatus("<html><font color='green'>Profiles loaded successfully!</font></html>");
+            return;
         }
-
-        try (CSVReader reader = new CSVReader(new FileReader(PROFILES_CSV_FILE))) {
-            List<String[]> records = reader.readAll();
-            if (records.isEmpty()) return;
-
-            // Skip header row if it exists
-            int startRow = 0;
-            if (records.get(0).length == 4 && records.get(0)[0].equalsIgnoreCase("Name")) {
-                startRow = 1; // Assuming header row
+        setStatus("<html><font color='blue'>Loading profiles...</font></html>");
+        new SwingWorker<ProfileStore, Void>() {
+            @Override
+            protected ProfileStore doInBackground() throws IOException {
+                return sharedProfileStore();
             }
 
-            for (int i = startRow; i < records.size(); i++) {
-                String[] record = records.get(i);
-                if (record.length >= 4) { // Ensure enough columns
-                    studentProfiles.add(new StudentProfile(record[0], record[1], record[2], record[3]));
-                } else {
-                    System.err.println("Skipping malformed record in CSV: " + String.join(",", record));
+            @Override
+            protected void done() {
+                try {
+                    profileStore = get();
+                    profileListModel.setStore(profileStore);
+                    setStatus("<html><font color='green'>Profiles loaded successfully!</font></html>");
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Error loading profiles from CSV: " + cause.getMessage());
+                    setStatus("<html><font color='red'>Error loading profiles: " + cause.getMessage() + "</font></html>");
                 }
             }
-            setStatus("<html><font color='green'>Profiles loaded successfully!</font></html>");
-        } catch (IOException | CsvException e) {
-            System.err.println("Error loading profiles from CSV: " + e.getMessage());
-            setStatus("<html><font color='red'>Error loading profiles: " + e.getMessage() + "</font></html>");
+        }.execute();
+    }
+
+    /**
+     * Returns the profile store backed by the profiles CSV, opening it on first use.
+     * Opening the same files twice would let two change logs race, so everyone uses this one.
+     * @return The shared profile store.
+     * @throws IOException if the profile files cannot be opened.
+     */
+    public static synchronized ProfileStore sharedProfileStore() throws IOException {
+        if (sharedProfileStore == null) {
+            ProfileStore store = ProfileStore.open(Paths.get(PROFILES_CSV_FILE), Paths.get(PROFILES_LOG_FILE),
+                    ProfileStore.DEFAULT_COMPACTION_THRESHOLD);
+            // Changes are written behind, so write out whatever is still queued when the application exits
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Error saving profiles on exit: " + e.getMessage());
+                }
+            }, "profile-store-shutdown"));
+            sharedProfileStore = store;
         }
+        return sharedProfileStore;
     }
 
     /**
@@ -552,8 +683,22 @@ public class StudentCommunity {
     /**
      * Inner static class for the Video display panel.
      * Contains a JList to display video titles and opens URLs in the default browser.
+     * The catalog is read from a data file off the EDT, and thumbnails arrive asynchronously.
      */
     private static class VideoPanel extends JPanel {
+        // Video catalog in the working directory, falling back to the bundled one
+        private static final String VIDEOS_CSV_FILE = "videos.csv";
+        private static final String VIDEOS_CSV_PATH = "/videos.csv";
+        // Thumbnails and metadata downloaded before, kept between runs
+        private static final String VIDEO_CACHE_DIRECTORY = "video_cache";
+        // Number of videos whose decoded thumbnails stay in memory
+        private static final int MAX_CACHED_THUMBNAILS = 200;
+
+        // Shared by every panel so each video is fetched and decoded once per process
+        private static final VideoMediaCache MEDIA_CACHE = new VideoMediaCache(
+                new OkHttpClient.Builder().connectTimeout(5, TimeUnit.SECONDS).readTimeout(10, TimeUnit.SECONDS).build(),
+                Paths.get(VIDEO_CACHE_DIRECTORY), MAX_CACHED_THUMBNAILS);
+
         private final JList<Video> videoList;
         private final DefaultListModel<Video> videoListModel;
 
@@ -567,7 +712,9 @@ public class StudentCommunity {
             videoList = new JList<>(videoListModel);
             videoList.setFont(new Font("SansSerif", Font.PLAIN, 14));
             videoList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-            videoList.setCellRenderer(new VideoCellRenderer());
+            videoList.setCellRenderer(new VideoCellRenderer(MEDIA_CACHE, videoList::repaint));
+            // Every row has the thumbnail's height, so the list never measures all of its cells
+            videoList.setFixedCellHeight(VideoMediaCache.THUMBNAIL_HEIGHT + 10);
 
             // Listener to open video URL when selected
             videoList.addListSelectionListener(e -> {
@@ -595,33 +742,69 @@ public class StudentCommunity {
 
             add(new JScrollPane(videoList), BorderLayout.CENTER);
 
-            loadExampleVideos(); // Populate with example videos
+            loadVideos(); // Populate from the video catalog file
         }
 
         /**
-         * Populates the video list with hardcoded example videos.
+         * Reads the video catalog in the background and shows it when ready.
          */
-        private void loadExampleVideos() {
-            videoListModel.addElement(new Video(
-                    "How to move abroad for studies in 2024 (My experience)",
-                    "A comprehensive guide to preparing for your move abroad.",
-                    "https://youtu.be/_3pfqU6hEkU" // Your provided URL
-            ));
-            videoListModel.addElement(new Video(
-                    "Moving Abroad: How to pick the right country for you",
-                    "Tips on choosing the best country for your international studies.",
-                    "https://youtu.be/9r059QdBybA"
-            ));
-            videoListModel.addElement(new Video(
-                    "Study Abroad: What to do before you leave?",
-                    "Essential steps to take before departing for your study abroad journey.",
-                    "https://youtu.be/QlFDaAeQQc0"
-            ));
-            videoListModel.addElement(new Video(
-                    "Study Abroad: How to prepare for your new life!",
-                    "Practical advice for adapting to life in a new country.",
-                    "https://youtu.be/HFIITY2J9rQ"
-            ));
+        private void loadVideos() {
+            new SwingWorker<List<Video>, Void>() {
+                @Override
+                protected List<Video> doInBackground() throws Exception {
+                    File file = new File(VIDEOS_CSV_FILE);
+                    if (file.isFile()) {
+                        try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                            return readVideos(reader);
+                        }
+                    }
+                    InputStream is = VideoPanel.class.getResourceAsStream(VIDEOS_CSV_PATH);
+                    if (is == null) {
+                        throw new FileNotFoundException("Video catalog not found: " + VIDEOS_CSV_FILE + " or " + VIDEOS_CSV_PATH);
+                    }
+                    try (Reader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                        return readVideos(reader);
+                    }
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        for (Video video : get()) {
+                            videoListModel.addElement(video);
+                        }
+                    } catch (Exception ex) {
+                        System.err.println("Error loading video catalog: " + ex.getMessage());
+                    }
+                }
+            }.execute();
+        }
+
+        /**
+         * Parses a video catalog with the columns Title, Description and URL.
+         * @param reader The CSV content.
+         * @return The videos, in file order.
+         * @throws IOException if the catalog cannot be read.
+         */
+        static List<Video> readVideos(Reader reader) throws IOException {
+            List<Video> videos = new ArrayList<>();
+            try (CSVReader csvReader = new CSVReader(reader)) {
+                String[] record;
+                boolean first = true;
+                while ((record = csvReader.readNext()) != null) {
+                    if (first && record.length >= 3 && record[0].equalsIgnoreCase("Title")) {
+                        first = false;
+                        continue; // Skip the header row
+                    }
+                    first = false;
+                    if (record.length >= 3 && !record[2].trim().isEmpty()) {
+                        videos.add(new Video(record[0], record[1], record[2].trim()));
+                    }
+                }
+            } catch (CsvException e) {
+                throw new IOException("Malformed video catalog", e);
+            }
+            return videos;
         }
     }
 
@@ -655,13 +838,24 @@ public class StudentCommunity {
      * Renders each video in the JList with a title and description.
      */
     private static class VideoCellRenderer extends JPanel implements ListCellRenderer<Video> {
+        // Shown until a video's thumbnail has been loaded, or if it cannot be
+        private static final Icon PLACEHOLDER = createPlaceholder();
+
+        private final VideoMediaCache mediaCache;
+        private final Runnable onMediaLoaded;
+        private final JLabel thumbnailLabel;
         private final JLabel titleLabel;
         private final JLabel descriptionLabel;
 
-        public VideoCellRenderer() {
+        public VideoCellRenderer(final VideoMediaCache mediaCache, final Runnable onMediaLoaded) {
             super(new BorderLayout(5, 0));
+            this.mediaCache = mediaCache;
+            this.onMediaLoaded = onMediaLoaded;
             setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
 
+            thumbnailLabel = new JLabel(PLACEHOLDER);
+            add(thumbnailLabel, BorderLayout.WEST);
+
             titleLabel = new JLabel();
             titleLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
             titleLabel.setForeground(new Color(0, 100, 0));
@@ -682,8 +876,13 @@ public class StudentCommunity {
                                                       final int index,
                                                       final boolean isSelected,
                                                       final boolean cellHasFocus) {
+            // Never blocks: unknown thumbnails show the placeholder and repaint the list once loaded
+            final VideoMediaCache.Media media = mediaCache.get(video.getUrl(), onMediaLoaded);
+            thumbnailLabel.setIcon(media != null && media.getIcon() != null ? media.getIcon() : PLACEHOLDER);
             titleLabel.setText(video.getTitle());
-            descriptionLabel.setText(video.getDescription());
+            descriptionLabel.setText(media != null && media.getChannel() != null
+                    ? media.getChannel() + " - " + video.getDescription() : video.getDescription());
+            setToolTipText(video.getDescription());
 
             if (isSelected) {
                 setBackground(list.getSelectionBackground());
@@ -698,5 +897,19 @@ public class StudentCommunity {
 
             return this;
         }
+
+        private static Icon createPlaceholder() {
+            final BufferedImage image = new BufferedImage(VideoMediaCache.THUMBNAIL_WIDTH,
+                    VideoMediaCache.THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            final Graphics2D graphics = image.createGraphics();
+            graphics.setColor(new Color(220, 220, 220));
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.setColor(Color.GRAY);
+            final int cx = image.getWidth() / 2;
+            final int cy = image.getHeight() / 2;
+            graphics.fillPolygon(new int[]{cx - 8, cx - 8, cx + 10}, new int[]{cy - 10, cy + 10, cy}, 3); // Play symbol
+            graphics.dispose();
+            return new ImageIcon(image);
+        }
     }
 }
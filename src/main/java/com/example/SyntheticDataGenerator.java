@@ -0,0 +1,486 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * SyntheticDataGenerator writes schema-compatible copies of the bundled datasets at any size,
+ * for load-testing the loaders, indexes and searches with millions of rows.
+ * The value distributions are learned from the bundled files: every generated row starts from
+ * a randomly drawn bundled row (so correlated columns such as "is paid" and price stay
+ * consistent), and the columns that must vary are synthesized from it. Titles are spliced from
+ * two bundled titles of the same subject, Udemy subscriber counts follow a power law fitted to
+ * the bundled counts, and edX participant counts a log-normal distribution. Ids, emails and
+ * course numbers are made unique per row.
+ * Output is deterministic for a given seed, and the first rows of a larger file are the same
+ * as those of a smaller one. Rows are streamed to disk, so memory use does not grow with the
+ * number of rows.
+ */
+final class SyntheticDataGenerator {
+
+    /**
+     * The datasets that can be generated, with the bundled file each one is learned from.
+     */
+    enum Dataset {
+        SCHOLARSHIPS("Universities_Schoolarships_All_Around_the_World.csv"),
+        UDEMY("udemy.csv"),
+        EDX("appendix.csv"),
+        PROFILES("student_profiles.csv");
+
+        private final String fileName;
+
+        Dataset(final String fileName) {
+            this.fileName = fileName;
+        }
+
+        /**
+         * @return The name of the bundled file, which is also used for the generated file.
+         */
+        String getFileName() { return fileName; }
+    }
+
+    private static final DateTimeFormatter LAUNCH_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int LAUNCH_DATE_JITTER_DAYS = 90; // Launch dates move up to this many days either way
+    private static final int MAX_SUBSCRIBERS_FACTOR = 10; // Power law draws are capped at this multiple of the bundled maximum
+    private static final long UDEMY_ID_GAP = 1_000_000; // Generated course ids start this far above the bundled ones
+    // Scholarship locations that are regions rather than countries, skipped for profile countries
+    private static final Set<String> REGION_SLUGS = Set.of("europe", "asia", "africa", "worldwide");
+    // The bundled profiles are too few to learn names from, so they are mixed with these
+    private static final String[] FIRST_NAMES = {"Amina", "Carlos", "Chen", "Dora", "Fatima", "Grace", "Hiro", "Ivan",
+            "Joseph", "Lena", "Maria", "Mike", "Nikki", "Olu", "Petra", "Priya", "Sam", "Sofia", "Tariq", "Yusuf"};
+    private static final String[] LAST_NAMES = {"Ahmed", "Garcia", "Kim", "Kowalski", "Matovu", "Mensah", "Müller",
+            "Namuyiga", "Nguyen", "Okafor", "Patel", "Rossi", "Santos", "Schmidt", "Silva", "Smith", "Tanaka", "Wang"};
+
+    private final Path sourceDirectory;
+    private final long seed;
+    private final Map<Dataset, Sample> samples = new EnumMap<>(Dataset.class); // Learned on first use
+
+    /**
+     * Constructor for SyntheticDataGenerator.
+     * @param sourceDirectory The directory holding the bundled CSV files to learn from.
+     * @param seed The random seed; the same seed always produces the same files.
+     */
+    SyntheticDataGenerator(final Path sourceDirectory, final long seed) {
+        this.sourceDirectory = sourceDirectory;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a dataset file.
+     * @param dataset The dataset to generate.
+     * @param rows The number of data rows to write.
+     * @param file The file to write, replaced if it exists.
+     * @throws IOException if a bundled file cannot be read or the file cannot be written.
+     */
+    void generate(final Dataset dataset, final long rows, final Path file) throws IOException {
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            generate(dataset, rows, writer);
+        }
+    }
+
+    /**
+     * Generates a dataset as CSV, header first.
+     * @param dataset The dataset to generate.
+     * @param rows The number of data rows to write.
+     * @param writer Receives the CSV text. It is flushed but not closed.
+     * @throws IOException if a bundled file cannot be read or the writer fails.
+     */
+    void generate(final Dataset dataset, final long rows, final Writer writer) throws IOException {
+        final Sample sample = sample(dataset);
+        // One stream per dataset, so generating one file never changes another
+        final SplittableRandom random = new SplittableRandom(seed * 31 + dataset.ordinal());
+        final CSVWriter csvWriter = new CSVWriter(writer);
+        final boolean quoteAll = dataset == Dataset.PROFILES; // As ProfileStore writes its snapshot
+        csvWriter.writeNext(sample.header, quoteAll);
+        for (long row = 0; row < rows; row++) {
+            final String[] record;
+            switch (dataset) {
+                case SCHOLARSHIPS:
+                    record = scholarship(sample, random, row);
+                    break;
+                case UDEMY:
+                    record = udemyCourse(sample, random, row);
+                    break;
+                case EDX:
+                    record = edxCourse(sample, random, row);
+                    break;
+                default:
+                    record = profile(sample, random, row);
+                    break;
+            }
+            csvWriter.writeNext(record, quoteAll);
+        }
+        csvWriter.flush();
+        if (csvWriter.checkError()) {
+            throw new IOException("Failed to write " + dataset.getFileName());
+        }
+    }
+
+    private String[] scholarship(final Sample sample, final SplittableRandom random, final long row) {
+        final String[] record = sample.draw(random).clone();
+        record[0] = String.valueOf(row);
+        record[1] = spliceTitle(record[1], sample.draw(random)[1], random);
+        // Degrees, funds, deadline and location are drawn independently, each with its bundled frequencies
+        for (int column = 2; column < record.length; column++) {
+            record[column] = sample.draw(random)[column];
+        }
+        return record;
+    }
+
+    private String[] udemyCourse(final Sample sample, final SplittableRandom random, final long row) {
+        final String[] record = sample.draw(random).clone();
+        final long id = sample.udemyFirstId + row;
+        record[sample.column("course_id")] = String.valueOf(id);
+        final String title = spliceTitle(record[sample.column("course_title")],
+                sample.drawSameSubject(random, record)[sample.column("course_title")], random);
+        record[sample.column("course_title")] = title;
+        record[sample.column("url")] = "https://www.udemy.com/" + slug(title) + "-" + id + "/";
+
+        final long subscribers = sample.drawSubscribers(random);
+        final int templateSubscribers = parseInt(record[sample.column("num_subscribers")]);
+        final int templateReviews = parseInt(record[sample.column("num_reviews")]);
+        // Keep the template's reviews per subscriber
+        final long reviews = templateSubscribers == 0 ? 0 : Math.round((double) subscribers * templateReviews / templateSubscribers);
+        record[sample.column("num_subscribers")] = String.valueOf(subscribers);
+        record[sample.column("num_reviews")] = String.valueOf(reviews);
+        return record;
+    }
+
+    private String[] edxCourse(final Sample sample, final SplittableRandom random, final long row) {
+        final String[] record = sample.draw(random).clone();
+        record[sample.column("course number")] += "." + row;
+        record[sample.column("course title")] = spliceTitle(record[sample.column("course title")],
+                sample.drawSameSubject(random, record)[sample.column("course title")], random);
+        try {
+            final LocalDate launched = LocalDate.parse(record[sample.column("launch date")].trim(), LAUNCH_DATE);
+            record[sample.column("launch date")] = launched.plusDays(random.nextInt(-LAUNCH_DATE_JITTER_DAYS,
+                    LAUNCH_DATE_JITTER_DAYS + 1)).format(LAUNCH_DATE);
+        } catch (final DateTimeParseException e) {
+            // Leave an unparsable date as it is, like the bundled file
+        }
+
+        // Scale the counts to a new participant total, keeping the template's ratios
+        final double templateParticipants = parseDouble(record[sample.column("participants (course content accessed)")]);
+        final long participants = Math.max(1, Math.round(Math.exp(sample.logParticipantsMean
+                + sample.logParticipantsDeviation * random.nextGaussian())));
+        final double scale = templateParticipants > 0 ? participants / templateParticipants : 0;
+        final long audited = Math.min(participants, Math.round(scale * parseDouble(record[sample.column("audited (> 50% course content accessed)")])));
+        final long certified = Math.min(participants, Math.round(scale * parseDouble(record[sample.column("certified")])));
+        record[sample.column("participants (course content accessed)")] = String.valueOf(participants);
+        record[sample.column("audited (> 50% course content accessed)")] = String.valueOf(audited);
+        record[sample.column("certified")] = String.valueOf(certified);
+        record[sample.column("% audited")] = twoDecimals(100.0 * audited / participants);
+        record[sample.column("% certified")] = twoDecimals(100.0 * certified / participants);
+        record[sample.column("% certified of > 50% course content accessed")] = audited == 0 ? "0"
+                : twoDecimals(100.0 * Math.min(certified, audited) / audited);
+        record[sample.column("total course hours (thousands)")] = twoDecimals(
+                scale * parseDouble(record[sample.column("total course hours (thousands)")]));
+        return record;
+    }
+
+    private String[] profile(final Sample sample, final SplittableRandom random, final long row) {
+        final String[] record = sample.draw(random).clone();
+        final String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        final String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        final String email = record[sample.column("email")];
+        // Emails are the profile key, so the row number makes them unique
+        record[sample.column("name")] = first + " " + last;
+        record[sample.column("email")] = (first + "." + last).toLowerCase(Locale.ROOT) + row
+                + email.substring(Math.max(0, email.indexOf('@')));
+        record[sample.column("origincountry")] = sample.drawCountry(random);
+        record[sample.column("currentcountry")] = sample.drawCountry(random);
+        return record;
+    }
+
+    /**
+     * Joins the first half of one title to the second half of another, at word boundaries.
+     */
+    private static String spliceTitle(final String first, final String second, final SplittableRandom random) {
+        final String[] head = first.trim().split(" ");
+        final String[] tail = second.trim().split(" ");
+        if (head.length < 2 || tail.length < 2 || random.nextBoolean()) {
+            return first; // Keep some titles whole, as short titles cannot be split
+        }
+        final StringBuilder title = new StringBuilder();
+        for (int i = 0; i < (head.length + 1) / 2; i++) {
+            title.append(head[i]).append(' ');
+        }
+        for (int i = tail.length / 2; i < tail.length; i++) {
+            title.append(tail[i]).append(i + 1 < tail.length ? " " : "");
+        }
+        return title.toString();
+    }
+
+    private static String slug(final String title) {
+        final StringBuilder slug = new StringBuilder();
+        for (int i = 0; i < title.length(); i++) {
+            final char c = Character.toLowerCase(title.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                slug.append(c);
+            } else if (slug.length() > 0 && slug.charAt(slug.length() - 1) != '-') {
+                slug.append('-');
+            }
+        }
+        return slug.toString();
+    }
+
+    private static String twoDecimals(final double value) {
+        final double rounded = Math.round(value * 100) / 100.0;
+        return rounded == Math.rint(rounded) ? String.valueOf((long) rounded) : String.valueOf(rounded);
+    }
+
+    private static int parseInt(final String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double parseDouble(final String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private synchronized Sample sample(final Dataset dataset) throws IOException {
+        Sample sample = samples.get(dataset);
+        if (sample == null) {
+            sample = new Sample(read(dataset));
+            switch (dataset) {
+                case UDEMY:
+                    sample.learnSubjects("subject");
+                    sample.learnSubscribers();
+                    break;
+                case EDX:
+                    sample.learnSubjects("course subject");
+                    sample.learnParticipants();
+                    break;
+                case PROFILES:
+                    sample.learnCountries(read(Dataset.SCHOLARSHIPS));
+                    break;
+                default:
+                    break;
+            }
+            samples.put(dataset, sample);
+        }
+        return sample;
+    }
+
+    /**
+     * Reads a bundled file, skipping records with missing columns.
+     */
+    private List<String[]> read(final Dataset dataset) throws IOException {
+        final Path file = sourceDirectory.resolve(dataset.getFileName());
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             final CSVReader csvReader = new CSVReader(reader)) {
+            final List<String[]> records = new ArrayList<>();
+            for (final String[] record : csvReader.readAll()) {
+                if (records.isEmpty() || record.length == records.get(0).length) {
+                    records.add(record);
+                }
+            }
+            if (records.size() < 2) {
+                throw new IOException("No data rows to learn from in " + file);
+            }
+            return records;
+        } catch (final CsvException e) {
+            throw new IOException("Failed to parse " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The rows of one bundled file and the distributions learned from them. Its size is bounded
+     * by the bundled file, whatever the number of rows generated.
+     */
+    private static final class Sample {
+        private final String[] header;
+        private final List<String[]> rows;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final Map<String, List<String[]>> rowsBySubject = new HashMap<>();
+        private int subjectColumn = -1;
+        // Udemy subscribers: the bundled counts below the median, and a power law fitted above it
+        private int[] subscriberBody;
+        private double subscriberMinimum;
+        private double subscriberExponent;
+        private long maxSubscribers;
+        private long udemyFirstId;
+        // edX participants: log-normal parameters
+        private double logParticipantsMean;
+        private double logParticipantsDeviation;
+        // Profile countries: the bundled ones, then those from the scholarship locations
+        private final List<String> countries = new ArrayList<>();
+        private int bundledCountries;
+
+        Sample(final List<String[]> records) {
+            this.header = records.get(0);
+            this.rows = records.subList(1, records.size());
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        int column(final String name) {
+            final Integer column = columns.get(name);
+            if (column == null) {
+                throw new IllegalStateException("Bundled file has no column: " + name);
+            }
+            return column;
+        }
+
+        String[] draw(final SplittableRandom random) {
+            return rows.get(random.nextInt(rows.size()));
+        }
+
+        String[] drawSameSubject(final SplittableRandom random, final String[] record) {
+            final List<String[]> sameSubject = rowsBySubject.get(record[subjectColumn]);
+            return sameSubject.get(random.nextInt(sameSubject.size()));
+        }
+
+        long drawSubscribers(final SplittableRandom random) {
+            // Half of the courses are below the median, drawn as bundled; the rest from the fitted tail
+            if (random.nextBoolean()) {
+                return subscriberBody[random.nextInt(subscriberBody.length)];
+            }
+            final double tail = subscriberMinimum * Math.pow(1 - random.nextDouble(), -1 / (subscriberExponent - 1));
+            return Math.min(maxSubscribers, Math.round(tail));
+        }
+
+        String drawCountry(final SplittableRandom random) {
+            // Bundled profile countries as often as all the scholarship countries together
+            return random.nextBoolean() ? countries.get(random.nextInt(bundledCountries))
+                    : countries.get(random.nextInt(countries.size()));
+        }
+
+        void learnSubjects(final String subjectName) {
+            subjectColumn = column(subjectName);
+            for (final String[] row : rows) {
+                rowsBySubject.computeIfAbsent(row[subjectColumn], subject -> new ArrayList<>()).add(row);
+            }
+        }
+
+        void learnSubscribers() {
+            final int column = column("num_subscribers");
+            final long[] counts = new long[rows.size()];
+            long maxId = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = parseInt(rows.get(i)[column]);
+                maxId = Math.max(maxId, parseInt(rows.get(i)[column("course_id")]));
+            }
+            Arrays.sort(counts);
+            subscriberMinimum = Math.max(1, counts[counts.length / 2]);
+            // Maximum likelihood (Hill) estimate of the exponent over the counts from the median up
+            double logSum = 0;
+            int tailCount = 0;
+            for (final long count : counts) {
+                if (count >= subscriberMinimum) {
+                    logSum += Math.log(count / subscriberMinimum);
+                    tailCount++;
+                }
+            }
+            subscriberExponent = logSum > 0 ? 1 + tailCount / logSum : 2;
+            maxSubscribers = MAX_SUBSCRIBERS_FACTOR * Math.max(1, counts[counts.length - 1]);
+            subscriberBody = new int[Math.max(1, counts.length / 2)];
+            for (int i = 0; i < subscriberBody.length; i++) {
+                subscriberBody[i] = (int) counts[i];
+            }
+            udemyFirstId = maxId + UDEMY_ID_GAP;
+        }
+
+        void learnParticipants() {
+            final int column = column("participants (course content accessed)");
+            double sum = 0;
+            double sumOfSquares = 0;
+            int count = 0;
+            for (final String[] row : rows) {
+                final double participants = parseDouble(row[column]);
+                if (participants > 0) {
+                    final double log = Math.log(participants);
+                    sum += log;
+                    sumOfSquares += log * log;
+                    count++;
+                }
+            }
+            logParticipantsMean = count == 0 ? 0 : sum / count;
+            logParticipantsDeviation = count == 0 ? 0 : Math.sqrt(Math.max(0, sumOfSquares / count - logParticipantsMean * logParticipantsMean));
+        }
+
+        void learnCountries(final List<String[]> scholarships) {
+            for (final String[] row : rows) {
+                countries.add(row[column("origincountry")]);
+                countries.add(row[column("currentcountry")]);
+            }
+            bundledCountries = countries.size();
+            for (final String[] row : scholarships.subList(1, scholarships.size())) {
+                final String location = row[row.length - 1].trim();
+                if (!location.isEmpty() && !REGION_SLUGS.contains(location)) {
+                    countries.add(countryName(location));
+                }
+            }
+        }
+
+        private static String countryName(final String slug) {
+            final StringBuilder name = new StringBuilder();
+            for (final String word : slug.split("-")) {
+                if (!word.isEmpty()) {
+                    name.append(name.length() > 0 ? " " : "").append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+                }
+            }
+            return name.toString();
+        }
+    }
+
+    /**
+     * Writes generated datasets to a directory, e.g.
+     * {@code SyntheticDataGenerator generated 1000000 42 udemy edx}.
+     * @param args The output directory, the number of rows per file, an optional seed (default 1)
+     *             and optionally the datasets to generate (default all).
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticDataGenerator <output directory> <rows> [seed] [scholarships|udemy|edx|profiles...]");
+            System.exit(2);
+        }
+        final Path output = Paths.get(args[0]);
+        final long rows = Long.parseLong(args[1]);
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        final List<Dataset> datasets = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            datasets.add(Dataset.valueOf(args[i].toUpperCase(Locale.ROOT)));
+        }
+        if (datasets.isEmpty()) {
+            datasets.addAll(List.of(Dataset.values()));
+        }
+
+        Files.createDirectories(output);
+        final SyntheticDataGenerator generator = new SyntheticDataGenerator(Paths.get(""), seed);
+        for (final Dataset dataset : datasets) {
+            final long start = System.nanoTime();
+            final Path file = output.resolve(dataset.getFileName());
+            generator.generate(dataset, rows, file);
+            System.out.println("Wrote " + rows + " rows to " + file + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example;
+
+/**
+ * TopK keeps the K best rows of a scan in a bounded min-heap of primitive keys, so ranking
+ * n rows costs O(n log K) time and O(K) memory instead of sorting all of them.
+ * Higher keys are better; among equal keys the earlier row wins, provided rows are offered
+ * in ascending order, so results match a stable descending sort.
+ */
+final class TopK {
+
+    private final long[] keys;
+    private final int[] rows;
+    private int size;
+
+    /**
+     * Constructor for TopK.
+     * @param limit How many rows to keep, at least 1.
+     */
+    TopK(final int limit) {
+        this.keys = new long[limit];
+        this.rows = new int[limit];
+    }
+
+    /**
+     * Offers a row. It is kept if the heap is not full or it beats the worst row kept.
+     * @param key The row's ranking key; higher is better.
+     * @param row The row, offered in ascending order.
+     */
+    void offer(final long key, final int row) {
+        if (size < keys.length) {
+            keys[size] = key;
+            rows[size] = row;
+            siftUp(size++);
+        } else if (key > keys[0]) {
+            // Rows arrive in ascending order, so an equal key never beats the kept row
+            keys[0] = key;
+            rows[0] = row;
+            siftDown(size);
+        }
+    }
+
+    /**
+     * @return The number of rows kept so far.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Empties the heap into an array, best row first.
+     * @return The kept rows in ranking order.
+     */
+    int[] drain() {
+        // Drain the heap from worst to best, filling the result from the back
+        final int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = rows[0];
+            keys[0] = keys[i];
+            rows[0] = rows[i];
+            siftDown(i);
+        }
+        size = 0;
+        return result;
+    }
+
+    // Heap element a is worse than b if it has a lower key, or the same key and a later row
+    private boolean worse(final int a, final int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && rows[a] > rows[b]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (!worse(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(final int heapSize) {
+        int index = 0;
+        while (true) {
+            final int left = 2 * index + 1;
+            if (left >= heapSize) {
+                break;
+            }
+            final int right = left + 1;
+            final int child = right < heapSize && worse(right, left) ? right : left;
+            if (!worse(child, index)) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(final int a, final int b) {
+        final long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        final int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+    }
+}
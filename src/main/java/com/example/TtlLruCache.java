@@ -0,0 +1,87 @@
+package com.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TtlLruCache is a small thread-safe cache with a fixed capacity and a time-to-live.
+ * Entries expire a fixed time after they were stored, and when the cache is full the
+ * least recently used entry is evicted.
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+final class TtlLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /**
+     * Constructor for TtlLruCache.
+     * @param maxEntries The maximum number of entries kept.
+     * @param ttl How long an entry stays valid.
+     * @param unit The unit of ttl.
+     */
+    TtlLruCache(final int maxEntries, final long ttl, final TimeUnit unit) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        // Access order makes iteration start at the least recently used entry
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for a key if it is present and has not expired.
+     * @param key The key to look up.
+     * @return The cached value, or null.
+     */
+    synchronized V get(final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAt >= ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, replacing any previous value and restarting its time-to-live.
+     * @param key The key.
+     * @param value The value to cache.
+     */
+    synchronized void put(final K key, final V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    /**
+     * Removes every entry.
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of entries currently held, including expired ones not yet evicted.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAt;
+
+        Entry(final V value, final long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+}
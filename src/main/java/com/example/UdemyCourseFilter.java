@@ -6,8 +6,13 @@ import java.util.List;
 
 import javax.swing.*;
 import java.awt.*;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
 
 public class UdemyCourseFilter {
+    // Udemy courses CSV in the working directory, used when no path is given
+    private static final String DEFAULT_CSV_FILE = "udemy.csv";
+
     private JTextPane resultPane = new JTextPane();
     private JLabel statusBar;
     private List<String> searchHistory = new ArrayList<>();
@@ -48,7 +53,7 @@ public class UdemyCourseFilter {
             filter.addToSearchHistory(selectedSubject); // Add selected subject to search history
             
             // Read and filter dataset
-            String filePath = "/Users/I750363/Desktop/education/udemy.csv"; // Absolute path
+            String filePath = args.length > 0 ? args[0] : DEFAULT_CSV_FILE;
             filterCoursesBySubject(filePath, selectedSubject);
         } catch (Exception e) {
             e.printStackTrace();
@@ -71,28 +76,36 @@ public class UdemyCourseFilter {
     }
     
     private static void filterCoursesBySubject(String filePath, String subject) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
+        // Parse as CSV so commas inside quoted titles do not shift the columns
+        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
+            String[] header = reader.readNext();
+            if (header == null) {
+                System.out.println("The course file is empty: " + filePath);
+                return;
+            }
+            int titleColumn = Arrays.asList(header).indexOf("course_title");
+            int subjectColumn = Arrays.asList(header).indexOf("subject");
+            if (titleColumn < 0 || subjectColumn < 0) {
+                System.out.println("The course file has no course_title or subject column: " + filePath);
+                return;
+            }
             boolean foundCourse = false;
             System.out.println("Courses available in " + subject + ":");
-            
-            while ((line = br.readLine()) != null) {
-                String[] data = line.split(",");
-                // Print data to debug what is being read
-                System.out.println("Reading line: " + Arrays.toString(data)); // Debugging line
-                
+
+            String[] data;
+            while ((data = reader.readNext()) != null) {
                 // Use equalsIgnoreCase for case-insensitive comparison
-                if (data.length > 10 && data[10].equalsIgnoreCase(subject)) {
-                    System.out.println("- " + data[1]); // Course title
+                if (data.length > Math.max(titleColumn, subjectColumn) && data[subjectColumn].equalsIgnoreCase(subject)) {
+                    System.out.println("- " + data[titleColumn]); // Course title
                     foundCourse = true;
                 }
             }
-            
+
             if (!foundCourse) {
                 System.out.println("No courses found for the selected subject.");
             }
-            
-        } catch (IOException e) {
+
+        } catch (IOException | CsvValidationException e) {
             e.printStackTrace();
         }
     }
@@ -0,0 +1,151 @@
+package com.example;
+
+import java.time.Instant;
+
+/**
+ * UdemyCourseQuery describes a multi-criteria course search: optional predicates on subject,
+ * level, paid/free, price, duration and publish date, a sort order, and how many of the
+ * best-ranked courses to return. Unset predicates match every course.
+ * Queries are evaluated by UdemyCourseStore.query over its column arrays.
+ */
+final class UdemyCourseQuery {
+
+    /**
+     * Ranking applied to the matching courses. Each order puts the "best" course first.
+     */
+    enum SortOrder {
+        SUBSCRIBERS("Most Subscribers"),
+        REVIEWS("Most Reviews"),
+        PRICE("Lowest Price"),
+        RECENCY("Newest");
+
+        private final String label;
+
+        SortOrder(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Number of courses returned when no limit is given
+    static final int DEFAULT_LIMIT = 50;
+
+    private String subject;
+    private String level;
+    private Boolean paid;
+    private int minPrice = 0;
+    private int maxPrice = Integer.MAX_VALUE;
+    private float minHours = 0f;
+    private float maxHours = Float.MAX_VALUE;
+    private long publishedFrom = Long.MIN_VALUE;
+    private long publishedTo = Long.MAX_VALUE;
+    private SortOrder sortOrder = SortOrder.SUBSCRIBERS;
+    private int limit = DEFAULT_LIMIT;
+
+    /**
+     * Restricts results to one subject (case-insensitive). Null matches any subject.
+     * @param subject The subject, e.g. "Web Development".
+     * @return This query.
+     */
+    UdemyCourseQuery subject(final String subject) {
+        this.subject = subject;
+        return this;
+    }
+
+    /**
+     * Restricts results to one level (case-insensitive). Null matches any level.
+     * @param level The level, e.g. "Beginner Level".
+     * @return This query.
+     */
+    UdemyCourseQuery level(final String level) {
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * Restricts results to paid (true) or free (false) courses. Null matches both.
+     * @param paid Whether the course must be paid.
+     * @return This query.
+     */
+    UdemyCourseQuery paid(final Boolean paid) {
+        this.paid = paid;
+        return this;
+    }
+
+    /**
+     * Restricts results to an inclusive price range.
+     * @param min The lowest price.
+     * @param max The highest price.
+     * @return This query.
+     */
+    UdemyCourseQuery priceBetween(final int min, final int max) {
+        this.minPrice = min;
+        this.maxPrice = max;
+        return this;
+    }
+
+    /**
+     * Restricts results to an inclusive content-duration range in hours.
+     * @param min The shortest duration.
+     * @param max The longest duration.
+     * @return This query.
+     */
+    UdemyCourseQuery durationBetween(final float min, final float max) {
+        this.minHours = min;
+        this.maxHours = max;
+        return this;
+    }
+
+    /**
+     * Restricts results to courses published in an inclusive time range. Null bounds are open.
+     * @param from The earliest publish time.
+     * @param to The latest publish time.
+     * @return This query.
+     */
+    UdemyCourseQuery publishedBetween(final Instant from, final Instant to) {
+        this.publishedFrom = from == null ? Long.MIN_VALUE : from.getEpochSecond();
+        this.publishedTo = to == null ? Long.MAX_VALUE : to.getEpochSecond();
+        return this;
+    }
+
+    /**
+     * Sets the ranking of the results.
+     * @param sortOrder The sort order.
+     * @return This query.
+     */
+    UdemyCourseQuery sortBy(final SortOrder sortOrder) {
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    /**
+     * Sets how many of the best-ranked courses to return.
+     * @param limit The maximum number of results, at least 1.
+     * @return This query.
+     * @throws IllegalArgumentException if limit is less than 1.
+     */
+    UdemyCourseQuery limit(final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    // Getters used by the evaluating store
+    String getSubject() { return subject; }
+    String getLevel() { return level; }
+    Boolean getPaid() { return paid; }
+    int getMinPrice() { return minPrice; }
+    int getMaxPrice() { return maxPrice; }
+    float getMinHours() { return minHours; }
+    float getMaxHours() { return maxHours; }
+    long getPublishedFrom() { return publishedFrom; }
+    long getPublishedTo() { return publishedTo; }
+    SortOrder getSortOrder() { return sortOrder; }
+    int getLimit() { return limit; }
+}
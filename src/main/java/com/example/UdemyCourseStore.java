@@ -0,0 +1,422 @@
+package com.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * UdemyCourseStore is an immutable, column-oriented copy of the Udemy course dataset.
+ * Numeric columns are primitive arrays, is_paid is a bitset, level and subject are
+ * dictionary-encoded into one byte per course, and titles and URLs are packed into a
+ * single UTF-8 buffer each. A course is identified by its row number in the store.
+ * The store is loaded once with a real CSV parser and is safe to share between threads.
+ */
+final class UdemyCourseStore {
+
+    // Every course URL in the dataset shares this prefix, so only the remainder is stored
+    private static final String URL_PREFIX = "https://www.udemy.com/";
+
+    private final int size;
+    private final int[] courseIds;
+    private final int[] subscribers;
+    private final int[] reviews;
+    private final int[] lectures;
+    private final int[] prices;
+    private final float[] durations; // Content duration in hours
+    private final long[] published; // Publish time in epoch seconds, 0 if unknown
+    private final BitSet paid;
+    private final byte[] levelCodes;
+    private final String[] levels; // Dictionary for levelCodes
+    private final byte[] subjectCodes;
+    private final String[] subjects; // Dictionary for subjectCodes
+    private final PackedStrings titles;
+    private final PackedStrings urls;
+    private final BitSet prefixedUrls; // Rows whose URL was stored without URL_PREFIX
+
+    private UdemyCourseStore(final Builder builder) {
+        this.size = builder.size;
+        this.courseIds = Arrays.copyOf(builder.courseIds, size);
+        this.subscribers = Arrays.copyOf(builder.subscribers, size);
+        this.reviews = Arrays.copyOf(builder.reviews, size);
+        this.lectures = Arrays.copyOf(builder.lectures, size);
+        this.prices = Arrays.copyOf(builder.prices, size);
+        this.durations = Arrays.copyOf(builder.durations, size);
+        this.published = Arrays.copyOf(builder.published, size);
+        this.paid = (BitSet) builder.paid.clone();
+        this.levelCodes = Arrays.copyOf(builder.levelCodes, size);
+        this.levels = builder.levels.toArray(new String[0]);
+        this.subjectCodes = Arrays.copyOf(builder.subjectCodes, size);
+        this.subjects = builder.subjects.toArray(new String[0]);
+        this.titles = builder.titles.build();
+        this.urls = builder.urls.build();
+        this.prefixedUrls = (BitSet) builder.prefixedUrls.clone();
+    }
+
+    /**
+     * Loads the store from a CSV file on disk.
+     * @param csvFile The Udemy courses CSV file.
+     * @return The loaded store.
+     * @throws IOException if the file cannot be read.
+     * @throws CsvException if the CSV is malformed.
+     */
+    static UdemyCourseStore load(final Path csvFile) throws IOException, CsvException {
+        try (final Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Loads the store from a CSV bundled on the classpath.
+     * @param resourcePath The classpath location of the CSV.
+     * @return The loaded store.
+     * @throws IOException if the resource cannot be read.
+     * @throws CsvException if the CSV is malformed.
+     * @throws FileNotFoundException if the resource does not exist.
+     */
+    static UdemyCourseStore loadResource(final String resourcePath) throws IOException, CsvException {
+        final InputStream is = UdemyCourseStore.class.getResourceAsStream(resourcePath);
+        if (is == null) {
+            throw new FileNotFoundException("Udemy CSV file not found in resources: " + resourcePath);
+        }
+        try (final Reader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses Udemy course rows into a new store. Columns are located by their header names,
+     * and quoted fields (e.g. titles containing commas) are handled by the CSV parser.
+     * @param reader The CSV source. It is not closed by this method.
+     * @return The parsed store.
+     * @throws IOException if reading fails.
+     * @throws CsvException if the CSV is malformed or required columns are missing.
+     */
+    static UdemyCourseStore parse(final Reader reader) throws IOException, CsvException {
+        final CSVReader csvReader = new CSVReader(reader);
+        final String[] header = csvReader.readNext();
+        if (header == null) {
+            return new Builder().build();
+        }
+        final Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        final int id = column(columns, "course_id");
+        final int title = column(columns, "course_title");
+        final int url = column(columns, "url");
+        final int isPaid = column(columns, "is_paid");
+        final int price = column(columns, "price");
+        final int numSubscribers = column(columns, "num_subscribers");
+        final int numReviews = column(columns, "num_reviews");
+        final int numLectures = column(columns, "num_lectures");
+        final int level = column(columns, "level");
+        final int duration = column(columns, "content_duration");
+        final int timestamp = column(columns, "published_timestamp");
+        final int subject = column(columns, "subject");
+
+        final Builder builder = new Builder();
+        String[] record;
+        while ((record = csvReader.readNext()) != null) {
+            if (record.length < header.length) {
+                System.err.println("Skipping malformed Udemy record (too few columns): " + String.join(",", record));
+                continue;
+            }
+            builder.add(parseInt(record[id]), record[title], record[url], Boolean.parseBoolean(record[isPaid].trim()),
+                    parseInt(record[price]), parseInt(record[numSubscribers]), parseInt(record[numReviews]),
+                    parseInt(record[numLectures]), record[level], parseFloat(record[duration]),
+                    parseTimestamp(record[timestamp]), record[subject]);
+        }
+        return builder.build();
+    }
+
+    private static int column(final Map<String, Integer> columns, final String name) throws CsvException {
+        final Integer index = columns.get(name);
+        if (index == null) {
+            throw new CsvException("Udemy CSV is missing column: " + name);
+        }
+        return index;
+    }
+
+    private static int parseInt(final String value) {
+        try {
+            return (int) Double.parseDouble(value.trim()); // Tolerates "45.0"
+        } catch (final NumberFormatException e) {
+            return 0; // e.g. price "Free"
+        }
+    }
+
+    private static float parseFloat(final String value) {
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (final NumberFormatException e) {
+            return 0f;
+        }
+    }
+
+    private static long parseTimestamp(final String value) {
+        try {
+            return Instant.parse(value.trim()).getEpochSecond();
+        } catch (final DateTimeParseException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * @return The number of courses in the store.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Looks up the dictionary code of a subject, ignoring case and surrounding whitespace.
+     * @param subject The subject name.
+     * @return The subject code, or -1 if no course has that subject.
+     */
+    int subjectCode(final String subject) {
+        return indexOfIgnoreCase(subjects, subject);
+    }
+
+    /**
+     * Looks up the dictionary code of a level, ignoring case and surrounding whitespace.
+     * @param level The level name, e.g. "Beginner Level".
+     * @return The level code, or -1 if no course has that level.
+     */
+    int levelCode(final String level) {
+        return indexOfIgnoreCase(levels, level);
+    }
+
+    private static int indexOfIgnoreCase(final String[] dictionary, final String value) {
+        final String key = value == null ? "" : value.trim();
+        for (int code = 0; code < dictionary.length; code++) {
+            if (dictionary[code].equalsIgnoreCase(key)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Evaluates a multi-criteria query and returns the best-ranked matching rows.
+     * Predicates are checked directly against the column arrays in a single pass that allocates
+     * nothing per row, and only the top K rows are kept in a bounded min-heap, so the cost is
+     * O(n log K) instead of sorting every match. Ties keep dataset order.
+     * @param query The query to evaluate.
+     * @return Matching row numbers, best first, at most query.getLimit() of them.
+     */
+    int[] query(final UdemyCourseQuery query) {
+        final int subject = query.getSubject() == null ? -1 : subjectCode(query.getSubject());
+        final int level = query.getLevel() == null ? -1 : levelCode(query.getLevel());
+        if ((query.getSubject() != null && subject < 0) || (query.getLevel() != null && level < 0)) {
+            return new int[0]; // Unknown subject or level: nothing can match
+        }
+        final int paidFilter = query.getPaid() == null ? -1 : (query.getPaid() ? 1 : 0);
+        final int minPrice = query.getMinPrice();
+        final int maxPrice = query.getMaxPrice();
+        final float minHours = query.getMinHours();
+        final float maxHours = query.getMaxHours();
+        final long publishedFrom = query.getPublishedFrom();
+        final long publishedTo = query.getPublishedTo();
+        final UdemyCourseQuery.SortOrder order = query.getSortOrder();
+
+        // Bounded min-heap: the root is the worst course currently kept
+        final TopK topK = new TopK(Math.min(query.getLimit(), Math.max(size, 1)));
+
+        for (int row = 0; row < size; row++) {
+            if ((subject >= 0 && (subjectCodes[row] & 0xFF) != subject)
+                    || (level >= 0 && (levelCodes[row] & 0xFF) != level)
+                    || (paidFilter >= 0 && paid.get(row) != (paidFilter == 1))
+                    || prices[row] < minPrice || prices[row] > maxPrice
+                    || durations[row] < minHours || durations[row] > maxHours
+                    || published[row] < publishedFrom || published[row] > publishedTo) {
+                continue;
+            }
+            topK.offer(sortKey(order, row), row);
+        }
+        return topK.drain();
+    }
+
+    private long sortKey(final UdemyCourseQuery.SortOrder order, final int row) {
+        switch (order) {
+            case REVIEWS:
+                return reviews[row];
+            case PRICE:
+                return -(long) prices[row]; // Cheapest first
+            case RECENCY:
+                return published[row];
+            case SUBSCRIBERS:
+            default:
+                return subscribers[row];
+        }
+    }
+
+    /**
+     * @return The distinct subjects, indexed by subject code.
+     */
+    List<String> getSubjects() {
+        return List.of(subjects);
+    }
+
+    /**
+     * @return The distinct levels, indexed by level code.
+     */
+    List<String> getLevels() {
+        return List.of(levels);
+    }
+
+    // Per-row accessors. Codes are returned as unsigned values.
+    int courseId(final int row) { return courseIds[row]; }
+    int subscribers(final int row) { return subscribers[row]; }
+    int reviews(final int row) { return reviews[row]; }
+    int lectures(final int row) { return lectures[row]; }
+    int price(final int row) { return prices[row]; }
+    float duration(final int row) { return durations[row]; }
+    long published(final int row) { return published[row]; }
+    boolean isPaid(final int row) { return paid.get(row); }
+    int levelCodeAt(final int row) { return levelCodes[row] & 0xFF; }
+    int subjectCodeAt(final int row) { return subjectCodes[row] & 0xFF; }
+    String level(final int row) { return levels[levelCodeAt(row)]; }
+    String subject(final int row) { return subjects[subjectCodeAt(row)]; }
+    String title(final int row) { return titles.get(row); }
+    String url(final int row) { return prefixedUrls.get(row) ? URL_PREFIX + urls.get(row) : urls.get(row); }
+
+    /**
+     * Immutable list of strings packed into one UTF-8 byte buffer with an offset table,
+     * avoiding a String object (header, char array) per course. Strings are decoded on access.
+     */
+    private static final class PackedStrings {
+        private final byte[] data;
+        private final int[] offsets; // offsets[i]..offsets[i + 1] is the i-th string
+
+        PackedStrings(final byte[] data, final int[] offsets) {
+            this.data = data;
+            this.offsets = offsets;
+        }
+
+        String get(final int index) {
+            return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Growable builder for PackedStrings.
+     */
+    private static final class PackedStringsBuilder {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private int[] offsets = new int[1025];
+        private int count;
+
+        void add(final String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            data.write(bytes, 0, bytes.length);
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++count] = data.size();
+        }
+
+        PackedStrings build() {
+            return new PackedStrings(data.toByteArray(), Arrays.copyOf(offsets, count + 1));
+        }
+    }
+
+    /**
+     * Accumulates course rows into growable column arrays before freezing them into a store.
+     * Also used by tests and generators to build stores without a CSV file.
+     */
+    static final class Builder {
+        private int size;
+        private int[] courseIds = new int[1024];
+        private int[] subscribers = new int[1024];
+        private int[] reviews = new int[1024];
+        private int[] lectures = new int[1024];
+        private int[] prices = new int[1024];
+        private float[] durations = new float[1024];
+        private long[] published = new long[1024];
+        private final BitSet paid = new BitSet();
+        private byte[] levelCodes = new byte[1024];
+        private byte[] subjectCodes = new byte[1024];
+        private final List<String> levels = new ArrayList<>();
+        private final List<String> subjects = new ArrayList<>();
+        private final Map<String, Integer> levelLookup = new HashMap<>();
+        private final Map<String, Integer> subjectLookup = new HashMap<>();
+        private final PackedStringsBuilder titles = new PackedStringsBuilder();
+        private final PackedStringsBuilder urls = new PackedStringsBuilder();
+        private final BitSet prefixedUrls = new BitSet();
+
+        /**
+         * Appends one course.
+         * @return This builder.
+         * @throws IllegalStateException if more than 256 distinct levels or subjects are added.
+         */
+        Builder add(final int courseId, final String title, final String url, final boolean isPaid, final int price,
+                    final int numSubscribers, final int numReviews, final int numLectures, final String level,
+                    final float contentDuration, final long publishedEpochSeconds, final String subject) {
+            ensureCapacity(size + 1);
+            courseIds[size] = courseId;
+            subscribers[size] = numSubscribers;
+            reviews[size] = numReviews;
+            lectures[size] = numLectures;
+            prices[size] = price;
+            durations[size] = contentDuration;
+            published[size] = publishedEpochSeconds;
+            paid.set(size, isPaid);
+            levelCodes[size] = encode(level.trim(), levels, levelLookup);
+            subjectCodes[size] = encode(subject.trim(), subjects, subjectLookup);
+            titles.add(title);
+            final boolean prefixed = url.startsWith(URL_PREFIX);
+            prefixedUrls.set(size, prefixed);
+            urls.add(prefixed ? url.substring(URL_PREFIX.length()) : url);
+            size++;
+            return this;
+        }
+
+        private static byte encode(final String value, final List<String> dictionary, final Map<String, Integer> lookup) {
+            Integer code = lookup.get(value);
+            if (code == null) {
+                if (dictionary.size() == 256) {
+                    throw new IllegalStateException("Too many distinct values for a byte-coded column: " + value);
+                }
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+            return (byte) code.intValue();
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= courseIds.length) {
+                return;
+            }
+            final int newLength = Math.max(capacity, courseIds.length * 2);
+            courseIds = Arrays.copyOf(courseIds, newLength);
+            subscribers = Arrays.copyOf(subscribers, newLength);
+            reviews = Arrays.copyOf(reviews, newLength);
+            lectures = Arrays.copyOf(lectures, newLength);
+            prices = Arrays.copyOf(prices, newLength);
+            durations = Arrays.copyOf(durations, newLength);
+            published = Arrays.copyOf(published, newLength);
+            levelCodes = Arrays.copyOf(levelCodes, newLength);
+            subjectCodes = Arrays.copyOf(subjectCodes, newLength);
+        }
+
+        /**
+         * @return An immutable store holding the rows added so far.
+         */
+        UdemyCourseStore build() {
+            return new UdemyCourseStore(this);
+        }
+    }
+}
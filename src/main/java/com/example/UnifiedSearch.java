@@ -0,0 +1,307 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * UnifiedSearch runs one query against several sources at once (scholarships, universities,
+ * courses) and merges their ranked hits as each source answers. Every source runs on a shared
+ * pool and has its own latency budget: a source that has not answered when its budget runs out
+ * is cancelled (interrupting a blocked HTTP call) and reported as timed out, so a slow remote
+ * source never holds back the local ones. Hits carry a relevance score in [0, 1] computed by
+ * the source; the merged list is ordered by score, and by source order for equal scores.
+ * A search blocks the calling thread, which is meant to be a SearchCoordinator worker: when it
+ * is interrupted because a newer search superseded it, all of its sources are cancelled too.
+ */
+final class UnifiedSearch {
+
+    // Sources run here rather than on the search workers, which wait for them
+    private static final int SOURCE_THREADS = 4;
+    private static final int MAX_QUEUED_SOURCES = 32;
+    private static final ThreadPoolExecutor SOURCE_EXECUTOR = createExecutor();
+
+    /**
+     * Searches one source. Should stop when the thread is interrupted.
+     */
+    interface Searcher {
+        /**
+         * @param query The search text, trimmed.
+         * @return The hits, best first.
+         * @throws Exception if the search fails.
+         */
+        List<Hit> search(String query) throws Exception;
+    }
+
+    /**
+     * One searchable source with its latency budget.
+     */
+    static final class Source {
+        private final String name;
+        private final long budgetMillis;
+        private final Searcher searcher;
+
+        /**
+         * Constructor for Source.
+         * @param name The name shown while the source is pending or when it times out, e.g. "Universities".
+         * @param budgetMillis How long the source may take before it is cancelled, in milliseconds.
+         * @param searcher Runs the search.
+         */
+        Source(final String name, final long budgetMillis, final Searcher searcher) {
+            this.name = name;
+            this.budgetMillis = budgetMillis;
+            this.searcher = searcher;
+        }
+
+        String getName() { return name; }
+        long getBudgetMillis() { return budgetMillis; }
+    }
+
+    /**
+     * One search result from a source.
+     */
+    static final class Hit {
+        private final String source;
+        private final String title;
+        private final String summary;
+        private final String detailHTML;
+        private final double score;
+
+        Hit(final String source, final String title, final String summary, final String detailHTML, final double score) {
+            this.source = source;
+            this.title = title;
+            this.summary = summary;
+            this.detailHTML = detailHTML;
+            this.score = score;
+        }
+
+        String getSource() { return source; }
+        String getTitle() { return title; }
+        String getSummary() { return summary; }
+        String getDetailHTML() { return detailHTML; }
+        double getScore() { return score; }
+    }
+
+    /**
+     * The state of a search after a source answered, failed or ran out of time.
+     */
+    static final class Progress {
+        private final List<Hit> hits;
+        private final List<String> pending;
+        private final List<String> timedOut;
+        private final List<String> failed;
+
+        Progress(final List<Hit> hits, final List<String> pending, final List<String> timedOut, final List<String> failed) {
+            this.hits = hits;
+            this.pending = pending;
+            this.timedOut = timedOut;
+            this.failed = failed;
+        }
+
+        /**
+         * @return The merged hits so far, best first. The list is not modified afterwards.
+         */
+        List<Hit> getHits() { return hits; }
+        List<String> getPending() { return pending; }
+        List<String> getTimedOut() { return timedOut; }
+        List<String> getFailed() { return failed; }
+
+        /**
+         * @return true once every source has answered, failed or timed out.
+         */
+        boolean isComplete() { return pending.isEmpty(); }
+    }
+
+    private final List<Source> sources;
+    private final int hitsPerSource;
+
+    /**
+     * Constructor for UnifiedSearch.
+     * @param sources The sources, in the order used to break score ties.
+     * @param hitsPerSource The maximum number of hits taken from each source.
+     */
+    UnifiedSearch(final List<Source> sources, final int hitsPerSource) {
+        this.sources = new ArrayList<>(sources);
+        this.hitsPerSource = hitsPerSource;
+    }
+
+    /**
+     * Searches all sources in parallel and reports the merged hits each time a source finishes.
+     * @param query The search text.
+     * @param onProgress Called on the calling thread after each source answers, fails or times out.
+     * @return The final progress, with all sources settled.
+     * @throws InterruptedException if the calling thread is interrupted; all sources are cancelled.
+     */
+    Progress search(final String query, final Consumer<Progress> onProgress) throws InterruptedException {
+        final String text = query.trim();
+        final int count = sources.size();
+        final BlockingQueue<Integer> finished = new LinkedBlockingQueue<>(); // Indexes of sources that completed
+        final List<Future<List<Hit>>> futures = new ArrayList<>(count);
+        final long[] deadlines = new long[count];
+        final long start = System.nanoTime();
+        final List<String> failed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            final Source source = sources.get(i);
+            deadlines[i] = start + TimeUnit.MILLISECONDS.toNanos(source.getBudgetMillis());
+            Future<List<Hit>> future;
+            try {
+                future = SOURCE_EXECUTOR.submit(() -> {
+                    try {
+                        return source.searcher.search(text);
+                    } finally {
+                        finished.add(index);
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                future = null;
+                failed.add(source.getName());
+            }
+            futures.add(future);
+        }
+
+        final List<List<Hit>> results = new ArrayList<>(Collections.nCopies(count, null));
+        final List<String> timedOut = new ArrayList<>();
+        final boolean[] settled = new boolean[count];
+        int remaining = count;
+        for (int i = 0; i < count; i++) {
+            if (futures.get(i) == null) {
+                settled[i] = true;
+                remaining--;
+            }
+        }
+        Progress progress = progress(results, settled, timedOut, failed);
+        try {
+            while (remaining > 0) {
+                final Integer index = finished.poll(nextDeadline(deadlines, settled) - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (index == null || settled[index]) {
+                    // A budget ran out: cancel every source past its deadline
+                    final long now = System.nanoTime();
+                    for (int i = 0; i < count; i++) {
+                        if (!settled[i] && now - deadlines[i] >= 0 && !futures.get(i).isDone()) {
+                            futures.get(i).cancel(true);
+                            settled[i] = true;
+                            remaining--;
+                            timedOut.add(sources.get(i).getName());
+                        }
+                    }
+                } else {
+                    settled[index] = true;
+                    remaining--;
+                    try {
+                        results.set(index, futures.get(index).get());
+                    } catch (final ExecutionException e) {
+                        System.err.println("Search of " + sources.get(index).getName() + " failed: " + e.getCause());
+                        failed.add(sources.get(index).getName());
+                    }
+                }
+                progress = progress(results, settled, timedOut, failed);
+                onProgress.accept(progress);
+            }
+        } finally {
+            for (final Future<List<Hit>> future : futures) {
+                if (future != null) {
+                    future.cancel(true); // No-op for finished sources; stops the rest when superseded
+                }
+            }
+            SOURCE_EXECUTOR.purge();
+        }
+        return progress;
+    }
+
+    private static long nextDeadline(final long[] deadlines, final boolean[] settled) {
+        long next = Long.MAX_VALUE;
+        for (int i = 0; i < deadlines.length; i++) {
+            if (!settled[i] && (next == Long.MAX_VALUE || deadlines[i] - next < 0)) {
+                next = deadlines[i];
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Merges the hits of the sources that answered so far. Each source's hits are already
+     * ranked, so this is a k-way merge of short lists.
+     */
+    private Progress progress(final List<List<Hit>> results, final boolean[] settled, final List<String> timedOut,
+                              final List<String> failed) {
+        final int count = results.size();
+        final int[] positions = new int[count];
+        final List<Hit> merged = new ArrayList<>();
+        while (true) {
+            int best = -1;
+            for (int i = 0; i < count; i++) {
+                final List<Hit> hits = results.get(i);
+                if (hits != null && positions[i] < Math.min(hits.size(), hitsPerSource)
+                        && (best < 0 || hits.get(positions[i]).getScore() > results.get(best).get(positions[best]).getScore())) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            merged.add(results.get(best).get(positions[best]++));
+        }
+        final List<String> pending = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (!settled[i]) {
+                pending.add(sources.get(i).getName());
+            }
+        }
+        return new Progress(Collections.unmodifiableList(merged), pending, new ArrayList<>(timedOut), new ArrayList<>(failed));
+    }
+
+    /**
+     * Scores how well a text matches a query, ignoring case.
+     * @param query The search text.
+     * @param text The text to score, e.g. a title.
+     * @return 1 for an exact match, 0.9 if the text starts with the query, 0.75 if a word
+     *         starts with it, 0.6 if it occurs anywhere, and 0 otherwise.
+     */
+    static double textScore(final String query, final String text) {
+        if (text == null || query.isEmpty()) {
+            return 0.0;
+        }
+        final String q = query.toLowerCase(Locale.ROOT);
+        final String t = text.toLowerCase(Locale.ROOT);
+        if (t.equals(q)) {
+            return 1.0;
+        }
+        if (t.startsWith(q)) {
+            return 0.9;
+        }
+        final int index = t.indexOf(q);
+        if (index < 0) {
+            return 0.0;
+        }
+        for (int i = index; i >= 0; i = t.indexOf(q, i + 1)) {
+            if (!Character.isLetterOrDigit(t.charAt(i - 1))) {
+                return 0.75;
+            }
+        }
+        return 0.6;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(SOURCE_THREADS, SOURCE_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_SOURCES), runnable -> {
+                    final Thread thread = new Thread(runnable, "search-source-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true); // Never keep the application alive
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
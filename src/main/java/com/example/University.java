@@ -0,0 +1,90 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Data model class representing a single university returned by the universities API.
+ * Only the fields the application displays are kept: name, web pages, domains and
+ * state/province. Instances are immutable.
+ */
+final class University {
+    private final String name;
+    private final List<String> webPages;
+    private final List<String> domains;
+    private final String stateProvince; // null when the API has no value
+
+    /**
+     * Constructor for University.
+     * @param name The university name.
+     * @param webPages The university's websites, first one preferred.
+     * @param domains The university's internet domains.
+     * @param stateProvince The state or province, or null if unknown.
+     */
+    University(final String name, final List<String> webPages, final List<String> domains, final String stateProvince) {
+        this.name = name;
+        this.webPages = Collections.unmodifiableList(new ArrayList<>(webPages));
+        this.domains = Collections.unmodifiableList(new ArrayList<>(domains));
+        this.stateProvince = stateProvince;
+    }
+
+    /**
+     * Extracts the displayed fields from one API record, ignoring everything else.
+     * @param json A university object from the API response.
+     * @return The university.
+     */
+    static University fromJson(final JSONObject json) {
+        final String stateProvince = json.isNull("state-province") ? null : json.optString("state-province", null);
+        return new University(json.optString("name", "N/A"), strings(json.optJSONArray("web_pages")),
+                strings(json.optJSONArray("domains")), stateProvince);
+    }
+
+    private static List<String> strings(final JSONArray array) {
+        if (array == null) {
+            return Collections.emptyList();
+        }
+        final List<String> values = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            values.add(array.optString(i));
+        }
+        return values;
+    }
+
+    // Getter methods for university properties
+    public String getName() { return name; }
+    public List<String> getWebPages() { return webPages; }
+    public List<String> getDomains() { return domains; }
+    public String getStateProvince() { return stateProvince; }
+
+    /**
+     * @return The first website of the university, or null if it has none.
+     */
+    public String getWebsite() {
+        return webPages.isEmpty() ? null : webPages.get(0);
+    }
+
+    /**
+     * Formats university details into an HTML fragment suitable for display in a JEditorPane.
+     * @return HTML string representing the university.
+     */
+    public String toHTML() {
+        final StringBuilder html = new StringBuilder();
+        html.append("<b>University:</b> ").append(name).append("<br>");
+        final String website = getWebsite();
+        if (website != null) {
+            html.append("<b>Website:</b> <a href=\"").append(website).append("\">").append(website).append("</a><br>");
+        } else {
+            html.append("<b>Website:</b> No website available<br>");
+        }
+        html.append("---------------------------------<br>");
+        return html.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("University: %s, Website: %s, State/Province: %s", name, getWebsite(), stateProvince);
+    }
+}
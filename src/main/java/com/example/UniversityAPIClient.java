@@ -5,6 +5,8 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -28,7 +30,7 @@ public class UniversityAPIClient {
                 String country = reader.readLine().trim();
 
                 // Call the API to get universities based on country
-                String apiUrl = "http://universities.hipolabs.com/search?country=" + country;
+                String apiUrl = "http://universities.hipolabs.com/search?country=" + URLEncoder.encode(country, StandardCharsets.UTF_8);
                 URL url = URI.create(apiUrl).toURL();
                 HttpURLConnection conn = (HttpURLConnection) url.openConnection();
                 conn.setRequestMethod("GET");
@@ -0,0 +1,62 @@
+package com.example;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * UniversityJsonStream reads the universities API response one record at a time.
+ * Instead of building a JSONArray of the whole payload, it walks the top-level array with a
+ * JSONTokener, parses a single university object, hands the extracted University to the
+ * consumer and moves on, so only one record is held in memory while parsing. Whether the
+ * emitted universities are kept is up to the consumer.
+ */
+final class UniversityJsonStream {
+
+    private UniversityJsonStream() {
+    }
+
+    /**
+     * Parses a JSON array of university objects from the reader, emitting each as soon as it is read.
+     * @param reader The response body. It is not closed by this method.
+     * @param consumer Receives every university, in response order.
+     * @return The number of universities emitted.
+     * @throws JSONException if the payload is not a JSON array of objects.
+     */
+    static int parse(final Reader reader, final Consumer<University> consumer) {
+        return parseObjects(reader, json -> consumer.accept(University.fromJson(json)));
+    }
+
+    /**
+     * Parses a JSON array of objects from the reader, handing each raw object to the consumer
+     * before the next one is read. Used when fields beyond the University model are needed.
+     * @param reader The response body. It is not closed by this method.
+     * @param consumer Receives every object, in response order.
+     * @return The number of objects emitted.
+     * @throws JSONException if the payload is not a JSON array of objects.
+     */
+    static int parseObjects(final Reader reader, final Consumer<JSONObject> consumer) {
+        final JSONTokener tokener = new JSONTokener(reader);
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSON array text must start with '['");
+        }
+        if (tokener.nextClean() == ']') {
+            return 0;
+        }
+        tokener.back();
+        int count = 0;
+        while (true) {
+            consumer.accept(new JSONObject(tokener));
+            count++;
+            final char separator = tokener.nextClean();
+            if (separator == ']') {
+                return count;
+            }
+            if (separator != ',') {
+                throw tokener.syntaxError("Expected ',' or ']' after a university");
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * UniversitySnapshot is an offline copy of the world university list, held in memory and
+ * indexed by normalized country name and by ISO alpha-2 code. It lets university searches be
+ * answered without the network. Snapshots are persisted as a CSV file with one row per
+ * university and are immutable once loaded.
+ */
+final class UniversitySnapshot {
+
+    private static final String[] HEADER = {"country", "alpha_two_code", "name", "web_pages", "domains", "state_province"};
+    // Separator for the list-valued columns (web pages and domains) inside one CSV field
+    private static final String LIST_SEPARATOR = " ";
+
+    private static final UniversitySnapshot EMPTY = new UniversitySnapshot(Collections.emptyMap(), 0);
+
+    private final Map<String, List<University>> byCountry;
+    private final int size;
+
+    private UniversitySnapshot(final Map<String, List<University>> byCountry, final int size) {
+        this.byCountry = byCountry;
+        this.size = size;
+    }
+
+    /**
+     * @return A snapshot without any universities, used until one has been loaded.
+     */
+    static UniversitySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Loads a snapshot from its CSV file.
+     * @param file The snapshot file.
+     * @return The loaded snapshot.
+     * @throws IOException if the file cannot be read.
+     * @throws CsvException if the file is malformed.
+     */
+    static UniversitySnapshot load(final Path file) throws IOException, CsvException {
+        final Map<String, List<University>> byCountry = new HashMap<>();
+        int size = 0;
+        try (final CSVReader reader = new CSVReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.readNext(); // Skip the header row
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                if (record.length < HEADER.length) {
+                    System.err.println("Skipping malformed university snapshot record: " + String.join(",", record));
+                    continue;
+                }
+                final University university = new University(record[2], splitList(record[3]), splitList(record[4]),
+                        record[5].isEmpty() ? null : record[5]);
+                byCountry.computeIfAbsent(normalizeCountry(record[0]), k -> new ArrayList<>()).add(university);
+                if (!record[1].isEmpty()) {
+                    byCountry.computeIfAbsent(normalizeCountry(record[1]), k -> new ArrayList<>()).add(university);
+                }
+                size++;
+            }
+        }
+        // Freeze the lists so they can be handed out without copying
+        byCountry.replaceAll((country, universities) -> Collections.unmodifiableList(universities));
+        return new UniversitySnapshot(byCountry, size);
+    }
+
+    /**
+     * Converts an API response (a JSON array of universities) into a snapshot file. Records are
+     * streamed straight from the reader into a temporary file, which then atomically replaces the
+     * target, so a failed download never leaves a truncated snapshot behind.
+     * @param json The API response body. It is not closed by this method.
+     * @param file The snapshot file to write.
+     * @return The number of universities written.
+     * @throws IOException if the file cannot be written.
+     */
+    static int writeFromJson(final Reader json, final Path file) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            final int count;
+            try (final CSVWriter writer = new CSVWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+                writer.writeNext(HEADER);
+                count = UniversityJsonStream.parseObjects(json, record -> {
+                    final University university = University.fromJson(record);
+                    writer.writeNext(new String[]{
+                            record.optString("country", ""),
+                            record.optString("alpha_two_code", ""),
+                            university.getName(),
+                            String.join(LIST_SEPARATOR, university.getWebPages()),
+                            String.join(LIST_SEPARATOR, university.getDomains()),
+                            university.getStateProvince() == null ? "" : university.getStateProvince()
+                    });
+                });
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Looks up the universities of a country by name or alpha-2 code.
+     * @param country The country name (case and accents ignored) or two-letter code.
+     * @return The universities, an empty list if the snapshot has none for that country,
+     *         or null if no snapshot has been loaded at all.
+     */
+    List<University> find(final String country) {
+        if (size == 0) {
+            return null;
+        }
+        return byCountry.getOrDefault(normalizeCountry(country), Collections.emptyList());
+    }
+
+    /**
+     * @return The number of universities in the snapshot.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Normalizes a country name or code for lookups: accents removed, lowercase, single spaces.
+     * @param country The raw country text.
+     * @return The lookup key.
+     */
+    static String normalizeCountry(final String country) {
+        final String withoutAccents = Normalizer.normalize(country.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static List<String> splitList(final String value) {
+        return value.isEmpty() ? Collections.emptyList() : Arrays.asList(value.split(LIST_SEPARATOR));
+    }
+}
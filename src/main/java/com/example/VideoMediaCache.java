@@ -0,0 +1,188 @@
+package com.example;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.json.JSONObject;
+
+/**
+ * VideoMediaCache supplies thumbnails and channel names for YouTube videos without ever
+ * blocking the caller. A lookup returns what is in memory right away (or null, so the caller
+ * shows a placeholder) and schedules a background load. Loads read the disk cache first and
+ * only go to the network for videos never seen before; the downloaded thumbnail and oEmbed
+ * metadata are written to the disk cache. Decoded thumbnails are kept in a bounded LRU.
+ * Instances are thread-safe.
+ */
+final class VideoMediaCache {
+
+    // Size thumbnails are scaled to for the video list
+    static final int THUMBNAIL_WIDTH = 96;
+    static final int THUMBNAIL_HEIGHT = 54;
+
+    private static final String THUMBNAIL_URL = "https://img.youtube.com/vi/%s/mqdefault.jpg";
+    private static final String OEMBED_URL = "https://www.youtube.com/oembed";
+    private static final Pattern VIDEO_ID = Pattern.compile("(?:youtu\\.be/|[?&]v=|/embed/|/shorts/)([A-Za-z0-9_-]{11})");
+
+    private final OkHttpClient httpClient;
+    private final Path cacheDirectory;
+    private final TtlLruCache<String, Media> memory;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet(); // Video ids being loaded
+    private final ExecutorService loader;
+
+    /**
+     * Thumbnail and metadata of one video. The thumbnail is null if it could not be loaded.
+     * The icon wrapping it is created once, so cell renderers can reuse it on every paint.
+     */
+    static final class Media {
+        private final Image thumbnail;
+        private final Icon icon;
+        private final String channel;
+
+        Media(final Image thumbnail, final String channel) {
+            this.thumbnail = thumbnail;
+            this.icon = thumbnail == null ? null : new ImageIcon(thumbnail);
+            this.channel = channel;
+        }
+
+        Image getThumbnail() { return thumbnail; }
+        Icon getIcon() { return icon; }
+        String getChannel() { return channel; }
+    }
+
+    /**
+     * Constructor for VideoMediaCache.
+     * @param httpClient The client used for downloads.
+     * @param cacheDirectory Directory of the disk cache; created on first write.
+     * @param maxEntries How many videos' media are kept in memory.
+     */
+    VideoMediaCache(final OkHttpClient httpClient, final Path cacheDirectory, final int maxEntries) {
+        this.httpClient = httpClient;
+        this.cacheDirectory = cacheDirectory;
+        this.memory = new TtlLruCache<>(maxEntries, 1, TimeUnit.DAYS);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.loader = Executors.newFixedThreadPool(2, runnable -> {
+            final Thread thread = new Thread(runnable, "video-media-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // Thumbnails must not compete with searches
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the media of a video if it is in memory, otherwise starts loading it.
+     * Safe to call from a cell renderer: it never blocks.
+     * @param videoUrl The YouTube video URL.
+     * @param onLoaded Run on the EDT once a load started by this call completes, e.g. a repaint.
+     * @return The media, or null while it is loading or for URLs that are not YouTube videos.
+     */
+    Media get(final String videoUrl, final Runnable onLoaded) {
+        final String videoId = videoId(videoUrl);
+        if (videoId == null) {
+            return null;
+        }
+        final Media media = memory.get(videoId);
+        if (media == null && pending.add(videoId)) {
+            loader.execute(() -> {
+                try {
+                    memory.put(videoId, load(videoId, videoUrl));
+                } finally {
+                    pending.remove(videoId);
+                }
+                SwingUtilities.invokeLater(onLoaded);
+            });
+        }
+        return media;
+    }
+
+    /**
+     * Extracts the 11-character video id from a YouTube URL.
+     * @param videoUrl The URL, e.g. https://youtu.be/_3pfqU6hEkU.
+     * @return The video id, or null if the URL is not a YouTube video.
+     */
+    static String videoId(final String videoUrl) {
+        final Matcher matcher = VIDEO_ID.matcher(videoUrl == null ? "" : videoUrl);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Loads a video's media from the disk cache, downloading whatever is missing.
+     * Failures leave a placeholder in memory for this session instead of retrying on every repaint.
+     */
+    private Media load(final String videoId, final String videoUrl) {
+        Image thumbnail = null;
+        String channel = null;
+        try {
+            final byte[] image = cachedOrDownloaded(videoId + ".jpg",
+                    HttpUrl.get(String.format(THUMBNAIL_URL, videoId)));
+            thumbnail = scale(ImageIO.read(new ByteArrayInputStream(image)));
+        } catch (final IOException | IllegalArgumentException e) {
+            System.err.println("Error loading thumbnail for " + videoUrl + ": " + e.getMessage());
+        }
+        try {
+            final byte[] metadata = cachedOrDownloaded(videoId + ".json", HttpUrl.get(OEMBED_URL).newBuilder()
+                    .addQueryParameter("url", videoUrl)
+                    .addQueryParameter("format", "json")
+                    .build());
+            channel = new JSONObject(new String(metadata, StandardCharsets.UTF_8)).optString("author_name", null);
+        } catch (final IOException | RuntimeException e) {
+            System.err.println("Error loading metadata for " + videoUrl + ": " + e.getMessage());
+        }
+        return new Media(thumbnail, channel);
+    }
+
+    private byte[] cachedOrDownloaded(final String fileName, final HttpUrl url) throws IOException {
+        final Path file = cacheDirectory.resolve(fileName);
+        if (Files.isRegularFile(file)) {
+            return Files.readAllBytes(file);
+        }
+        final byte[] body;
+        try (final Response response = httpClient.newCall(new Request.Builder().url(url).get().build()).execute()) {
+            if (response.code() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP error code: " + response.code());
+            }
+            body = response.body().bytes();
+        }
+        // Write to a temporary file first so a crash never leaves a truncated cache entry
+        Files.createDirectories(cacheDirectory);
+        final Path tempFile = Files.createTempFile(cacheDirectory, fileName, ".tmp");
+        Files.write(tempFile, body);
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return body;
+    }
+
+    private static Image scale(final BufferedImage image) throws IOException {
+        if (image == null) {
+            throw new IOException("Unsupported image format");
+        }
+        final BufferedImage scaled = new BufferedImage(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, null);
+        graphics.dispose();
+        return scaled;
+    }
+}
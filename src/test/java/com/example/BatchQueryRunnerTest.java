@@ -0,0 +1,105 @@
+package com.example;
+
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+import com.example.MainClient.ScholarshipService;
+import com.example.MainClient.UdemyCourseService;
+import com.example.MainClient.UniversityService;
+
+/**
+ * Runs a small query file through BatchQueryRunner over temporary data files and a stub API.
+ */
+public class BatchQueryRunnerTest extends TestCase
+{
+    private static final String QUERIES =
+        "# id,type,arguments\n"
+        + "s1,scholarships,Master,canada\n"
+        + "\n"
+        + "c1,courses,Web Development,all\n"
+        + "u1,universities,Stubland\n"
+        + "x1,planets,Mars\n"
+        + "s2,scholarships,all,all\n";
+
+    private HttpServer server;
+    private Path directory;
+    private BatchQueryRunner runner;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/search", exchange -> {
+            final byte[] body = "[{\"name\": \"Stub University\", \"web_pages\": [\"https://stub.example\"], \"domains\": []}]"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        directory = Files.createTempDirectory("batch");
+        final Path scholarships = Files.write(directory.resolve("scholarships.csv"), (",title,degrees,funds,date,location\n"
+                + "0,Maple Award,\"Master, Phd\",$5000,1 June 2022,canada\n"
+                + "1,Thames Grant,Bachelor,$1000,Always Active,united-kingdom\n"
+                + "2,Prairie Fellowship,Master,Fully Funded,,canada\n").getBytes(StandardCharsets.UTF_8));
+        final Path courses = Files.write(directory.resolve("udemy.csv"), ("course_id,course_title,url,is_paid,price,"
+                + "num_subscribers,num_reviews,num_lectures,level,content_duration,published_timestamp,subject\n"
+                + "1,HTML Basics,https://www.udemy.com/html/,False,0,900,10,12,Beginner Level,1.5,2016-01-01T00:00:00Z,Web Development\n"
+                + "2,\"React, Redux and You\",https://www.udemy.com/react/,True,50,4000,200,80,All Levels,9.0,2017-01-01T00:00:00Z,Web Development\n"
+                + "3,Logo Design,https://www.udemy.com/logo/,True,20,500,5,10,All Levels,2.0,2015-01-01T00:00:00Z,Graphic Design\n")
+                .getBytes(StandardCharsets.UTF_8));
+        runner = new BatchQueryRunner(new ScholarshipService(scholarships), new UdemyCourseService(courses),
+                new UniversityService("http://127.0.0.1:" + server.getAddress().getPort() + "/search", new OkHttpClient()), 3, 10);
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        server.stop(0);
+        for (final String file : new String[] {"scholarships.csv", "udemy.csv"}) {
+            Files.deleteIfExists(directory.resolve(file));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    public void testWritesOneJsonLinePerQueryInQueryOrder() throws Exception
+    {
+        final StringWriter output = new StringWriter();
+        assertEquals(1, runner.run(new StringReader(QUERIES), output, BatchQueryRunner.Format.JSONL));
+
+        final String[] lines = output.toString().split("\n");
+        assertEquals(5, lines.length);
+        final JSONObject scholarships = new JSONObject(lines[0]);
+        assertEquals("s1", scholarships.getString("id"));
+        assertEquals(2, scholarships.getJSONArray("results").length());
+        assertEquals("Maple Award", scholarships.getJSONArray("results").getJSONObject(0).getString("Scholarship"));
+        final JSONObject courses = new JSONObject(lines[1]);
+        assertEquals("React, Redux and You", courses.getJSONArray("results").getJSONObject(0).getString("Course")); // Most subscribers first
+        assertEquals(2, courses.getJSONArray("results").length());
+        assertEquals("Stub University", new JSONObject(lines[2]).getJSONArray("results").getJSONObject(0).getString("University"));
+        assertEquals("Unknown query type: planets", new JSONObject(lines[3]).getString("error"));
+        assertEquals(3, new JSONObject(lines[4]).getJSONArray("results").length());
+    }
+
+    public void testWritesOneCsvRowPerResult() throws Exception
+    {
+        final StringWriter output = new StringWriter();
+        runner.run(new StringReader(QUERIES), output, BatchQueryRunner.Format.CSV);
+
+        final String[] lines = output.toString().split("\n");
+        assertEquals("query_id,type,rank,name,detail_1,detail_2,detail_3,detail_4,error", lines[0]);
+        assertEquals("s1,scholarships,1,Maple Award,\"Master, Phd\",$5000,canada,,", lines[1]);
+        assertEquals(1 + 2 + 2 + 1 + 1 + 3, lines.length); // Header, results, and one row for the failed query
+        assertTrue(output.toString().contains("x1,planets,,,,,,,Unknown query type: planets"));
+    }
+}
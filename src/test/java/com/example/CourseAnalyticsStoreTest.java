@@ -0,0 +1,89 @@
+package com.example;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+import com.example.CourseAnalyticsStore.Dimension;
+import com.example.CourseAnalyticsStore.Group;
+
+/**
+ * Checks the course statistics parser and that parallel group-bys match a sequential sum.
+ */
+public class CourseAnalyticsStoreTest extends TestCase
+{
+    private static final String[] INSTITUTIONS = {"MITx", "HarvardX"};
+    private static final String[] SUBJECTS = {"Computer Science", "Government, Health, and Social Science"};
+
+    public void testParsesAppendixColumnsByName() throws Exception
+    {
+        final CourseAnalyticsStore store = CourseAnalyticsStore.parse(new StringReader(
+                "Institution,Course Number,Launch Date,Course Subject,Participants (Course Content Accessed),Certified,"
+                        + "Median Hours for Certification\n"
+                        + "MITx,6.002x,09/05/2012,\"Science, Technology, Engineering, and Mathematics\",36105,3003,64.45\n"
+                        + "HarvardX,CS50x,10/15/2012,Computer Science,169621,1439,0\n"
+                        + "MITx,6.00x,02/04/2013,Computer Science,62709,5783,78.53\n"));
+        assertEquals(3, store.size());
+        assertEquals("Science, Technology, Engineering, and Mathematics", store.subject(0));
+
+        final List<Group> byInstitution = store.groupBy(Dimension.INSTITUTION);
+        assertEquals(2, byInstitution.size());
+        assertEquals("MITx", byInstitution.get(0).getLabels()[0]);
+        assertEquals(2, byInstitution.get(0).getCourses());
+        assertEquals(98814, byInstitution.get(0).getParticipants());
+        assertEquals(100.0 * 8786 / 98814, byInstitution.get(0).getCertificationRate(), 1e-9);
+        assertEquals((64.45 + 78.53) / 2, byInstitution.get(0).getMeanMedianHours(), 1e-4);
+        assertEquals(0.0, byInstitution.get(1).getMeanMedianHours(), 0.0); // Nobody timed
+
+        final List<Group> byYear = store.groupBy(Dimension.LAUNCH_YEAR);
+        assertEquals("2012", byYear.get(0).getLabels()[0]);
+        assertEquals("2013", byYear.get(1).getLabels()[0]);
+        assertEquals(1, store.groupBy().size()); // No dimensions: one total
+    }
+
+    public void testParallelGroupByMatchesSequentialSums()
+    {
+        final Random random = new Random(7);
+        final CourseAnalyticsStore.Builder builder = new CourseAnalyticsStore.Builder();
+        for (int i = 0; i < 300_000; i++) {
+            builder.add(INSTITUTIONS[random.nextInt(2)], SUBJECTS[random.nextInt(2)], 2012 + random.nextInt(5),
+                    1000 + random.nextInt(50_000), random.nextInt(1000), random.nextInt(150));
+        }
+        final CourseAnalyticsStore store = builder.build();
+
+        final List<Group> groups = store.groupBy(Dimension.SUBJECT, Dimension.LAUNCH_YEAR, Dimension.HOURS_BAND);
+        assertEquals(2 * 5 * 5, groups.size());
+        int courses = 0;
+        for (final Group group : groups) {
+            long participants = 0;
+            long certified = 0;
+            int count = 0;
+            for (int row = 0; row < store.size(); row++) {
+                if (store.subject(row).equals(group.getLabels()[0])
+                        && String.valueOf(store.launchYear(row)).equals(group.getLabels()[1])
+                        && band(store.medianHours(row)).equals(group.getLabels()[2])) {
+                    participants += store.participants(row);
+                    certified += store.certified(row);
+                    count++;
+                }
+            }
+            assertEquals(count, group.getCourses());
+            assertEquals(participants, group.getParticipants());
+            assertEquals(certified, group.getCertified());
+            courses += count;
+        }
+        assertEquals(store.size(), courses);
+    }
+
+    private static String band(final float hours)
+    {
+        if (hours < 10) {
+            return "Under 10 h";
+        } else if (hours < 25) {
+            return "10-25 h";
+        } else if (hours < 50) {
+            return "25-50 h";
+        }
+        return hours < 100 ? "50-100 h" : "100 h or more";
+    }
+}
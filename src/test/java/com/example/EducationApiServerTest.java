@@ -0,0 +1,167 @@
+package com.example;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import com.example.MainClient.ScholarshipService;
+import com.example.MainClient.UdemyCourseService;
+import com.example.MainClient.UniversityService;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * Queries EducationApiServer over HTTP, backed by temporary data files and a stub universities API.
+ */
+public class EducationApiServerTest extends TestCase
+{
+    private HttpServer universities;
+    private Path directory;
+    private ProfileStore profiles;
+    private EducationApiServer server;
+    private OkHttpClient client;
+    private String baseUrl;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        universities = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        universities.createContext("/search", exchange -> {
+            final byte[] body = "[{\"name\": \"Stub University\", \"web_pages\": [\"https://stub.example\"], \"domains\": [\"stub.example\"]}]"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        universities.start();
+
+        directory = Files.createTempDirectory("api");
+        final Path scholarships = Files.write(directory.resolve("scholarships.csv"), (",title,degrees,funds,date,location\n"
+                + "0,Maple Award,\"Master, Phd\",$5000,1 June 2022,canada\n"
+                + "1,Thames Grant,Bachelor,$1000,Always Active,united-kingdom\n"
+                + "2,Prairie Fellowship,Master,$9000,,canada\n").getBytes(StandardCharsets.UTF_8));
+        final Path courses = Files.write(directory.resolve("udemy.csv"), ("course_id,course_title,url,is_paid,price,"
+                + "num_subscribers,num_reviews,num_lectures,level,content_duration,published_timestamp,subject\n"
+                + "1,HTML Basics,https://www.udemy.com/html/,False,0,900,10,12,Beginner Level,1.5,2016-01-01T00:00:00Z,Web Development\n"
+                + "2,\"React, Redux and You\",https://www.udemy.com/react/,True,50,4000,200,80,All Levels,9.0,2017-01-01T00:00:00Z,Web Development\n"
+                + "3,CSS Layouts,https://www.udemy.com/css/,True,20,2000,50,30,All Levels,3.0,2016-06-01T00:00:00Z,Web Development\n"
+                + "4,Logo Design,https://www.udemy.com/logo/,True,20,500,5,10,All Levels,2.0,2015-01-01T00:00:00Z,Graphic Design\n")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("student_profiles.csv"), ("\"Name\",\"Email\",\"OriginCountry\",\"CurrentCountry\"\n"
+                + "\"Ana\",\"ana@example.com\",\"Peru\",\"Spain\"\n"
+                + "\"Ben\",\"ben@example.com\",\"Kenya\",\"Spain\"\n").getBytes(StandardCharsets.UTF_8));
+        profiles = ProfileStore.open(directory.resolve("student_profiles.csv"), directory.resolve("student_profiles.log"), 100);
+
+        server = new EducationApiServer(new ScholarshipService(scholarships), new UdemyCourseService(courses),
+                new UniversityService("http://127.0.0.1:" + universities.getAddress().getPort() + "/search", new OkHttpClient()),
+                profiles);
+        server.start(new InetSocketAddress("127.0.0.1", 0));
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = new OkHttpClient();
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        server.stop();
+        universities.stop(0);
+        profiles.close();
+        for (final String file : new String[] {"scholarships.csv", "udemy.csv", "student_profiles.csv", "student_profiles.log"}) {
+            Files.deleteIfExists(directory.resolve(file));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    public void testPagesThroughFilteredResults() throws Exception
+    {
+        final JSONObject first = getJson("/scholarships?location=canada&sort=amount&limit=1");
+        assertEquals(2, first.getInt("total"));
+        assertTrue(first.getBoolean("hasMore"));
+        assertEquals("Prairie Fellowship", first.getJSONArray("items").getJSONObject(0).getString("name"));
+        final JSONObject second = getJson("/scholarships?location=canada&sort=amount&limit=1&offset=1");
+        assertFalse(second.getBoolean("hasMore"));
+        assertEquals("Maple Award", second.getJSONArray("items").getJSONObject(0).getString("name"));
+
+        final JSONObject courses = getJson("/courses?subject=web+development&paid=true&limit=1&offset=1");
+        assertFalse(courses.getBoolean("hasMore"));
+        final JSONArray items = courses.getJSONArray("items");
+        assertEquals(1, items.length());
+        assertEquals("CSS Layouts", items.getJSONObject(0).getString("title")); // Second by subscribers
+        assertEquals(1, getJson("/courses?publishedFrom=2016-01-01&publishedTo=2016-01-01").getJSONArray("items").length());
+        assertEquals(0, getJson("/courses?offset=100").getJSONArray("items").length());
+
+        assertEquals("Stub University", getJson("/universities?country=Stubland").getJSONArray("items").getJSONObject(0).getString("name"));
+        assertEquals(1, getJson("/profiles?currentCountry=spain&originCountry=Kenya").getInt("total"));
+        assertEquals("Ana", getJson("/profiles?email=ANA@example.com").getJSONArray("items").getJSONObject(0).getString("name"));
+    }
+
+    public void testRevalidatesWithEntityTags() throws Exception
+    {
+        final String etag;
+        try (Response response = get("/profiles?currentCountry=Spain", null)) {
+            assertEquals(200, response.code());
+            etag = response.header("ETag");
+        }
+        assertNotNull(etag);
+        try (Response response = get("/profiles?currentCountry=Spain", "\"other\", " + etag)) {
+            assertEquals(304, response.code());
+            assertEquals(0, response.body().bytes().length);
+        }
+
+        profiles.add(new StudentProfile("Cy", "cy@example.com", "Chile", "Spain")).get();
+        try (Response response = get("/profiles?currentCountry=Spain", etag)) {
+            assertEquals(200, response.code()); // The new profile changes the response
+            assertFalse(etag.equals(response.header("ETag")));
+            assertEquals(3, new JSONObject(response.body().string()).getInt("total"));
+        }
+    }
+
+    public void testRejectsInvalidRequests() throws Exception
+    {
+        assertEquals(400, status(get("/courses?minPrice=cheap", null)));
+        assertEquals(400, status(get("/courses?sort=popularity", null)));
+        assertEquals(400, status(get("/scholarships?limit=0", null)));
+        assertEquals(400, status(get("/universities", null)));
+        assertEquals(404, status(get("/planets", null)));
+        assertEquals(404, status(get("/scholarships/1", null)));
+        final Request post = new Request.Builder().url(baseUrl + "/profiles")
+                .post(RequestBody.create(new byte[0], null)).build();
+        try (Response response = client.newCall(post).execute()) {
+            assertEquals(405, response.code());
+            assertTrue(new JSONObject(response.body().string()).getString("error").contains("POST"));
+        }
+    }
+
+    private Response get(final String path, final String ifNoneMatch) throws Exception
+    {
+        final Request.Builder request = new Request.Builder().url(baseUrl + path);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.newCall(request.build()).execute();
+    }
+
+    private JSONObject getJson(final String path) throws Exception
+    {
+        try (Response response = get(path, null)) {
+            assertEquals(path, 200, response.code());
+            return new JSONObject(response.body().string());
+        }
+    }
+
+    private static int status(final Response response)
+    {
+        try (response) {
+            return response.code();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import junit.framework.TestCase;
+
+/**
+ * Checks the histogram's percentile accuracy and that metrics are readable over JMX.
+ */
+public class MetricsTest extends TestCase
+{
+    public void testPercentilesStayWithinBucketPrecision()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500.0, histogram.getMean(), 1.0);
+        for (final double percentile : new double[] {50, 90, 99, 99.9}) {
+            final double exact = percentile * 1_000_000;
+            final long reported = histogram.getPercentile(percentile);
+            assertTrue(percentile + ": " + reported, reported >= exact && reported <= exact * 1.016);
+        }
+        assertEquals(100_000_000, histogram.getPercentile(100)); // Capped at the maximum, not the bucket bound
+        assertEquals(0, new LatencyHistogram().getPercentile(50));
+    }
+
+    public void testBucketsCoverEveryValueInOrder()
+    {
+        int previous = -1;
+        for (long value = 0; value < 1 << 20; value++) {
+            final int bucket = LatencyHistogram.bucket(value);
+            assertTrue(bucket == previous || bucket == previous + 1);
+            assertTrue(LatencyHistogram.highestValueIn(bucket) >= value);
+            previous = bucket;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(LatencyHistogram.bucket(Long.MAX_VALUE)));
+    }
+
+    public void testMetricsArePublishedOverJmx() throws Exception
+    {
+        if (!Metrics.ENABLED) {
+            return; // Turned off with -Deducation.metrics=false
+        }
+        final Metrics.Timer timer = Metrics.timer("test.operation");
+        assertSame(timer, Metrics.timer("test.operation"));
+        timer.stop(Metrics.start());
+        final Metrics.CacheStats cache = Metrics.cache("test.cache");
+        cache.hit();
+        cache.hit();
+        cache.hit();
+        cache.miss();
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(1L, server.getAttribute(new ObjectName("com.example:type=Metrics,group=Timers,name=test.operation"), "Count"));
+        assertEquals(0.75, server.getAttribute(new ObjectName("com.example:type=Metrics,group=Caches,name=test.cache"), "HitRatio"));
+        assertTrue(Metrics.report().contains("test.cache: hits=3 misses=1 hitRatio=0.75"));
+        try {
+            server.invoke(new ObjectName("com.example:type=Metrics,group=Caches,name=test.cache"), "reset", null, null);
+            fail("Invoked an undeclared operation");
+        } catch (final ReflectionException expected) {
+            assertTrue(expected.getTargetException() instanceof NoSuchMethodException);
+        }
+    }
+}
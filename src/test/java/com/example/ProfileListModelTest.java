@@ -0,0 +1,122 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import junit.framework.TestCase;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * Checks that the profile list model fires ranged events for the rows that changed, however many there are.
+ */
+public class ProfileListModelTest extends TestCase
+{
+    private final List<String> events = new ArrayList<>();
+
+    private ProfileListModel listenedModel()
+    {
+        final ProfileListModel model = new ProfileListModel();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(final ListDataEvent e) { events.add("added " + e.getIndex0() + "-" + e.getIndex1()); }
+            @Override
+            public void intervalRemoved(final ListDataEvent e) { events.add("removed " + e.getIndex0() + "-" + e.getIndex1()); }
+            @Override
+            public void contentsChanged(final ListDataEvent e) { events.add("changed " + e.getIndex0() + "-" + e.getIndex1()); }
+        });
+        return model;
+    }
+
+    private static List<StudentProfile> profiles(final int count)
+    {
+        final List<StudentProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            profiles.add(new StudentProfile("S" + i, "s" + i + "@example.com", "Peru", i % 2 == 0 ? "Spain" : "Chile"));
+        }
+        return profiles;
+    }
+
+    public void testMutationsFireOneEventForTheRowsThatChanged()
+    {
+        final ProfileListModel model = listenedModel();
+        final List<StudentProfile> rows = profiles(50_000);
+        model.setRows(new ArrayList<>(rows));
+        assertEquals(Collections.singletonList("added 0-49999"), events);
+
+        final List<StudentProfile> added = new ArrayList<>(rows);
+        added.add(20_000, new StudentProfile("New", "new@example.com", "Peru", "Spain"));
+        final List<StudentProfile> renamed = new ArrayList<>(added);
+        renamed.set(5, new StudentProfile("Five", "s5@example.com", "Peru", "Chile"));
+        final List<StudentProfile> deleted = new ArrayList<>(renamed);
+        deleted.remove(40_001);
+        events.clear();
+        model.setRows(added);
+        model.setRows(renamed);
+        model.setRows(deleted);
+        model.setRows(new ArrayList<>(deleted)); // Same rows: nothing to redraw
+        assertEquals(List.of("added 20000-20000", "changed 5-5", "removed 40001-40001"), events);
+
+        events.clear();
+        model.setRows(profiles(30_000)); // A new view, e.g. another filter
+        assertEquals(List.of("changed 0-29999", "removed 30000-49999"), events);
+        assertEquals(30_000, model.getSize());
+
+        events.clear();
+        model.setRows(profiles(40_000));
+        assertEquals(List.of("changed 0-29999", "added 30000-39999"), events);
+    }
+
+    public void testSelectionBeyondAShorterViewIsCleared()
+    {
+        final ProfileListModel model = new ProfileListModel();
+        model.setRows(profiles(100));
+        final JList<StudentProfile> list = new JList<>(model);
+        list.setSelectedIndex(80);
+        model.setRows(profiles(30));
+        assertEquals(-1, list.getSelectedIndex());
+        assertNull(list.getSelectedValue());
+    }
+
+    public void testFilterChangeIsComputedOffTheEventThread() throws Exception
+    {
+        final Path directory = Files.createTempDirectory("profiles");
+        final Path snapshot = directory.resolve("student_profiles.csv");
+        final Path log = directory.resolve("student_profiles.log");
+        final ProfileStore store = ProfileStore.open(snapshot, log, 100_000);
+        try {
+            for (final StudentProfile profile : profiles(10_000)) {
+                store.add(profile);
+            }
+            final ProfileListModel model = listenedModel();
+            final CountDownLatch shown = new CountDownLatch(1);
+            final int[] count = new int[1];
+            SwingUtilities.invokeAndWait(() -> {
+                model.setStore(store);
+                model.setView(s -> {
+                    assertFalse(SwingUtilities.isEventDispatchThread());
+                    return s.findByCurrentCountry("chile");
+                }, size -> {
+                    count[0] = size;
+                    shown.countDown();
+                }, e -> fail(e.getMessage()));
+            });
+            assertTrue(shown.await(5, TimeUnit.SECONDS));
+            assertEquals(5_000, count[0]);
+            assertEquals(5_000, model.getSize());
+            assertEquals(Collections.singletonList("added 0-4999"), events); // The superseded full view was dropped
+        } finally {
+            store.close();
+            for (final Path file : new Path[] {snapshot, log, directory}) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * Checks the "students like me" ranking against a brute-force score and sort.
+ */
+public class ProfileMatcherTest extends TestCase
+{
+    private static final String[] COUNTRIES = {"Uganda", "Germany", "USA", "Kenya", "Canada", "Peru", "Japan"};
+
+    public void testRankingMatchesBruteForce()
+    {
+        final Random random = new Random(7);
+        final List<StudentProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            profiles.add(new StudentProfile("S" + i, "s" + i + "@example.com",
+                    COUNTRIES[random.nextInt(COUNTRIES.length)], COUNTRIES[random.nextInt(COUNTRIES.length)]));
+        }
+        final ProfileMatcher matcher = new ProfileMatcher(profiles, profile -> Collections.emptyList());
+        final StudentProfile me = profiles.get(10);
+
+        final List<StudentProfile> expected = new ArrayList<>();
+        for (final StudentProfile profile : profiles) {
+            if (profile != me && bruteForceScore(me, profile, "japan") > 0) {
+                expected.add(profile);
+            }
+        }
+        expected.sort((a, b) -> bruteForceScore(me, b, "japan") - bruteForceScore(me, a, "japan")); // Stable
+
+        final List<StudentProfile> ranked = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            for (final ProfileMatcher.Match match : matcher.rank(me, "JAPAN", Collections.emptyList(), page * 25, 25)) {
+                assertEquals(bruteForceScore(me, match.getProfile(), "japan"), match.getScore());
+                ranked.add(match.getProfile());
+            }
+        }
+        assertEquals(expected.subList(0, 125), ranked);
+    }
+
+    public void testSharedItemsRaiseTheScore()
+    {
+        final List<StudentProfile> profiles = Arrays.asList(
+            new StudentProfile("Me", "me@example.com", "Peru", "Chile"),
+            new StudentProfile("Same country", "a@example.com", "Kenya", "Chile"),
+            new StudentProfile("Same interests", "b@example.com", "Kenya", "Japan"),
+            new StudentProfile("Nothing shared", "c@example.com", "Kenya", "Japan"));
+        final ProfileMatcher matcher = new ProfileMatcher(profiles, profile -> "b@example.com".equals(profile.getEmail())
+                ? Arrays.asList("Chevening Scholarship", "Web Development Bootcamp", "Fulbright") : Collections.emptyList());
+        final List<ProfileMatcher.Match> matches = matcher.rank(profiles.get(0), null,
+                Arrays.asList("chevening scholarship", "Fulbright ", "Web Development Bootcamp"), 0, 10);
+        assertEquals(2, matches.size());
+        assertEquals("Same interests", matches.get(0).getProfile().getName());
+        assertEquals("Same country", matches.get(1).getProfile().getName());
+        assertTrue(matcher.rank(profiles.get(0), null, Collections.emptyList(), 5, 10).isEmpty());
+    }
+
+    private static int bruteForceScore(final StudentProfile me, final StudentProfile other, final String desired)
+    {
+        int score = 0;
+        if (other.getOriginCountry().equalsIgnoreCase(me.getOriginCountry())) {
+            score += ProfileMatcher.SAME_ORIGIN_WEIGHT;
+        }
+        if (other.getCurrentCountry().equalsIgnoreCase(me.getCurrentCountry())) {
+            score += ProfileMatcher.SAME_CURRENT_WEIGHT;
+        }
+        if (other.getCurrentCountry().equalsIgnoreCase(desired)) {
+            score += ProfileMatcher.IN_DESIRED_COUNTRY_WEIGHT;
+        }
+        return score;
+    }
+}
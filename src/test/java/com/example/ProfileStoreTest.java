@@ -0,0 +1,197 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import junit.framework.TestCase;
+import com.example.StudentCommunity.StudentProfile;
+
+/**
+ * Checks that profile changes are written behind and survive reopening, compaction and a torn log record.
+ */
+public class ProfileStoreTest extends TestCase
+{
+    private Path directory;
+    private Path snapshot;
+    private Path log;
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("profiles");
+        snapshot = directory.resolve("student_profiles.csv");
+        log = directory.resolve("student_profiles.log");
+        Files.write(snapshot, ("\"Name\",\"Email\",\"OriginCountry\",\"CurrentCountry\"\n"
+                + "\"Ana\",\"ana@example.com\",\"Peru\",\"Spain\"\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void tearDown() throws IOException
+    {
+        for (final Path file : new Path[] {snapshot, log, directory}) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void testChangesAreAppendedAndReplayed() throws IOException
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 100);
+        store.add(new StudentProfile("Ben", "ben@example.com", "Kenya", "Canada"));
+        store.add(new StudentProfile("Cy", "cy@example.com", "Chile", "Japan"));
+        store.update("ANA@example.com", new StudentProfile("Ana B", "ana.b@example.com", "Peru", "France"));
+        assertNotNull(store.delete("cy@example.com"));
+        assertNull(store.delete("nobody@example.com"));
+        try {
+            store.add(new StudentProfile("Ben 2", " Ben@Example.com", "Kenya", "Canada"));
+            fail("Duplicate email accepted");
+        } catch (final IllegalArgumentException expected) {
+            // Emails are unique regardless of case
+        }
+        store.close();
+        assertTrue(new String(Files.readAllBytes(snapshot), StandardCharsets.UTF_8).contains("ana@example.com"));
+
+        final ProfileStore reopened = ProfileStore.open(snapshot, log, 100);
+        final List<StudentProfile> profiles = reopened.getProfiles();
+        assertEquals(2, profiles.size());
+        assertEquals("Ana B", profiles.get(0).getName()); // Updates keep their position
+        assertEquals("France", profiles.get(0).getCurrentCountry());
+        assertEquals("ben@example.com", profiles.get(1).getEmail());
+        assertEquals(4, reopened.getLogRecordCount());
+        reopened.close();
+    }
+
+    public void testIndexesFollowChanges() throws IOException
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 100);
+        store.add(new StudentProfile("Ben", "ben@example.com", "Kenya", "spain "));
+        assertEquals(2, store.findByCurrentCountry("SPAIN").size());
+        assertEquals("Ben", store.findByEmail(" BEN@example.com").getName());
+
+        store.update("ben@example.com", new StudentProfile("Ben", "benny@example.com", "Peru", "Canada"));
+        assertNull(store.findByEmail("ben@example.com"));
+        assertEquals(1, store.findByCurrentCountry("spain").size());
+        assertEquals(2, store.findByOriginCountry("peru").size());
+        assertEquals("benny@example.com", store.findByCurrentCountry("canada").get(0).getEmail());
+
+        store.delete("ana@example.com");
+        assertTrue(store.findByCurrentCountry("Spain").isEmpty());
+        assertEquals(1, store.findByOriginCountry("Peru").size());
+        store.close();
+
+        // Indexes are rebuilt from the snapshot and the replayed log
+        final ProfileStore reopened = ProfileStore.open(snapshot, log, 100);
+        assertEquals(1, reopened.findByCurrentCountry("Canada").size());
+        assertTrue(reopened.findByOriginCountry("Kenya").isEmpty());
+        reopened.close();
+    }
+
+    public void testReplayedRenameOntoAnExistingEmailReplacesIt() throws IOException
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 100);
+        store.update("ana@example.com", new StudentProfile("Ana B", "ana.b@example.com", "Peru", "France"));
+        store.close();
+        // A snapshot that already holds the new email, with other countries
+        Files.write(snapshot, ("\"Name\",\"Email\",\"OriginCountry\",\"CurrentCountry\"\n"
+                + "\"Ana\",\"ana@example.com\",\"Peru\",\"Spain\"\n"
+                + "\"Ben\",\"ben@example.com\",\"Kenya\",\"Canada\"\n"
+                + "\"Other Ana\",\"ana.b@example.com\",\"Chile\",\"Italy\"\n").getBytes(StandardCharsets.UTF_8));
+
+        final ProfileStore reopened = ProfileStore.open(snapshot, log, 100);
+        final List<StudentProfile> profiles = reopened.getProfiles();
+        assertEquals(2, profiles.size());
+        assertEquals("Ana B", profiles.get(0).getName()); // At the renamed profile's position
+        assertEquals("ben@example.com", profiles.get(1).getEmail());
+        assertTrue(reopened.findByCurrentCountry("Italy").isEmpty());
+        assertTrue(reopened.findByOriginCountry("Chile").isEmpty());
+        assertEquals("Ana B", reopened.findByCurrentCountry("France").get(0).getName());
+        reopened.close();
+    }
+
+    public void testEmailLookupSeesChangesFromOtherThreads() throws Exception
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 100);
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                store.add(new StudentProfile("S" + i, "s" + i + "@example.com", "Peru", "Spain"));
+            }
+        });
+        writer.start();
+        while (store.findByEmail("S199@EXAMPLE.COM") == null && writer.isAlive()) {
+            assertNotNull(store.findByEmail("ana@example.com")); // Readers never block on the writer
+            Thread.yield();
+        }
+        writer.join();
+        assertNotNull(store.findByEmail("s199@example.com"));
+        store.delete("s0@example.com");
+        assertNull(store.findByEmail("s0@example.com"));
+        store.close();
+    }
+
+    public void testTornRecordIsDiscarded() throws IOException
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 100);
+        store.add(new StudentProfile("Ben", "ben@example.com", "Kenya", "Canada"));
+        store.close();
+        final long committed = Files.size(log);
+        Files.write(log, "\"ADD\",\"dan@example.com\",\"Dan\",\"dan@exa".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        final ProfileStore recovered = ProfileStore.open(snapshot, log, 100);
+        assertEquals(2, recovered.size());
+        assertEquals(committed, Files.size(log));
+        recovered.add(new StudentProfile("Dan", "dan@example.com", "Ghana", "Italy"));
+        recovered.close();
+        final ProfileStore reopened = ProfileStore.open(snapshot, log, 100);
+        assertEquals(3, reopened.size());
+        reopened.close();
+    }
+
+    public void testBurstOfChangesIsWrittenBehindInFewCommits() throws IOException
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 1000);
+        final List<CompletableFuture<Void>> saved = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            saved.add(store.add(new StudentProfile("S" + i, "s" + i + "@example.com", "Peru", "Spain")));
+        }
+        assertEquals(301, store.size()); // Visible before it is written
+        CompletableFuture.allOf(saved.toArray(new CompletableFuture<?>[0])).join();
+        assertEquals(300, store.getLogRecordCount());
+        assertTrue(store.getCommitCount() < 300); // Queued changes share a write and an fsync
+
+        store.update("s7@example.com", new StudentProfile("Seven", "s7@example.com", "Peru", "Chile"));
+        store.close(); // Writes what is still queued
+        try {
+            store.add(new StudentProfile("Late", "late@example.com", "Peru", "Spain"));
+            fail("Closed store accepted a change");
+        } catch (final IllegalStateException expected) {
+            // Nothing may be queued after the final flush
+        }
+
+        final ProfileStore reopened = ProfileStore.open(snapshot, log, 1000);
+        assertEquals(301, reopened.size());
+        assertEquals("Seven", reopened.findByEmail("s7@example.com").getName());
+        reopened.close();
+    }
+
+    public void testCompactionFoldsLogIntoSnapshot() throws IOException
+    {
+        final ProfileStore store = ProfileStore.open(snapshot, log, 3);
+        store.add(new StudentProfile("Ben", "ben@example.com", "Kenya", "Canada"));
+        store.add(new StudentProfile("Cy", "cy@example.com", "Chile", "Japan")).join();
+        assertEquals(2, store.getLogRecordCount());
+        store.delete("ana@example.com");
+        store.flush().join();
+        assertEquals(0, store.getLogRecordCount());
+        assertEquals(0, Files.size(log));
+        store.close();
+
+        final ProfileStore reopened = ProfileStore.open(snapshot, log, 3);
+        assertEquals("ben@example.com", reopened.getProfiles().get(0).getEmail());
+        assertEquals(2, reopened.size());
+        reopened.close();
+    }
+}
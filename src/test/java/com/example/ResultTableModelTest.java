@@ -0,0 +1,129 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.event.TableModelEvent;
+import junit.framework.TestCase;
+
+/**
+ * Checks that the result table materializes rows a page at a time, keeps a bounded number of
+ * pages, and re-reads a partially filled page when streamed results grow.
+ */
+public class ResultTableModelTest extends TestCase
+{
+    private final List<String> events = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> reads = new ArrayList<>(); // Row indexes in the order they were produced
+
+    private ResultTableModel listenedModel()
+    {
+        final ResultTableModel model = new ResultTableModel();
+        model.addTableModelListener(e -> {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                events.add("structure");
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                events.add("inserted " + e.getFirstRow() + "-" + e.getLastRow());
+            } else {
+                events.add("other " + e.getType());
+            }
+        });
+        model.setResults(new SearchResults() {
+            @Override
+            public String[] columns() {
+                return new String[]{"Name", "Row"};
+            }
+
+            @Override
+            public int size() {
+                return names.size();
+            }
+
+            @Override
+            public String[] row(final int index) {
+                reads.add(index);
+                return new String[]{names.get(index), String.valueOf(index)};
+            }
+
+            @Override
+            public String detailHTML(final int index) {
+                return "<html>" + names.get(index) + "</html>";
+            }
+        });
+        return model;
+    }
+
+    private void grow(final int size)
+    {
+        for (int i = names.size(); i < size; i++) {
+            names.add("Result " + i);
+        }
+    }
+
+    private int readsOf(final int row)
+    {
+        return Collections.frequency(reads, row);
+    }
+
+    public void testRowsAreMaterializedOnePageAtATime()
+    {
+        grow(250);
+        final ResultTableModel model = listenedModel();
+        assertEquals(Collections.singletonList("structure"), events);
+        assertEquals(250, model.getRowCount());
+        assertEquals(2, model.getColumnCount());
+        assertEquals("Row", model.getColumnName(1));
+        assertTrue(reads.isEmpty()); // Nothing is produced until a cell is asked for
+
+        assertEquals("Result 99", model.getValueAt(99, 0));
+        assertEquals(100, reads.size()); // Rows 0-99
+        assertEquals("100", model.getValueAt(100, 1));
+        assertEquals(200, reads.size()); // Rows 100-199
+        assertEquals("Result 0", model.getValueAt(0, 0));
+        assertEquals("Result 249", model.getValueAt(249, 0));
+        assertEquals(250, reads.size()); // Page 0 was cached; page 2 holds only 50 rows
+    }
+
+    public void testLeastRecentlyUsedPageIsEvicted()
+    {
+        grow(1000);
+        final ResultTableModel model = listenedModel();
+        for (int page = 0; page < 8; page++) { // Fills the page cache
+            model.getValueAt(page * 100, 0);
+        }
+        model.getValueAt(0, 0); // Page 0 is now the most recently used
+        model.getValueAt(800, 0); // A ninth page evicts page 1
+        assertEquals(900, reads.size());
+
+        model.getValueAt(50, 0);
+        assertEquals(900, reads.size());
+        model.getValueAt(150, 0);
+        assertEquals(1000, reads.size());
+        assertEquals(2, readsOf(150));
+    }
+
+    public void testGrowingResultsRereadThePartialLastPage()
+    {
+        grow(150);
+        final ResultTableModel model = listenedModel();
+        assertEquals("Result 120", model.getValueAt(120, 0)); // Materializes page 1 with rows 100-149 only
+        model.getValueAt(0, 0);
+        reads.clear();
+        events.clear();
+
+        grow(260);
+        model.resultsGrew();
+        model.resultsGrew(); // Nothing new: no event
+        assertEquals(Collections.singletonList("inserted 150-259"), events);
+        assertEquals(260, model.getRowCount());
+
+        for (int row = 150; row < 200; row++) {
+            assertEquals("Result " + row, model.getValueAt(row, 0));
+            assertEquals(1, readsOf(row)); // Read from the results, not served from the stale page
+        }
+        assertEquals(1, readsOf(120)); // The whole partial page was dropped and re-read
+        assertEquals("Result 0", model.getValueAt(0, 0));
+        assertEquals(0, readsOf(0)); // Full pages stay cached
+        assertEquals("Result 259", model.getValueAt(259, 0));
+    }
+}
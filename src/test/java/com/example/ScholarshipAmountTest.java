@@ -0,0 +1,69 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import junit.framework.TestCase;
+import com.example.MainClient.Scholarship;
+
+/**
+ * Unit tests for parsing scholarship amounts and the presorted amount order.
+ */
+public class ScholarshipAmountTest extends TestCase
+{
+    public void testParsesPlainAmounts()
+    {
+        assertEquals(1000.0, ScholarshipAmount.parse("$1000"), 0.001);
+        assertEquals(1000.0, ScholarshipAmount.parse("$1,000"), 0.001);
+        assertEquals(42000.0, ScholarshipAmount.parse("15,000 USD top prize; 42,000 USD total prizes"), 0.001);
+        assertEquals(2001.5, ScholarshipAmount.parse("$2,001.50"), 0.001);
+    }
+
+    public void testConvertsOtherCurrencies()
+    {
+        assertTrue(ScholarshipAmount.parse("€2,500") > 2500);
+        assertTrue(ScholarshipAmount.parse("£5,000") > ScholarshipAmount.parse("$5,000"));
+        assertEquals(13000 * ScholarshipAmount.parse("€1,000") / 1000, ScholarshipAmount.parse("Up to €13.000"), 0.001);
+        assertEquals(500.0, ScholarshipAmount.parse("US$500 or C$630"), 0.001);
+    }
+
+    public void testRangesUseUpperBound()
+    {
+        assertEquals(3000.0, ScholarshipAmount.parse("$100 to $3000"), 0.001);
+        assertEquals(2000.0, ScholarshipAmount.parse("Up to $2,000 awards"), 0.001);
+    }
+
+    public void testFullFundingAndUnknown()
+    {
+        assertEquals(ScholarshipAmount.FULL_FUNDING, ScholarshipAmount.parse("Fully Funded"));
+        assertEquals(ScholarshipAmount.FULL_FUNDING, ScholarshipAmount.parse("100% free"));
+        assertEquals(6000.0, ScholarshipAmount.parse("100% Tuition Fee [value of $6,000+]"), 0.001);
+        assertEquals(ScholarshipAmount.UNKNOWN, ScholarshipAmount.parse("Partially Funded"));
+        assertEquals(ScholarshipAmount.UNKNOWN, ScholarshipAmount.parse("80% off tuition fee"));
+        assertEquals(ScholarshipAmount.UNKNOWN, ScholarshipAmount.parse(""));
+    }
+
+    public void testIgnoresNonAsciiDigits()
+    {
+        assertEquals(ScholarshipAmount.UNKNOWN, ScholarshipAmount.parse("$\u0661\u0662\u0663")); // Arabic-Indic digits
+        assertEquals(500.0, ScholarshipAmount.parse("\uFF11\uFF12\uFF13 USD or $500"), 0.001); // Full-width digits
+        assertEquals("$\u0661\u0662\u0663", new Scholarship("A", "Master", "$\u0661\u0662\u0663", "egypt").getAmount());
+    }
+
+    public void testPresortedOrderMatchesStableSort()
+    {
+        final List<Scholarship> scholarships = Arrays.asList(
+            new Scholarship("A", "Master", "$1000", "canada"),
+            new Scholarship("B", "Master", "Fully Funded", "canada"),
+            new Scholarship("C", "Phd", "Variable", "canada"),
+            new Scholarship("D", "Master", "$1,000", "europe"),
+            new Scholarship("E", "Master", "£2,000", "canada"));
+        final ScholarshipCatalog catalog = new ScholarshipCatalog(scholarships, ScholarshipCatalog.NO_MODIFICATION_TIME);
+
+        final List<Scholarship> expected = new ArrayList<>(catalog.search("master", "all"));
+        Collections.sort(expected);
+        assertEquals(expected, catalog.searchByAmount("master", "all"));
+        assertEquals("B", catalog.searchByAmount("master", "all").get(0).getName());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import junit.framework.TestCase;
+import com.example.MainClient.Scholarship;
+import com.example.MainClient.ScholarshipService;
+
+/**
+ * Checks that the indexed scholarship search returns exactly what the linear scan returns.
+ */
+public class ScholarshipIndexTest extends TestCase
+{
+    private static final String[] QUERIES = {
+        "all", "master", "Master", "mast", "aster", "phd", "bachelor, phd", "r, b", "not funded",
+        "united-states", "united", "states", "ted-sta", "-", "uk", "canada", "e", "", "nothing-matches"
+    };
+
+    private final ScholarshipService service = new ScholarshipService(Paths.get("does-not-exist.csv"));
+
+    public void testMatchesLinearScanOnSampleData()
+    {
+        final List<Scholarship> scholarships = Arrays.asList(
+            new Scholarship("A", "Master, Bachelor, Phd", "$1000", "united-states"),
+            new Scholarship("B", "Phd", "£5,000", "united-kingdom"),
+            new Scholarship("C", "", "Fully Funded", "canada"),
+            new Scholarship("D", "Not Funded", "", "south-africa"),
+            new Scholarship("E", "Bachelor,Course", "Up to $2,000", "europe"));
+        assertSameResults(new ScholarshipCatalog(scholarships, ScholarshipCatalog.NO_MODIFICATION_TIME));
+    }
+
+    public void testMatchesLinearScanOnBundledCsv() throws Exception
+    {
+        final Path csv = Paths.get("Universities_Schoolarships_All_Around_the_World.csv");
+        if (!Files.isRegularFile(csv)) {
+            return; // Dataset not available in this checkout
+        }
+        assertSameResults(ScholarshipCatalog.load(csv));
+    }
+
+    public void testIncrementalMatchesFullSearchWhileTyping() throws Exception
+    {
+        final Path csv = Paths.get("Universities_Schoolarships_All_Around_the_World.csv");
+        final List<Scholarship> scholarships = Files.isRegularFile(csv)
+                ? ScholarshipCatalog.load(csv).getScholarships()
+                : Arrays.asList(new Scholarship("A", "Master, Phd", "$1000", "united-states"));
+        // 100 copies of the dataset, as for search-as-you-type on a much larger catalog
+        final List<Scholarship> large = new ArrayList<>();
+        for (int copy = 0; copy < 100; copy++) {
+            large.addAll(scholarships);
+        }
+        final ScholarshipCatalog catalog = new ScholarshipCatalog(large, ScholarshipCatalog.NO_MODIFICATION_TIME);
+
+        // Typing "master" then "united-states", with a backspace and a wildcard along the way
+        final String[][] keystrokes = {
+            {"all", "all"}, {"m", "all"}, {"ma", "all"}, {"mas", "all"}, {"ma", "all"}, {"mast", "all"}, {"master", "all"},
+            {"master", "u"}, {"master", "un"}, {"master", "united"}, {"master", "united-"}, {"master", "united-st"},
+            {"master", "united-states"}, {"master, ", "united-states"}, {"al", "united-states"}, {"all", "united-states"}
+        };
+        ScholarshipIndex.Match previous = null;
+        for (final String[] terms : keystrokes) {
+            previous = catalog.match(terms[0], terms[1], previous);
+            assertEquals(Arrays.toString(terms), catalog.search(terms[0], terms[1]), catalog.getScholarships(previous.getIds()));
+        }
+    }
+
+    private void assertSameResults(final ScholarshipCatalog catalog)
+    {
+        for (final String degree : QUERIES) {
+            for (final String location : QUERIES) {
+                final List<Scholarship> expected = service.filterScholarships(catalog.getScholarships(), degree, location);
+                assertEquals("degree=" + degree + ", location=" + location, expected, catalog.search(degree, location));
+            }
+        }
+    }
+}
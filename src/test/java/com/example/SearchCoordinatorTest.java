@@ -0,0 +1,45 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import junit.framework.TestCase;
+
+/**
+ * Checks that a newer search supersedes and interrupts the one still running.
+ */
+public class SearchCoordinatorTest extends TestCase
+{
+    public void testLatestSearchWins() throws Exception
+    {
+        final SearchCoordinator searches = new SearchCoordinator();
+        final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch firstInterrupted = new CountDownLatch(1);
+        final CountDownLatch secondDone = new CountDownLatch(1);
+
+        SwingUtilities.invokeAndWait(() -> searches.submit(context -> {
+            firstStarted.countDown();
+            try {
+                Thread.sleep(10_000); // Stands in for a slow download
+            } catch (final InterruptedException e) {
+                firstInterrupted.countDown();
+                throw e;
+            }
+            return "first";
+        }, delivered::add, e -> delivered.add("error")));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        SwingUtilities.invokeAndWait(() -> searches.submit(context -> "second", result -> {
+            delivered.add(result);
+            secondDone.countDown();
+        }, e -> delivered.add("error")));
+        assertTrue(firstInterrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { }); // Drain anything the first search might have posted
+        assertEquals(Collections.singletonList("second"), delivered);
+    }
+}
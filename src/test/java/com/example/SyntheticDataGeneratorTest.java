@@ -0,0 +1,83 @@
+package com.example;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import junit.framework.TestCase;
+import com.example.SyntheticDataGenerator.Dataset;
+
+/**
+ * Checks that generated datasets are reproducible and load with the application's own loaders.
+ */
+public class SyntheticDataGeneratorTest extends TestCase
+{
+    private static final int ROWS = 5_000;
+
+    private static boolean bundledFilesPresent()
+    {
+        for (final Dataset dataset : Dataset.values()) {
+            if (!Files.isRegularFile(Paths.get(dataset.getFileName()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String generate(final Dataset dataset, final long rows, final long seed) throws Exception
+    {
+        final StringWriter writer = new StringWriter();
+        new SyntheticDataGenerator(Paths.get(""), seed).generate(dataset, rows, writer);
+        return writer.toString();
+    }
+
+    public void testSameSeedGivesSameRows() throws Exception
+    {
+        if (!bundledFilesPresent()) {
+            return; // Nothing to learn from outside the project directory
+        }
+        for (final Dataset dataset : Dataset.values()) {
+            final String rows = generate(dataset, 2_000, 7);
+            assertEquals(rows, generate(dataset, 2_000, 7));
+            assertTrue(rows.startsWith(generate(dataset, 1_000, 7))); // Smaller files are prefixes of larger ones
+            assertFalse(rows.equals(generate(dataset, 2_000, 8)));
+        }
+    }
+
+    public void testGeneratedFilesLoadWithTheApplicationLoaders() throws Exception
+    {
+        if (!bundledFilesPresent()) {
+            return;
+        }
+        final Path directory = Files.createTempDirectory("generated");
+        final SyntheticDataGenerator generator = new SyntheticDataGenerator(Paths.get(""), 42);
+        final Set<Path> files = new HashSet<>();
+        for (final Dataset dataset : Dataset.values()) {
+            final Path file = directory.resolve(dataset.getFileName());
+            generator.generate(dataset, ROWS, file);
+            files.add(file);
+        }
+        final Path log = directory.resolve("student_profiles.log");
+        files.add(log);
+        try {
+            assertEquals(ROWS, ScholarshipCatalog.load(directory.resolve(Dataset.SCHOLARSHIPS.getFileName())).size());
+            final UdemyCourseStore courses = UdemyCourseStore.load(directory.resolve(Dataset.UDEMY.getFileName()));
+            assertEquals(ROWS, courses.size());
+            assertTrue(courses.subjectCode("Web Development") >= 0);
+            assertEquals(ROWS, CourseAnalyticsStore.load(directory.resolve(Dataset.EDX.getFileName())).size());
+            final ProfileStore profiles = ProfileStore.open(directory.resolve(Dataset.PROFILES.getFileName()), log, ROWS);
+            try {
+                assertEquals(ROWS, profiles.size()); // Emails are unique, so no profile replaces another
+            } finally {
+                profiles.close();
+            }
+        } finally {
+            for (final Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Checks the top-K course query against a brute-force filter and sort.
+ */
+public class UdemyCourseQueryTest extends TestCase
+{
+    private static final String[] SUBJECTS = {"Business Finance", "Graphic Design", "Musical Instruments", "Web Development"};
+    private static final String[] LEVELS = {"All Levels", "Beginner Level", "Intermediate Level", "Expert Level"};
+
+    private UdemyCourseStore store;
+
+    @Override
+    protected void setUp()
+    {
+        final Random random = new Random(42);
+        final UdemyCourseStore.Builder builder = new UdemyCourseStore.Builder();
+        for (int i = 0; i < 5000; i++) {
+            final boolean paid = random.nextInt(4) != 0;
+            builder.add(i, "Course, number " + i, "https://www.udemy.com/course-" + i + "/", paid,
+                    paid ? 20 + random.nextInt(10) * 10 : 0, random.nextInt(1000), random.nextInt(100),
+                    random.nextInt(50), LEVELS[random.nextInt(LEVELS.length)], random.nextInt(40) / 2f,
+                    1_400_000_000L + random.nextInt(100_000_000), SUBJECTS[random.nextInt(SUBJECTS.length)]);
+        }
+        store = builder.build();
+    }
+
+    public void testColumnsRoundTrip()
+    {
+        assertEquals(5000, store.size());
+        assertEquals("Course, number 7", store.title(7));
+        assertEquals("https://www.udemy.com/course-7/", store.url(7));
+        assertEquals(4, store.getSubjects().size());
+    }
+
+    public void testTopKMatchesFullSort()
+    {
+        for (final UdemyCourseQuery.SortOrder order : UdemyCourseQuery.SortOrder.values()) {
+            final UdemyCourseQuery query = new UdemyCourseQuery()
+                    .subject("web development")
+                    .level("Beginner Level")
+                    .paid(Boolean.FALSE)
+                    .durationBetween(0f, 5f)
+                    .sortBy(order)
+                    .limit(25);
+            assertEquals(order.name(), bruteForce(query, order), toList(store.query(query)));
+        }
+    }
+
+    public void testUnknownSubjectMatchesNothing()
+    {
+        assertEquals(0, store.query(new UdemyCourseQuery().subject("Cooking")).length);
+    }
+
+    private List<Integer> bruteForce(final UdemyCourseQuery query, final UdemyCourseQuery.SortOrder order)
+    {
+        final List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < store.size(); row++) {
+            if (store.subject(row).equalsIgnoreCase(query.getSubject()) && store.level(row).equals(query.getLevel())
+                    && !store.isPaid(row) && store.duration(row) <= query.getMaxHours()) {
+                rows.add(row);
+            }
+        }
+        final Comparator<Integer> byKey;
+        switch (order) {
+            case REVIEWS:
+                byKey = Comparator.comparingLong(row -> -store.reviews(row));
+                break;
+            case PRICE:
+                byKey = Comparator.comparingLong(row -> store.price(row));
+                break;
+            case RECENCY:
+                byKey = Comparator.comparingLong(row -> -store.published(row));
+                break;
+            default:
+                byKey = Comparator.comparingLong(row -> -store.subscribers(row));
+                break;
+        }
+        rows.sort(byKey); // Stable: ties stay in row order
+        return rows.subList(0, Math.min(query.getLimit(), rows.size()));
+    }
+
+    private static List<Integer> toList(final int[] rows)
+    {
+        final List<Integer> list = new ArrayList<>();
+        for (final int row : rows) {
+            list.add(row);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+/**
+ * Checks that fast sources are merged in right away and a slow source is cut off at its budget.
+ */
+public class UnifiedSearchTest extends TestCase
+{
+    private static UnifiedSearch.Hit hit(final String source, final String title, final double score)
+    {
+        return new UnifiedSearch.Hit(source, title, "", "<html>" + title + "</html>", score);
+    }
+
+    public void testSlowSourceDoesNotHoldBackFastOnes() throws Exception
+    {
+        final CountDownLatch slowInterrupted = new CountDownLatch(1);
+        final UnifiedSearch search = new UnifiedSearch(List.of(
+                new UnifiedSearch.Source("Local", 1000, query -> List.of(hit("Local", "a", 0.9), hit("Local", "b", 0.5))),
+                new UnifiedSearch.Source("Other", 1000, query -> List.of(hit("Other", "c", 1.0), hit("Other", "d", 0.5),
+                        hit("Other", "e", 0.1))),
+                new UnifiedSearch.Source("Remote", 200, query -> {
+                    try {
+                        Thread.sleep(10_000); // Stands in for a slow API
+                    } catch (final InterruptedException e) {
+                        slowInterrupted.countDown();
+                        throw e;
+                    }
+                    return Collections.emptyList();
+                }),
+                new UnifiedSearch.Source("Broken", 1000, query -> {
+                    throw new IllegalStateException("No data");
+                })), 2);
+
+        final List<UnifiedSearch.Progress> updates = new ArrayList<>();
+        final UnifiedSearch.Progress result = search.search(" query ", updates::add);
+
+        // Not delayed by the slow source: hits are shown while it is still within its budget
+        UnifiedSearch.Progress firstHits = null;
+        for (final UnifiedSearch.Progress progress : updates) {
+            if (!progress.getHits().isEmpty()) {
+                firstHits = progress;
+                break;
+            }
+        }
+        assertNotNull(firstHits);
+        assertTrue(firstHits.getPending().contains("Remote"));
+        assertFalse(firstHits.getTimedOut().contains("Remote"));
+        assertEquals(4, updates.size()); // One update per source
+        assertSame(result, updates.get(3));
+        assertTrue(result.isComplete());
+        assertEquals(List.of("Remote"), result.getTimedOut());
+        assertEquals(List.of("Broken"), result.getFailed());
+        assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+
+        final List<String> titles = new ArrayList<>();
+        for (final UnifiedSearch.Hit hit : result.getHits()) {
+            titles.add(hit.getTitle());
+        }
+        assertEquals(List.of("c", "a", "b", "d"), titles); // By score, ties in source order, two per source
+    }
+
+    public void testTextScoreRanksCloserMatchesHigher()
+    {
+        assertEquals(1.0, UnifiedSearch.textScore("Web Development", "web development"));
+        assertEquals(0.9, UnifiedSearch.textScore("web", "Web Design Basics"));
+        assertEquals(0.75, UnifiedSearch.textScore("design", "Web Design Basics"));
+        assertEquals(0.6, UnifiedSearch.textScore("sign", "Web Design Basics"));
+        assertEquals(0.0, UnifiedSearch.textScore("music", "Web Design Basics"));
+    }
+}
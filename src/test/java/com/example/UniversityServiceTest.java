@@ -0,0 +1,171 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+import okhttp3.OkHttpClient;
+import com.example.MainClient.UniversityService;
+
+/**
+ * Runs UniversityService against a local stub of the universities API.
+ */
+public class UniversityServiceTest extends TestCase
+{
+    private static final String PAYLOAD =
+        "[{\"name\": \"Stub University\", \"web_pages\": [\"https://stub.example\"], \"domains\": [\"stub.example\"],"
+        + " \"state-province\": null, \"country\": \"Stubland\", \"alpha_two_code\": \"SL\"}]";
+
+    private static final String ALL_PAYLOAD =
+        "[{\"name\": \"Université de Test\", \"web_pages\": [\"https://test.example\"], \"domains\": [],"
+        + " \"state-province\": \"Île-de-France\", \"country\": \"Côte d'Ivoire\", \"alpha_two_code\": \"CI\"},"
+        + " {\"name\": \"Stub University\", \"web_pages\": [], \"domains\": [\"stub.example\"],"
+        + " \"country\": \"Stubland\", \"alpha_two_code\": \"SL\"}]";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile CountDownLatch releaseResponses = new CountDownLatch(0);
+    private UniversityService service;
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/search", exchange -> {
+            requests.incrementAndGet();
+            try {
+                releaseResponses.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final String query = exchange.getRequestURI().getQuery();
+            final boolean missing = query != null && query.contains("Nowhere");
+            final String payload = query == null ? ALL_PAYLOAD : PAYLOAD; // No country: the full list
+            final byte[] body = (missing ? "not found" : payload).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(missing ? 404 : 200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        final OkHttpClient client = new OkHttpClient.Builder().readTimeout(10, TimeUnit.SECONDS).build();
+        service = new UniversityService("http://127.0.0.1:" + server.getAddress().getPort() + "/search", client);
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        server.stop(0);
+    }
+
+    public void testRendersUniversitiesAndCachesPerCountry()
+    {
+        final String html = service.searchUniversities("Stubland");
+        assertTrue(html, html.contains("Stub University"));
+        assertTrue(html, html.contains("https://stub.example"));
+
+        service.searchUniversities(" stubland ");
+        assertEquals(1, requests.get());
+
+        service.clearCache();
+        service.searchUniversities("Stubland");
+        assertEquals(2, requests.get());
+    }
+
+    public void testConcurrentSearchesShareOneRequest() throws Exception
+    {
+        releaseResponses = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<List<University>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> service.fetchUniversities("Stubland")));
+            }
+            Thread.sleep(200); // Let every caller reach the in-flight request
+            releaseResponses.countDown();
+            for (final Future<List<University>> result : results) {
+                assertEquals("Stub University", result.get(10, TimeUnit.SECONDS).get(0).getName());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+    }
+
+    public void testInterruptingOneCallerDoesNotFailTheOthers() throws Exception
+    {
+        releaseResponses = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            final Future<List<University>> owner = pool.submit(() -> service.fetchUniversities("Stubland"));
+            Thread.sleep(200); // The first caller's request is on the wire
+            final Future<List<University>> waiter = pool.submit(() -> service.fetchUniversities("Stubland"));
+            Thread.sleep(200); // The second caller waits for it
+            owner.cancel(true);
+            Thread.sleep(200);
+            releaseResponses.countDown();
+            assertEquals("Stub University", waiter.get(10, TimeUnit.SECONDS).get(0).getName());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, requests.get()); // The waiter fetched again instead of failing
+    }
+
+    public void testStreamsRecordsWithOnlyDisplayedFields() throws Exception
+    {
+        final List<University> streamed = new ArrayList<>();
+        final int count = UniversityJsonStream.parse(new StringReader("[" + PAYLOAD.substring(1, PAYLOAD.length() - 1)
+                + ", {\"name\": \"Second\", \"web_pages\": [], \"state-province\": \"North\"}]"), streamed::add);
+        assertEquals(2, count);
+        assertEquals("stub.example", streamed.get(0).getDomains().get(0));
+        assertNull(streamed.get(0).getStateProvince());
+        assertNull(streamed.get(1).getWebsite());
+        assertEquals("North", streamed.get(1).getStateProvince());
+        assertEquals(0, UniversityJsonStream.parse(new StringReader(" [ ] "), streamed::add));
+    }
+
+    public void testServesSearchesFromRefreshedSnapshot() throws Exception
+    {
+        final Path snapshotFile = Files.createTempFile("universities", ".csv");
+        try {
+            final UniversityService offline = new UniversityService("http://127.0.0.1:" + server.getAddress().getPort() + "/search",
+                    new OkHttpClient(), snapshotFile);
+            assertEquals(2, offline.refreshSnapshot());
+            server.stop(0); // From now on the network is unavailable
+
+            final List<University> byName = offline.fetchUniversities("cote d'ivoire");
+            assertEquals("Université de Test", byName.get(0).getName());
+            assertEquals("Île-de-France", byName.get(0).getStateProvince());
+            assertEquals(byName, offline.fetchUniversities("CI"));
+            assertTrue(offline.searchUniversities("Nowhere").contains("No universities found"));
+
+            // A new service instance picks the snapshot up from disk
+            final UniversityService reloaded = new UniversityService("http://127.0.0.1:1/search", new OkHttpClient(), snapshotFile);
+            reloaded.loadSnapshot();
+            assertEquals("Stub University", reloaded.fetchUniversities("sl").get(0).getName());
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    public void testErrorStatusIsReportedAndNotCached()
+    {
+        assertTrue(service.searchUniversities("Nowhere").contains("HTTP error code: 404"));
+        service.searchUniversities("Nowhere");
+        assertEquals(2, requests.get());
+    }
+}
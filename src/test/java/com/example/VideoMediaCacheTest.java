@@ -0,0 +1,53 @@
+package com.example;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import junit.framework.TestCase;
+import okhttp3.OkHttpClient;
+
+/**
+ * Checks video id parsing and that cached media is served from disk without the network.
+ */
+public class VideoMediaCacheTest extends TestCase
+{
+    public void testExtractsVideoIds()
+    {
+        assertEquals("_3pfqU6hEkU", VideoMediaCache.videoId("https://youtu.be/_3pfqU6hEkU"));
+        assertEquals("9r059QdBybA", VideoMediaCache.videoId("https://www.youtube.com/watch?v=9r059QdBybA&t=10s"));
+        assertEquals("QlFDaAeQQc0", VideoMediaCache.videoId("https://www.youtube.com/embed/QlFDaAeQQc0"));
+        assertNull(VideoMediaCache.videoId("https://example.com/video"));
+    }
+
+    public void testLoadsFromDiskCacheInBackground() throws Exception
+    {
+        final Path directory = Files.createTempDirectory("video_cache");
+        final Path image = directory.resolve("_3pfqU6hEkU.jpg");
+        final Path metadata = directory.resolve("_3pfqU6hEkU.json");
+        try {
+            ImageIO.write(new BufferedImage(320, 180, BufferedImage.TYPE_INT_RGB), "png", image.toFile());
+            Files.write(metadata, "{\"author_name\": \"Study Channel\"}".getBytes(StandardCharsets.UTF_8));
+            // The client can never connect, so any network access would leave the thumbnail empty
+            final OkHttpClient offline = new OkHttpClient.Builder().connectTimeout(1, TimeUnit.MILLISECONDS).build();
+            final VideoMediaCache cache = new VideoMediaCache(offline, directory, 10);
+
+            final CountDownLatch loaded = new CountDownLatch(1);
+            assertNull(cache.get("https://youtu.be/_3pfqU6hEkU", loaded::countDown)); // Placeholder first
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+            final VideoMediaCache.Media media = cache.get("https://youtu.be/_3pfqU6hEkU", () -> fail("Loaded twice"));
+            assertEquals("Study Channel", media.getChannel());
+            assertEquals(VideoMediaCache.THUMBNAIL_WIDTH, media.getThumbnail().getWidth(null));
+            assertEquals(VideoMediaCache.THUMBNAIL_WIDTH, media.getIcon().getIconWidth());
+            assertSame(media.getIcon(), cache.get("https://youtu.be/_3pfqU6hEkU", () -> fail("Loaded twice")).getIcon());
+        } finally {
+            Files.deleteIfExists(image);
+            Files.deleteIfExists(metadata);
+            Files.deleteIfExists(directory);
+        }
+    }
+}